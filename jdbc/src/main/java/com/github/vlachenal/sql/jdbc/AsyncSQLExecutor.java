@@ -0,0 +1,289 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.sql.DataSource;
+
+import com.github.vlachenal.sql.SQLQuery;
+import com.github.vlachenal.sql.UnionQuery;
+
+
+/**
+ * {@link SQLQuery} asynchronous JDBC executor.<br>
+ * <br>
+ * Each query is executed on its own connection retrieved from the data source, so
+ * independent queries run at the same time:
+ * <pre>
+ * private static final AsyncSQLExecutor ASYNC = new AsyncSQLExecutor(dataSource);
+ * ...
+ * final CompletableFuture&lt;List&lt;Hero&gt;&gt; heroes = ASYNC.executeQuery(heroesQuery, HERO_MAPPER);
+ * final CompletableFuture&lt;List&lt;Mission&gt;&gt; missions = ASYNC.executeQuery(missionsQuery, MISSION_MAPPER);
+ * CompletableFuture.allOf(heroes, missions).join();
+ * </pre>
+ * On Java 21+, queries are executed in virtual threads by default (multi-release jar).
+ * Before Java 21, they are executed by a bounded pool of daemon threads. The data
+ * source pool size is the actual concurrency limit.<br>
+ * Cached statements are kept when connections are returned to the data source, so they are
+ * reused when the data source gives the same connection again. Caches of closed connections are
+ * dropped by the synchronous executor. Statements can be released after each query when the
+ * data source pool does not keep statements open.<br>
+ * Futures are completed exceptionally with the {@link SQLException} on database error.<br>
+ * This class is thread safe.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public class AsyncSQLExecutor implements AutoCloseable {
+
+  // Attributes +
+  /** Data source */
+  private final DataSource dataSource;
+
+  /** Synchronous executor */
+  private final SQLExecutor executor;
+
+  /** Queries threads */
+  private final ExecutorService threads;
+
+  /** Threads have been created by this executor */
+  private final boolean ownThreads;
+
+  /** Release connection statements once work is done */
+  private final boolean release;
+  // Attributes -
+
+
+  /**
+   * Work to do with a connection
+   *
+   * @param <R> the result type
+   */
+  @FunctionalInterface
+  interface Work<R> {
+
+    /**
+     * Do work
+     *
+     * @param connection the connection to use
+     *
+     * @return the result
+     *
+     * @throws SQLException the database error
+     */
+    R run(Connection connection) throws SQLException;
+
+  }
+
+
+  // Constructors +
+  /**
+   * {@link AsyncSQLExecutor} constructor with default threads
+   *
+   * @param dataSource the data source
+   */
+  public AsyncSQLExecutor(final DataSource dataSource) {
+    this(dataSource, new SQLExecutor());
+  }
+
+  /**
+   * {@link AsyncSQLExecutor} constructor with default threads
+   *
+   * @param dataSource the data source
+   * @param executor the synchronous executor to use
+   */
+  public AsyncSQLExecutor(final DataSource dataSource, final SQLExecutor executor) {
+    this(dataSource, executor, false);
+  }
+
+  /**
+   * {@link AsyncSQLExecutor} constructor with default threads
+   *
+   * @param dataSource the data source
+   * @param executor the synchronous executor to use
+   * @param release release connection statements once each query is done (see {@link SQLExecutor#release(Connection)})
+   */
+  public AsyncSQLExecutor(final DataSource dataSource, final SQLExecutor executor, final boolean release) {
+    this(dataSource, executor, AsyncThreads.newExecutor(), true, release);
+  }
+
+  /**
+   * {@link AsyncSQLExecutor} constructor.<br>
+   * Threads are not shut down when this executor is closed.
+   *
+   * @param dataSource the data source
+   * @param executor the synchronous executor to use
+   * @param threads the queries threads
+   */
+  public AsyncSQLExecutor(final DataSource dataSource, final SQLExecutor executor, final ExecutorService threads) {
+    this(dataSource, executor, threads, false);
+  }
+
+  /**
+   * {@link AsyncSQLExecutor} constructor.<br>
+   * Threads are not shut down when this executor is closed.
+   *
+   * @param dataSource the data source
+   * @param executor the synchronous executor to use
+   * @param threads the queries threads
+   * @param release release connection statements once each query is done (see {@link SQLExecutor#release(Connection)})
+   */
+  public AsyncSQLExecutor(final DataSource dataSource, final SQLExecutor executor, final ExecutorService threads, final boolean release) {
+    this(dataSource, executor, threads, false, release);
+  }
+
+  /**
+   * {@link AsyncSQLExecutor} constructor
+   *
+   * @param dataSource the data source
+   * @param executor the synchronous executor to use
+   * @param threads the queries threads
+   * @param ownThreads threads have been created by this executor
+   * @param release release connection statements once work is done
+   */
+  private AsyncSQLExecutor(final DataSource dataSource, final SQLExecutor executor, final ExecutorService threads,
+                           final boolean ownThreads, final boolean release) {
+    this.dataSource = dataSource;
+    this.executor = executor;
+    this.threads = threads;
+    this.ownThreads = ownThreads;
+    this.release = release;
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * Check if default threads are virtual threads
+   *
+   * @return {@code true} on Java 21+, {@code false} otherwise
+   */
+  public static boolean virtualThreads() {
+    return AsyncThreads.virtual();
+  }
+
+  /**
+   * Execute query asynchronously and map every row
+   *
+   * @param <T> the mapped row type
+   *
+   * @param query the query to execute
+   * @param mapper the row mapper
+   *
+   * @return the mapped rows future
+   */
+  public <T> CompletableFuture<List<T>> executeQuery(final SQLQuery query, final RowMapper<T> mapper) {
+    return submit(conn -> executor.executeQuery(query, conn, mapper));
+  }
+
+  /**
+   * Execute {@code UNION} branches at the same time, on separate connections, and merge their rows.<br>
+   * Rows are merged from left to right: {@code UNION ALL} concatenates rows and {@code UNION}
+   * removes duplicate rows (mapped rows have to implement {@code equals} and {@code hashCode}).
+   * Each branch is an independent query: rows are not read from a single snapshot.
+   *
+   * @param <T> the mapped row type
+   *
+   * @param union the union branches (see {@link com.github.vlachenal.sql.SelectBuilder#buildUnion()})
+   * @param mapper the row mapper
+   *
+   * @return the merged rows future
+   */
+  public <T> CompletableFuture<List<T>> executeUnion(final UnionQuery union, final RowMapper<T> mapper) {
+    final List<CompletableFuture<List<T>>> branches = new ArrayList<>(union.getBranches().size());
+    for(final SQLQuery branch : union.getBranches()) {
+      branches.add(executeQuery(branch, mapper));
+    }
+    return CompletableFuture.allOf(branches.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+      final List<List<T>> results = new ArrayList<>(branches.size());
+      for(final CompletableFuture<List<T>> branch : branches) {
+        results.add(branch.join());
+      }
+      return union.merge(results);
+    });
+  }
+
+  /**
+   * Execute {@code INSERT}, {@code UPDATE} or {@code DELETE} query asynchronously
+   *
+   * @param query the query to execute
+   *
+   * @return the number of updated rows future
+   */
+  public CompletableFuture<Integer> executeUpdate(final SQLQuery query) {
+    return submit(conn -> executor.executeUpdate(query, conn));
+  }
+
+  /**
+   * Do work with a new connection in a query thread.<br>
+   * Connection is closed once work is done. Its statements are released too when this executor has been created to release them.
+   *
+   * @param <R> the result type
+   *
+   * @param work the work to do
+   *
+   * @return the result future
+   */
+  <R> CompletableFuture<R> submit(final Work<R> work) {
+    final CompletableFuture<R> future = new CompletableFuture<>();
+    try {
+      threads.execute(() -> {
+        final R result;
+        try(Connection conn = dataSource.getConnection()) {
+          try {
+            result = work.run(conn);
+          } finally {
+            if(release) {
+              executor.release(conn);
+            }
+          }
+        } catch(final Throwable e) {
+          future.completeExceptionally(e);
+          return;
+        }
+        future.complete(result); // Connection has been given back to the data source before future completion
+      });
+    } catch(final RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Shut down default threads.<br>
+   * Submitted queries are executed but new queries are rejected.
+   */
+  @Override
+  public void close() {
+    if(ownThreads) {
+      threads.shutdown();
+    }
+  }
+  // Methods -
+
+}
@@ -0,0 +1,90 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql.jdbc;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Asynchronous queries threads factory.<br>
+ * <br>
+ * Before Java 21, queries are executed by a bounded pool of daemon threads. Java 21+
+ * variant of this class (multi-release jar) executes each query in its own virtual
+ * thread.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+final class AsyncThreads {
+
+  // Constants +
+  /** Maximum number of threads */
+  static final int MAX_THREADS = Math.max(8, 4 * Runtime.getRuntime().availableProcessors());
+
+  /** Thread number */
+  private static final AtomicInteger THREAD_NUM = new AtomicInteger();
+  // Constants -
+
+
+  // Constructors +
+  /**
+   * {@link AsyncThreads} private constructor
+   */
+  private AsyncThreads() {
+    // Nothing to do
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * Check if queries are executed in virtual threads
+   *
+   * @return {@code false}
+   */
+  static boolean virtual() {
+    return false;
+  }
+
+  /**
+   * Create new executor of {@link #MAX_THREADS} daemon threads at most.<br>
+   * Idle threads are stopped after one minute.
+   *
+   * @return the new executor
+   */
+  static ExecutorService newExecutor() {
+    final ThreadFactory factory = task -> {
+      final Thread thread = new Thread(task, "sql-executor-" + THREAD_NUM.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 1L, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), factory);
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+  // Methods -
+
+}
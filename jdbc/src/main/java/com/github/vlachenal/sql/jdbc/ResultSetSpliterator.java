@@ -0,0 +1,140 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+
+/**
+ * Result set rows spliterator.<br>
+ * Rows are fetched and mapped one at a time, when they are consumed. Result set
+ * and its statement are closed when the last row has been consumed, on error or
+ * when the stream is closed.
+ *
+ * @param <T> the mapped row type
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+final class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> implements AutoCloseable {
+
+  // Attributes +
+  /** Statement */
+  private final PreparedStatement statement;
+
+  /** Result set */
+  private final ResultSet result;
+
+  /** Row mapper */
+  private final RowMapper<T> mapper;
+
+  /** Resources have been closed */
+  private boolean closed;
+  // Attributes -
+
+
+  // Constructors +
+  /**
+   * {@link ResultSetSpliterator} constructor
+   *
+   * @param statement the executed statement
+   * @param result the statement result set
+   * @param mapper the row mapper
+   */
+  ResultSetSpliterator(final PreparedStatement statement, final ResultSet result, final RowMapper<T> mapper) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED);
+    this.statement = statement;
+    this.result = result;
+    this.mapper = mapper;
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean tryAdvance(final Consumer<? super T> action) {
+    if(closed) {
+      return false;
+    }
+    final T row;
+    try {
+      if(!result.next()) {
+        close();
+        return false;
+      }
+      row = mapper.map(result);
+    } catch(final SQLException e) {
+      closeOnError(e);
+      throw new UncheckedSQLException(e);
+    } catch(final RuntimeException | Error e) { // Row mapper error
+      closeOnError(e);
+      throw e;
+    }
+    action.accept(row);
+    return true;
+  }
+
+  /**
+   * Close result set and statement on error.<br>
+   * Close error is added to the suppressed errors of the original error.
+   *
+   * @param error the original error
+   */
+  private void closeOnError(final Throwable error) {
+    try {
+      close();
+    } catch(final RuntimeException e) {
+      error.addSuppressed(e);
+    }
+  }
+
+  /**
+   * Close result set and statement
+   *
+   * @throws UncheckedSQLException close error
+   */
+  @Override
+  public void close() {
+    if(closed) {
+      return;
+    }
+    closed = true;
+    try {
+      try {
+        result.close();
+      } finally {
+        statement.close();
+      }
+    } catch(final SQLException e) {
+      throw new UncheckedSQLException(e);
+    }
+  }
+  // Methods -
+
+}
@@ -0,0 +1,50 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+
+/**
+ * Result set row mapper functional interface
+ *
+ * @param <T> the mapped row type
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+  /**
+   * Map the current row.<br>
+   * Mapper must not move the result set cursor.
+   *
+   * @param row the result set positioned on the row to map
+   *
+   * @return the mapped row
+   *
+   * @throws SQLException the result set error
+   */
+  T map(ResultSet row) throws SQLException;
+
+}
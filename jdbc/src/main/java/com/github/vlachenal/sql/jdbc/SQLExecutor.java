@@ -0,0 +1,533 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.github.vlachenal.sql.Page;
+import com.github.vlachenal.sql.SQLQuery;
+
+
+/**
+ * {@link SQLQuery} JDBC executor.<br>
+ * <br>
+ * Executor keeps a bounded LRU prepared statements cache per connection, indexed
+ * by query: a query which is executed again on the same connection reuses its
+ * prepared statement. Builders produce a small set of query shapes, so most
+ * statements are prepared once per connection:
+ * <pre>
+ * private static final SQLExecutor EXECUTOR = new SQLExecutor();
+ * ...
+ * final List&lt;Hero&gt; heroes = EXECUTOR.executeQuery(query, connection, row -&gt; new Hero(row.getLong("id"), row.getString("last_name")));
+ * </pre>
+ * Cached statements stay open until they are evicted, until {@link #release(Connection)}
+ * or {@link #close()} is called or until their connection is closed: caches of closed
+ * connections are dropped when a statement is prepared for a new connection.<br>
+ * This class is thread safe. As with JDBC, one connection must not be used by several
+ * threads at the same time.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public class SQLExecutor implements AutoCloseable {
+
+  // Constants +
+  /** Default maximum number of cached statements per connection */
+  public static final int DEFAULT_CACHE_SIZE = 64;
+
+  /** Default number of rows fetched at once by streams */
+  public static final int DEFAULT_FETCH_SIZE = 1000;
+
+  /** Default maximum number of statements sent in one batch */
+  public static final int DEFAULT_BATCH_SIZE = 500;
+  // Constants -
+
+
+  // Attributes +
+  /** Maximum number of cached statements per connection */
+  private final int cacheSize;
+
+  /** Statements caches per connection */
+  private final Map<Connection, StatementCache> caches = new IdentityHashMap<>();
+  // Attributes -
+
+
+  /**
+   * Pending batch of one query
+   */
+  private static final class Batch {
+
+    /** Batch statement */
+    final PreparedStatement statement;
+
+    /** Original positions of the pending statements */
+    final int[] positions;
+
+    /** Number of pending statements */
+    int size;
+
+    /**
+     * {@link Batch} constructor
+     *
+     * @param statement the batch statement
+     * @param batchSize the maximum number of statements in one batch
+     */
+    Batch(final PreparedStatement statement, final int batchSize) {
+      this.statement = statement;
+      positions = new int[batchSize];
+    }
+
+    /**
+     * Execute pending statements and store their update counts at their original positions
+     *
+     * @param counts the update counts
+     *
+     * @throws SQLException the database error
+     */
+    void execute(final int[] counts) throws SQLException {
+      final int[] res = statement.executeBatch();
+      for(int i = 0 ; i < size ; ++i) {
+        counts[positions[i]] = res[i];
+      }
+      size = 0;
+    }
+
+  }
+
+
+  // Constructors +
+  /**
+   * {@link SQLExecutor} constructor with {@link #DEFAULT_CACHE_SIZE} cached statements per connection
+   */
+  public SQLExecutor() {
+    this(DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * {@link SQLExecutor} constructor
+   *
+   * @param cacheSize the maximum number of cached statements per connection
+   */
+  public SQLExecutor(final int cacheSize) {
+    if(cacheSize < 1) {
+      throw new IllegalArgumentException("Cache size must be greater than 0: " + cacheSize);
+    }
+    this.cacheSize = cacheSize;
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * Execute query and map every row
+   *
+   * @param <T> the mapped row type
+   *
+   * @param query the query to execute
+   * @param connection the connection to use
+   * @param mapper the row mapper
+   *
+   * @return the mapped rows
+   *
+   * @throws SQLException the database error
+   */
+  public <T> List<T> executeQuery(final SQLQuery query, final Connection connection, final RowMapper<T> mapper) throws SQLException {
+    final PreparedStatement statement = prepare(query, connection);
+    try(ResultSet res = statement.executeQuery()) {
+      final List<T> rows = new ArrayList<>();
+      while(res.next()) {
+        rows.add(mapper.map(res));
+      }
+      return rows;
+    } catch(final SQLException e) {
+      evict(query, connection);
+      throw e;
+    }
+  }
+
+  /**
+   * Execute keyset paginated query and map the page rows
+   *
+   * @param <T> the mapped row type
+   *
+   * @param query the query to execute (built with {@link com.github.vlachenal.sql.SelectBuilder#fetchPage(long)})
+   * @param connection the connection to use
+   * @param mapper the row mapper
+   * @param pageSize the page size
+   *
+   * @return the page
+   *
+   * @throws SQLException the database error
+   */
+  public <T> Page<T> executePage(final SQLQuery query, final Connection connection, final RowMapper<T> mapper, final int pageSize) throws SQLException {
+    return Page.of(executeQuery(query, connection, mapper), pageSize);
+  }
+
+  /**
+   * Execute query and stream mapped rows fetching {@link #DEFAULT_FETCH_SIZE} rows at once
+   *
+   * @param <T> the mapped row type
+   *
+   * @param query the query to execute
+   * @param connection the connection to use
+   * @param mapper the row mapper
+   *
+   * @return the mapped rows stream
+   *
+   * @throws SQLException the database error
+   *
+   * @see #stream(SQLQuery, Connection, RowMapper, int)
+   */
+  public <T> Stream<T> stream(final SQLQuery query, final Connection connection, final RowMapper<T> mapper) throws SQLException {
+    return stream(query, connection, mapper, DEFAULT_FETCH_SIZE);
+  }
+
+  /**
+   * Execute query and stream mapped rows.<br>
+   * Rows are fetched from the result set when they are consumed: the whole result
+   * is never loaded in memory. The statement is dedicated to the stream (it is not
+   * cached): it is closed with its result set when the last row has been consumed,
+   * on error or when the stream is closed. Stream has to be closed when it is not
+   * fully consumed:
+   * <pre>
+   * try(Stream&lt;Hero&gt; heroes = EXECUTOR.stream(query, connection, HERO_MAPPER, 5000)) {
+   *   heroes.forEach(writer::write);
+   * }
+   * </pre>
+   * Database errors which occur while rows are consumed are thrown as {@link UncheckedSQLException}.<br>
+   * Fetch size is a hint for the driver: some drivers only stream rows under conditions
+   * (PostgreSQL streams rows only when auto commit is disabled for example).
+   *
+   * @param <T> the mapped row type
+   *
+   * @param query the query to execute
+   * @param connection the connection to use
+   * @param mapper the row mapper
+   * @param fetchSize the number of rows to fetch at once ({@code 0} for the driver default)
+   *
+   * @return the mapped rows stream
+   *
+   * @throws SQLException the database error
+   */
+  public <T> Stream<T> stream(final SQLQuery query, final Connection connection, final RowMapper<T> mapper, final int fetchSize) throws SQLException {
+    final PreparedStatement statement = connection.prepareStatement(query.getQuery(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    try {
+      statement.setFetchSize(fetchSize);
+      query.bind(statement);
+      final ResultSetSpliterator<T> rows = new ResultSetSpliterator<>(statement, statement.executeQuery(), mapper);
+      return StreamSupport.stream(rows, false).onClose(rows::close);
+    } catch(final SQLException e) {
+      try {
+        statement.close();
+      } catch(final SQLException ce) {
+        e.addSuppressed(ce);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Execute {@code INSERT}, {@code UPDATE} or {@code DELETE} query
+   *
+   * @param query the query to execute
+   * @param connection the connection to use
+   *
+   * @return the number of updated rows
+   *
+   * @throws SQLException the database error
+   */
+  public int executeUpdate(final SQLQuery query, final Connection connection) throws SQLException {
+    final PreparedStatement statement = prepare(query, connection);
+    try {
+      return statement.executeUpdate();
+    } catch(final SQLException e) {
+      evict(query, connection);
+      throw e;
+    }
+  }
+
+  /**
+   * Execute bounded query until it does not update any row anymore.<br>
+   * This is meant for mass deletion with bounded {@code DELETE} queries (see
+   * {@link com.github.vlachenal.sql.DeleteBuilder#chunk(int)}): each chunk is committed
+   * when connection is not in auto-commit mode so that locks are released between
+   * chunks. Execution stops when the current thread is interrupted during a pause.
+   *
+   * @param query the bounded query to execute
+   * @param connection the connection to use
+   * @param pauseMillis the pause between chunks in milliseconds ({@code 0} for no pause)
+   * @param progress the progress callback which receives the number of updated rows so far (can be {@code null})
+   *
+   * @return the number of updated rows
+   *
+   * @throws SQLException the database error
+   */
+  public long executeChunks(final SQLQuery query, final Connection connection, final long pauseMillis, final LongConsumer progress) throws SQLException {
+    final boolean commit = !connection.getAutoCommit();
+    long total = 0L;
+    while(true) {
+      final int count = executeUpdate(query, connection);
+      if(commit) {
+        connection.commit();
+      }
+      if(count == 0) {
+        return total;
+      }
+      total += count;
+      if(progress != null) {
+        progress.accept(total);
+      }
+      if(pauseMillis > 0L) {
+        try {
+          Thread.sleep(pauseMillis);
+        } catch(final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return total;
+        }
+      }
+    }
+  }
+
+  /**
+   * Execute queries in batches of {@link #DEFAULT_BATCH_SIZE} statements
+   *
+   * @param queries the queries to execute
+   * @param connection the connection to use
+   *
+   * @return the update counts in queries order
+   *
+   * @throws SQLException the database error
+   *
+   * @see #executeBatch(Stream, Connection, int)
+   */
+  public int[] executeBatch(final Stream<SQLQuery> queries, final Connection connection) throws SQLException {
+    return executeBatch(queries, connection, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Execute {@code INSERT}, {@code UPDATE} or {@code DELETE} queries in batches.<br>
+   * Queries are grouped by query: each group is sent with {@code addBatch}/{@code executeBatch}
+   * once it holds {@code batchSize} statements and remaining statements are sent at the end.
+   * Optional fields and clauses only produce a few distinct queries, so thousands of
+   * statements are sent in a few round-trips. Group statements are prepared for the
+   * call (they are not cached) and closed at the end.<br>
+   * Statements of different groups are not executed in queries order: queries have
+   * to be independent of each other. Update counts are returned in queries order
+   * (see {@link PreparedStatement#executeBatch()} for their values).
+   *
+   * @param queries the queries to execute
+   * @param connection the connection to use
+   * @param batchSize the maximum number of statements in one batch
+   *
+   * @return the update counts in queries order
+   *
+   * @throws SQLException the database error
+   */
+  public int[] executeBatch(final Stream<SQLQuery> queries, final Connection connection, final int batchSize) throws SQLException {
+    if(batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be greater than 0: " + batchSize);
+    }
+    final Map<String, Batch> batches = new LinkedHashMap<>();
+    int[] counts = new int[Math.min(batchSize, 64)];
+    int nbQueries = 0;
+    try {
+      for(final Iterator<SQLQuery> it = queries.iterator() ; it.hasNext() ;) {
+        final SQLQuery query = it.next();
+        Batch batch = batches.get(query.getQuery());
+        if(batch == null) {
+          batch = new Batch(connection.prepareStatement(query.getQuery()), batchSize);
+          batches.put(query.getQuery(), batch);
+        }
+        query.bind(batch.statement);
+        batch.statement.addBatch();
+        batch.positions[batch.size++] = nbQueries++;
+        if(nbQueries == counts.length) {
+          counts = Arrays.copyOf(counts, nbQueries * 2);
+        }
+        if(batch.size == batchSize) {
+          batch.execute(counts);
+        }
+      }
+      for(final Batch batch : batches.values()) {
+        if(batch.size != 0) {
+          batch.execute(counts);
+        }
+      }
+    } finally {
+      for(final Batch batch : batches.values()) {
+        StatementCache.closeQuietly(batch.statement);
+      }
+    }
+    return Arrays.copyOf(counts, nbQueries);
+  }
+
+  /**
+   * Retrieve the cached statement of the query or prepare it, and bind query values
+   *
+   * @param query the query
+   * @param connection the connection
+   *
+   * @return the prepared statement
+   *
+   * @throws SQLException the database error
+   */
+  PreparedStatement prepare(final SQLQuery query, final Connection connection) throws SQLException {
+    final StatementCache cache = cache(connection);
+    final PreparedStatement statement;
+    synchronized(cache) {
+      statement = cache.prepare(query.getQuery());
+    }
+    try {
+      query.bind(statement);
+    } catch(final SQLException e) {
+      evict(query, connection);
+      throw e;
+    }
+    return statement;
+  }
+
+  /**
+   * Remove and close the cached statement of the query.<br>
+   * This is done when statement execution has failed: statement is prepared again on next execution.
+   *
+   * @param query the query
+   * @param connection the connection
+   */
+  void evict(final SQLQuery query, final Connection connection) {
+    final StatementCache cache;
+    synchronized(caches) {
+      cache = caches.get(connection);
+    }
+    if(cache != null) {
+      synchronized(cache) {
+        cache.evict(query.getQuery());
+      }
+    }
+  }
+
+  /**
+   * Retrieve the statements cache of the connection or create it.<br>
+   * Caches of closed connections are dropped when a new cache is created.
+   *
+   * @param connection the connection
+   *
+   * @return the statements cache
+   */
+  private StatementCache cache(final Connection connection) {
+    final StatementCache cache;
+    final Map<Connection, StatementCache> others;
+    synchronized(caches) {
+      final StatementCache cached = caches.get(connection);
+      if(cached != null) {
+        return cached;
+      }
+      others = new IdentityHashMap<>(caches);
+      cache = new StatementCache(connection, cacheSize);
+      caches.put(connection, cache);
+    }
+    // Connections are checked and statements are closed outside of the caches lock: both can reach the database
+    for(final Map.Entry<Connection, StatementCache> other : others.entrySet()) {
+      if(other.getValue().isConnectionClosed()) {
+        final boolean removed;
+        synchronized(caches) {
+          removed = caches.remove(other.getKey(), other.getValue());
+        }
+        if(removed) {
+          synchronized(other.getValue()) {
+            other.getValue().closeAll();
+          }
+        }
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * Close and forget the cached statements of the connection.<br>
+   * This should be called before a connection is returned to a pool which does not
+   * keep its statements open.
+   *
+   * @param connection the connection
+   */
+  public void release(final Connection connection) {
+    final StatementCache cache;
+    synchronized(caches) {
+      cache = caches.remove(connection);
+    }
+    if(cache != null) {
+      synchronized(cache) {
+        cache.closeAll();
+      }
+    }
+  }
+
+  /**
+   * Number of cached statements of the connection
+   *
+   * @param connection the connection
+   *
+   * @return the number of cached statements
+   */
+  public int cached(final Connection connection) {
+    final StatementCache cache;
+    synchronized(caches) {
+      cache = caches.get(connection);
+    }
+    if(cache == null) {
+      return 0;
+    }
+    synchronized(cache) {
+      return cache.size();
+    }
+  }
+
+  /**
+   * Close and forget every cached statement
+   */
+  @Override
+  public void close() {
+    final List<StatementCache> all;
+    synchronized(caches) {
+      all = new ArrayList<>(caches.values());
+      caches.clear();
+    }
+    for(final StatementCache cache : all) {
+      synchronized(cache) {
+        cache.closeAll();
+      }
+    }
+  }
+  // Methods -
+
+}
@@ -0,0 +1,151 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Bounded LRU prepared statements cache of one connection.<br>
+ * Statements are indexed by their query. Least recently used statement is
+ * closed when the cache is full.<br>
+ * This class is not thread safe: accesses are synchronized by {@link SQLExecutor}.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+final class StatementCache extends LinkedHashMap<String, PreparedStatement> {
+
+  // Attributes +
+  /** Serial version UID */
+  private static final long serialVersionUID = 5196482837464318731L;
+
+  /** Connection */
+  private final transient Connection connection;
+
+  /** Maximum number of statements */
+  private final int maxStatements;
+  // Attributes -
+
+
+  // Constructors +
+  /**
+   * {@link StatementCache} constructor
+   *
+   * @param connection the connection
+   * @param maxStatements the maximum number of statements to keep
+   */
+  StatementCache(final Connection connection, final int maxStatements) {
+    super(16, 0.75f, true);
+    this.connection = connection;
+    this.maxStatements = maxStatements;
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * Retrieve the cached statement or prepare a new one
+   *
+   * @param query the SQL query
+   *
+   * @return the prepared statement
+   *
+   * @throws SQLException prepare error
+   */
+  PreparedStatement prepare(final String query) throws SQLException {
+    PreparedStatement statement = get(query);
+    if(statement == null || statement.isClosed()) { // Statement can have been closed by a connection pool
+      statement = connection.prepareStatement(query);
+      put(query, statement);
+    }
+    return statement;
+  }
+
+  /**
+   * Remove and close statement
+   *
+   * @param query the SQL query
+   */
+  void evict(final String query) {
+    closeQuietly(remove(query));
+  }
+
+  /**
+   * Check if connection is closed
+   *
+   * @return {@code true} if connection is closed or can not be checked, {@code false} otherwise
+   */
+  boolean isConnectionClosed() {
+    try {
+      return connection.isClosed();
+    } catch(final SQLException e) {
+      return true;
+    }
+  }
+
+  /**
+   * Close and remove every statement
+   */
+  void closeAll() {
+    final List<PreparedStatement> statements = new ArrayList<>(values());
+    super.clear();
+    statements.forEach(StatementCache::closeQuietly);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <br>
+   * Least recently used statement is closed when the cache is full.
+   */
+  @Override
+  protected boolean removeEldestEntry(final Map.Entry<String, PreparedStatement> eldest) {
+    if(size() > maxStatements) {
+      closeQuietly(eldest.getValue());
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Close statement ignoring error
+   *
+   * @param statement the statement to close (can be {@code null})
+   */
+  static void closeQuietly(final PreparedStatement statement) {
+    if(statement == null) {
+      return;
+    }
+    try {
+      statement.close();
+    } catch(final SQLException e) {
+      // Statement is not used anymore
+    }
+  }
+  // Methods -
+
+}
@@ -0,0 +1,63 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql.jdbc;
+
+import java.sql.SQLException;
+
+
+/**
+ * Wraps an {@link SQLException} with an unchecked exception.<br>
+ * It is thrown where checked exceptions can not be thrown, such as result streams.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+  // Attributes +
+  /** Serial version UID */
+  private static final long serialVersionUID = -3127740532128766523L;
+  // Attributes -
+
+
+  // Constructors +
+  /**
+   * {@link UncheckedSQLException} constructor
+   *
+   * @param cause the database error
+   */
+  public UncheckedSQLException(final SQLException cause) {
+    super(cause);
+  }
+  // Constructors -
+
+
+  // Accessors +
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized SQLException getCause() {
+    return (SQLException)super.getCause();
+  }
+  // Accessors -
+
+}
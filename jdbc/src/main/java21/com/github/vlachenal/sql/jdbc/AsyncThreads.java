@@ -0,0 +1,68 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql.jdbc;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Asynchronous queries threads factory.<br>
+ * <br>
+ * Java 21+ variant (multi-release jar): each query is executed in its own virtual
+ * thread. Concurrency is bounded by the data source only.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+final class AsyncThreads {
+
+  // Constructors +
+  /**
+   * {@link AsyncThreads} private constructor
+   */
+  private AsyncThreads() {
+    // Nothing to do
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * Check if queries are executed in virtual threads
+   *
+   * @return {@code true}
+   */
+  static boolean virtual() {
+    return true;
+  }
+
+  /**
+   * Create new virtual thread per task executor
+   *
+   * @return the new executor
+   */
+  static ExecutorService newExecutor() {
+    return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sql-executor-", 1).factory());
+  }
+  // Methods -
+
+}
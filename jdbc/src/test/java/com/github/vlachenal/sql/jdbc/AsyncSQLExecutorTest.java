@@ -0,0 +1,247 @@
+package com.github.vlachenal.sql.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import com.github.vlachenal.sql.Clauses;
+import com.github.vlachenal.sql.SQL;
+import com.github.vlachenal.sql.SQLQuery;
+import com.github.vlachenal.sql.UnionQuery;
+
+
+/**
+ * {@link AsyncSQLExecutor} unit tests
+ *
+ * @author Vincent Lachenal
+ */
+@DisplayName("Asynchronous SQL executor unit tests")
+@Execution(ExecutionMode.CONCURRENT)
+public class AsyncSQLExecutorTest {
+
+  // Utils +
+  /**
+   * Create data source on a new in memory database with heroes
+   *
+   * @return the data source
+   *
+   * @throws SQLException unexpected error
+   */
+  static JdbcDataSource dataSource() throws SQLException {
+    final JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL(SQLExecutorTest.database());
+    return dataSource;
+  }
+
+  /**
+   * Create data source which always gives the same connection, as a pool with one connection.<br>
+   * Connection is not closed when it is given back.
+   *
+   * @param connection the connection
+   *
+   * @return the data source
+   */
+  static DataSource pool(final Connection connection) {
+    final Connection pooled = (Connection)Proxy.newProxyInstance(AsyncSQLExecutorTest.class.getClassLoader(), new Class<?>[] { Connection.class },
+                                                                 (proxy, method, args) -> {
+                                                                   if("close".equals(method.getName())) {
+                                                                     return null;
+                                                                   }
+                                                                   try {
+                                                                     return method.invoke(connection, args);
+                                                                   } catch(final InvocationTargetException e) {
+                                                                     throw e.getCause();
+                                                                   }
+                                                                 });
+    return (DataSource)Proxy.newProxyInstance(AsyncSQLExecutorTest.class.getClassLoader(), new Class<?>[] { DataSource.class },
+                                              (proxy, method, args) -> {
+                                                if("getConnection".equals(method.getName())) {
+                                                  return pooled;
+                                                }
+                                                throw new UnsupportedOperationException(method.getName());
+                                              });
+  }
+  // Utils -
+
+
+  // Tests +
+  /**
+   * Test asynchronous queries
+   *
+   * @throws Exception unexpected error
+   */
+  @Test
+  @DisplayName("Asynchronous queries")
+  public void testExecuteQuery() throws Exception {
+    try(AsyncSQLExecutor executor = new AsyncSQLExecutor(dataSource())) {
+      final CompletableFuture<List<String>> joneses = executor.executeQuery(SQL.select().field("first_name").from("Heroes")
+                                                                            .where(SQL.clauses("last_name", Clauses::equalsTo, "Jones"))
+                                                                            .orderBy("id").build(), row -> row.getString(1));
+      final CompletableFuture<List<Integer>> ages = executor.executeQuery(SQL.select().field("age").from("Heroes")
+                                                                          .where(SQL.clauses("age", Clauses::lesser, 40))
+                                                                          .orderBy("id").build(), row -> row.getInt(1));
+      final CompletableFuture<List<String>> threads = executor.executeQuery(SQL.select().field("id").from("Heroes").build(),
+                                                                            row -> Thread.currentThread().getName());
+      CompletableFuture.allOf(joneses, ages, threads).join();
+      System.out.println("Virtual threads: " + AsyncSQLExecutor.virtualThreads());
+      System.out.println("Threads: " + threads.get());
+      assertAll(() -> assertEquals(Stream.of("Indiana", "Henry").collect(Collectors.toList()), joneses.get()),
+                () -> assertEquals(Stream.of(28, 32).collect(Collectors.toList()), ages.get()),
+                () -> assertTrue(threads.get().stream().allMatch(name -> name.startsWith("sql-executor-"))));
+    }
+  }
+
+  /**
+   * Test asynchronous queries in virtual threads with the Java 21 classes (see {@code testJava21} Gradle task)
+   *
+   * @throws Exception unexpected error
+   */
+  @Test
+  @DisplayName("Asynchronous queries in virtual threads")
+  @EnabledIfSystemProperty(named = "java21.classes", matches = "true")
+  public void testVirtualThreads() throws Exception {
+    try(AsyncSQLExecutor executor = new AsyncSQLExecutor(dataSource())) {
+      final List<Thread> threads = executor.executeQuery(SQL.select().field("id").from("Heroes").build(), row -> Thread.currentThread()).get();
+      final Method isVirtual = Thread.class.getMethod("isVirtual");
+      System.out.println("Threads: " + threads);
+      assertAll(() -> assertTrue(AsyncSQLExecutor.virtualThreads()),
+                () -> assertTrue(threads.size() > 0),
+                () -> assertTrue((Boolean)isVirtual.invoke(threads.get(0))),
+                () -> assertTrue(threads.get(0).getName().startsWith("sql-executor-")));
+    }
+  }
+
+  /**
+   * Test asynchronous update
+   *
+   * @throws Exception unexpected error
+   */
+  @Test
+  @DisplayName("Asynchronous update")
+  public void testExecuteUpdate() throws Exception {
+    try(AsyncSQLExecutor executor = new AsyncSQLExecutor(dataSource())) {
+      final int updated = executor.executeUpdate(SQL.update("Heroes").field("age", 46)
+                                                 .where(SQL.clauses("last_name", Clauses::equalsTo, "Jones")).build()).get();
+      assertEquals(2, updated);
+    }
+  }
+
+  /**
+   * Test asynchronous failures
+   *
+   * @throws Exception unexpected error
+   */
+  @Test
+  @DisplayName("Asynchronous failures")
+  public void testFailure() throws Exception {
+    final AsyncSQLExecutor executor = new AsyncSQLExecutor(dataSource());
+    final CompletableFuture<Integer> failed = executor.executeUpdate(SQL.update("Heroes").field("id", 2L)
+                                                                     .where(SQL.clauses("id", Clauses::equalsTo, 1L)).build());
+    final ExecutionException error = assertThrows(ExecutionException.class, failed::get);
+    executor.close();
+    final ExecutionException rejected = assertThrows(ExecutionException.class,
+                                                     () -> executor.executeUpdate(SQL.delete("Heroes").build()).get());
+    assertAll(() -> assertTrue(error.getCause() instanceof SQLException),
+              () -> assertTrue(rejected.getCause() instanceof RejectedExecutionException));
+  }
+
+  /**
+   * Test parallel union branches
+   *
+   * @throws Exception unexpected error
+   */
+  @Test
+  @DisplayName("Parallel union")
+  public void testExecuteUnion() throws Exception {
+    try(AsyncSQLExecutor executor = new AsyncSQLExecutor(dataSource())) {
+      final UnionQuery union = SQL.select().field("last_name").from("Heroes").where(SQL.clauses("age", Clauses::greater, 40))
+          .union(SQL.select().field("last_name").from("Heroes").where(SQL.clauses("age", Clauses::lesser, 30)))
+          .unionAll(SQL.select().field("last_name").from("Heroes").where(SQL.clauses("first_name", Clauses::equalsTo, "Henry")))
+          .buildUnion();
+      final List<String> names = executor.executeUnion(union, row -> row.getString(1)).get();
+      assertEquals(Stream.of("Jones", "Croft", "Jones").collect(Collectors.toList()), names);
+    }
+  }
+
+  /**
+   * Test parallel queries split on {@code IN} list
+   *
+   * @throws Exception unexpected error
+   */
+  @Test
+  @DisplayName("Parallel split IN list")
+  public void testExecuteSplitIn() throws Exception {
+    try(AsyncSQLExecutor executor = new AsyncSQLExecutor(dataSource())) {
+      final UnionQuery split = SQL.splitIn(Arrays.asList(5L, 1L, 3L, 1L, 2L), 2, chunk -> SQL.select().field("first_name").from("Heroes")
+          .where(SQL.clauses().bindIn().and("id", Clauses::in, chunk)).orderBy("id").build());
+      final List<String> names = executor.executeUnion(split, row -> row.getString(1)).get();
+      assertAll(() -> assertEquals(2, split.getBranches().size()),
+                () -> assertEquals(Stream.of("Indiana", "Henry", "Lara", "Nathan").collect(Collectors.toList()), names));
+    }
+  }
+
+  /**
+   * Test statements reuse across connection borrows
+   *
+   * @throws Exception unexpected error
+   */
+  @Test
+  @DisplayName("Statements reuse across connection borrows")
+  public void testStatementsReuse() throws Exception {
+    final List<PreparedStatement> kept = new CopyOnWriteArrayList<>();
+    final List<PreparedStatement> released = new CopyOnWriteArrayList<>();
+    try(Connection keptConn = DriverManager.getConnection(SQLExecutorTest.database()) ;
+        Connection releasedConn = DriverManager.getConnection(SQLExecutorTest.database()) ;
+        SQLExecutor sync = new SQLExecutor() ;
+        AsyncSQLExecutor keep = new AsyncSQLExecutor(pool(SQLExecutorTest.recorder(keptConn, kept)), sync) ;
+        AsyncSQLExecutor release = new AsyncSQLExecutor(pool(SQLExecutorTest.recorder(releasedConn, released)), sync, true)) {
+      final SQLQuery query = SQL.select().field("first_name").from("Heroes").where(SQL.clauses("last_name", Clauses::equalsTo, "Jones")).build();
+      final List<String> first = keep.executeQuery(query, row -> row.getString(1)).get();
+      final List<String> second = keep.executeQuery(query, row -> row.getString(1)).get();
+      release.executeQuery(query, row -> row.getString(1)).get();
+      release.executeQuery(query, row -> row.getString(1)).get();
+      System.out.println("Query: " + query.getQuery());
+      System.out.println("Values: " + query.getValues());
+      assertAll(() -> assertEquals(first, second),
+                () -> assertEquals(1, kept.size()),
+                () -> assertFalse(kept.get(0).isClosed()),
+                () -> assertEquals(2, released.size()),
+                () -> assertTrue(released.stream().allMatch(statement -> {
+                  try {
+                    return statement.isClosed();
+                  } catch(final SQLException e) {
+                    return false;
+                  }
+                })));
+    }
+  }
+  // Tests -
+
+}
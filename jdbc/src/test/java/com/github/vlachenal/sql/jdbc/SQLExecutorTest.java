@@ -0,0 +1,548 @@
+package com.github.vlachenal.sql.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import com.github.vlachenal.sql.BulkUpdateSyntax;
+import com.github.vlachenal.sql.Clauses;
+import com.github.vlachenal.sql.DeleteChunkSyntax;
+import com.github.vlachenal.sql.Dialects;
+import com.github.vlachenal.sql.Page;
+import com.github.vlachenal.sql.QueryTemplate;
+import com.github.vlachenal.sql.SQL;
+import com.github.vlachenal.sql.SQLQuery;
+import com.github.vlachenal.sql.UpsertSyntax;
+
+
+/**
+ * {@link SQLExecutor} unit tests
+ *
+ * @author Vincent Lachenal
+ */
+@DisplayName("SQL executor unit tests")
+@Execution(ExecutionMode.CONCURRENT)
+public class SQLExecutorTest {
+
+  // Utils +
+  /**
+   * Create in memory database with heroes.<br>
+   * Database is kept until the JVM exits.
+   *
+   * @return the database URL
+   *
+   * @throws SQLException unexpected error
+   */
+  static String database() throws SQLException {
+    final String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    try(Connection conn = DriverManager.getConnection(url) ; Statement stmt = conn.createStatement()) {
+      stmt.execute("CREATE TABLE Heroes (id BIGINT PRIMARY KEY, first_name VARCHAR(50), last_name VARCHAR(50), age INT)");
+      stmt.execute("INSERT INTO Heroes VALUES (1, 'Indiana', 'Jones', 45), (2, 'Lara', 'Croft', 28), (3, 'Nathan', 'Drake', 32), "
+          + "(4, 'Marion', 'Ravenwood', 40), (5, 'Henry', 'Jones', 75)");
+    }
+    return url;
+  }
+
+  /**
+   * Wrap connection to record the prepared statements
+   *
+   * @param connection the connection
+   * @param statements the prepared statements
+   *
+   * @return the wrapped connection
+   */
+  static Connection recorder(final Connection connection, final List<PreparedStatement> statements) {
+    return (Connection)Proxy.newProxyInstance(SQLExecutorTest.class.getClassLoader(), new Class<?>[] { Connection.class },
+                                              (proxy, method, args) -> {
+                                                try {
+                                                  final Object res = method.invoke(connection, args);
+                                                  if(res instanceof PreparedStatement) {
+                                                    statements.add((PreparedStatement)res);
+                                                  }
+                                                  return res;
+                                                } catch(final InvocationTargetException e) {
+                                                  throw e.getCause();
+                                                }
+                                              });
+  }
+  // Utils -
+
+
+  // Tests +
+  /**
+   * Test query execution
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Execute query")
+  public void testExecuteQuery() throws SQLException {
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = DriverManager.getConnection(database())) {
+      final SQLQuery query = SQL.select().field("first_name").from("Heroes")
+          .where(SQL.clauses("last_name", Clauses::equalsTo, "Jones").and("age", Clauses::lesser, 50))
+          .orderBy("id").build();
+      final List<String> heroes = executor.executeQuery(query, conn, row -> row.getString("first_name"));
+      final List<String> none = executor.executeQuery(SQL.select().field("first_name").from("Heroes")
+                                                      .where(SQL.clauses("last_name", Clauses::equalsTo, "Belloq")
+                                                             .and("age", Clauses::lesser, 50))
+                                                      .orderBy("id").build(), conn, row -> row.getString("first_name"));
+      System.out.println("SQL query: " + query.getQuery());
+      System.out.println("Heroes: " + heroes);
+      assertAll(() -> assertEquals(Stream.of("Indiana").collect(Collectors.toList()), heroes),
+                () -> assertTrue(none.isEmpty()),
+                () -> assertEquals(1, executor.cached(conn)));
+    }
+  }
+
+  /**
+   * Test update execution
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Execute update")
+  public void testExecuteUpdate() throws SQLException {
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = DriverManager.getConnection(database())) {
+      final int updated = executor.executeUpdate(SQL.update("Heroes").field("age", 46)
+                                                 .where(SQL.clauses("last_name", Clauses::equalsTo, "Jones")).build(), conn);
+      final int deleted = executor.executeUpdate(SQL.delete("Heroes").where(SQL.clauses("id", Clauses::equalsTo, 3L)).build(), conn);
+      final List<Integer> ages = executor.executeQuery(SQL.select().field("age").from("Heroes").orderBy("id").build(), conn, row -> row.getInt(1));
+      assertAll(() -> assertEquals(2, updated),
+                () -> assertEquals(1, deleted),
+                () -> assertEquals(Stream.of(46, 28, 40, 46).collect(Collectors.toList()), ages));
+    }
+  }
+
+  /**
+   * Test statements cache
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Statements cache")
+  public void testStatementsCache() throws SQLException {
+    final String url = database();
+    try(SQLExecutor executor = new SQLExecutor(2) ; Connection conn = DriverManager.getConnection(url) ; Connection other = DriverManager.getConnection(url)) {
+      final SQLQuery byId = SQL.select().field("last_name").from("Heroes").where(SQL.clauses("id", Clauses::equalsTo, 1L)).build();
+      final PreparedStatement stmt = executor.prepare(byId, conn);
+      final PreparedStatement same = executor.prepare(SQL.select().field("last_name").from("Heroes")
+                                                      .where(SQL.clauses("id", Clauses::equalsTo, 2L)).build(), conn);
+      final PreparedStatement otherConn = executor.prepare(byId, other);
+      final List<String> names = executor.executeQuery(byId, conn, row -> row.getString(1));
+      executor.executeQuery(SQL.select().field("first_name").from("Heroes").build(), conn, row -> row.getString(1));
+      executor.executeQuery(SQL.select().field("age").from("Heroes").build(), conn, row -> row.getInt(1));
+      final boolean evicted = stmt.isClosed();
+      final PreparedStatement prepared = executor.prepare(byId, conn);
+      executor.release(other);
+      assertAll(() -> assertSame(stmt, same),
+                () -> assertNotSame(stmt, otherConn),
+                () -> assertEquals(Stream.of("Jones").collect(Collectors.toList()), names),
+                () -> assertTrue(evicted),
+                () -> assertNotSame(stmt, prepared),
+                () -> assertEquals(2, executor.cached(conn)),
+                () -> assertEquals(0, executor.cached(other)),
+                () -> assertTrue(otherConn.isClosed()));
+    }
+  }
+
+  /**
+   * Test closed connections caches
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Closed connections")
+  public void testClosedConnection() throws SQLException {
+    final String url = database();
+    try(SQLExecutor executor = new SQLExecutor()) {
+      final SQLQuery query = SQL.select().field("last_name").from("Heroes").build();
+      final Connection closed = DriverManager.getConnection(url);
+      executor.executeQuery(query, closed, row -> row.getString(1));
+      closed.close();
+      try(Connection conn = DriverManager.getConnection(url)) {
+        final List<String> names = executor.executeQuery(query, conn, row -> row.getString(1));
+        assertAll(() -> assertEquals(5, names.size()),
+                  () -> assertEquals(0, executor.cached(closed)),
+                  () -> assertEquals(1, executor.cached(conn)));
+      }
+    }
+  }
+
+  /**
+   * Test failed execution
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Failed execution")
+  public void testFailure() throws SQLException {
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = DriverManager.getConnection(database())) {
+      final SQLQuery query = SQL.update("Heroes").field("id", 2L).where(SQL.clauses("id", Clauses::equalsTo, 1L)).build();
+      assertAll(() -> assertThrows(SQLException.class, () -> executor.executeUpdate(query, conn)),
+                () -> assertEquals(0, executor.cached(conn)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new SQLExecutor(0)));
+    }
+  }
+  /**
+   * Test lazy rows stream
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Rows stream")
+  public void testStream() throws SQLException {
+    final List<PreparedStatement> statements = new ArrayList<>();
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = recorder(DriverManager.getConnection(database()), statements)) {
+      final SQLQuery query = SQL.select().field("first_name").from("Heroes").where(SQL.clauses("age", Clauses::greater, 30)).orderBy("id").build();
+      final AtomicInteger mapped = new AtomicInteger();
+      final List<String> first;
+      final int fetchSize;
+      try(Stream<String> heroes = executor.stream(query, conn, row -> {
+        mapped.incrementAndGet();
+        return row.getString(1);
+      }, 2)) {
+        fetchSize = statements.get(0).getFetchSize();
+        first = heroes.limit(2).collect(Collectors.toList());
+      }
+      final List<String> all = executor.stream(query, conn, row -> row.getString(1)).collect(Collectors.toList());
+      assertAll(() -> assertEquals(Stream.of("Indiana", "Nathan").collect(Collectors.toList()), first),
+                () -> assertEquals(2, mapped.get()),
+                () -> assertEquals(2, fetchSize),
+                () -> assertEquals(Stream.of("Indiana", "Nathan", "Marion", "Henry").collect(Collectors.toList()), all),
+                () -> assertEquals(2, statements.size()),
+                () -> assertTrue(statements.get(0).isClosed()),
+                () -> assertTrue(statements.get(1).isClosed()),
+                () -> assertEquals(0, executor.cached(conn)));
+    }
+  }
+
+  /**
+   * Test rows stream failure
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Rows stream failure")
+  public void testStreamFailure() throws SQLException {
+    final List<PreparedStatement> statements = new ArrayList<>();
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = recorder(DriverManager.getConnection(database()), statements)) {
+      final Stream<String> heroes = executor.stream(SQL.select().field("first_name").from("Heroes").build(), conn, row -> row.getString("unknown"));
+      final UncheckedSQLException error = assertThrows(UncheckedSQLException.class, () -> heroes.forEach(System.out::println));
+      assertAll(() -> assertNotNull(error.getCause()),
+                () -> assertTrue(statements.get(0).isClosed()));
+    }
+  }
+
+  /**
+   * Test rows stream row mapper failure
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Rows stream row mapper failure")
+  public void testStreamMapperFailure() throws SQLException {
+    final List<PreparedStatement> statements = new ArrayList<>();
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = recorder(DriverManager.getConnection(database()), statements)) {
+      final Stream<Integer> heroes = executor.stream(SQL.select().field("first_name").from("Heroes").build(), conn,
+                                                     row -> Integer.parseInt(row.getString(1)));
+      assertThrows(NumberFormatException.class, () -> heroes.forEach(System.out::println));
+      assertAll(() -> assertEquals(1, statements.size()),
+                () -> assertTrue(statements.get(0).isClosed()));
+    }
+  }
+
+  /**
+   * Test shape grouped batch
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Batch execution")
+  public void testExecuteBatch() throws SQLException {
+    final List<PreparedStatement> statements = new ArrayList<>();
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = recorder(DriverManager.getConnection(database()), statements)) {
+      final Stream<SQLQuery> queries = Stream.of(SQL.update("Heroes").field("age", Optional.of(46)).field("first_name", Optional.empty())
+                                                 .where(SQL.clauses("id", Clauses::equalsTo, 1L)).build(),
+                                                 SQL.update("Heroes").field("age", Optional.of(29)).field("first_name", Optional.of("Lara Mae"))
+                                                 .where(SQL.clauses("id", Clauses::equalsTo, 2L)).build(),
+                                                 SQL.delete("Heroes").where(SQL.clauses("id", Clauses::equalsTo, 42L)).build(),
+                                                 SQL.update("Heroes").field("age", Optional.of(33)).field("first_name", Optional.empty())
+                                                 .where(SQL.clauses("id", Clauses::equalsTo, 3L)).build(),
+                                                 SQL.update("Heroes").field("age", Optional.of(41)).field("first_name", Optional.empty())
+                                                 .where(SQL.clauses("id", Clauses::equalsTo, 4L)).build(),
+                                                 SQL.delete("Heroes").where(SQL.clauses("id", Clauses::equalsTo, 5L)).build());
+      final int[] counts = executor.executeBatch(queries, conn, 2);
+      final List<String> heroes = executor.executeQuery(SQL.select().field("first_name").field("age").from("Heroes").orderBy("id").build(), conn,
+                                                        row -> row.getString(1) + ":" + row.getInt(2));
+      assertAll(() -> assertArrayEquals(new int[] { 1, 1, 0, 1, 1, 1 }, counts),
+                () -> assertEquals(Stream.of("Indiana:46", "Lara Mae:29", "Nathan:33", "Marion:41").collect(Collectors.toList()), heroes),
+                () -> assertEquals(4, statements.size()), // 3 batch statements and the select statement
+                () -> assertTrue(statements.get(0).isClosed()),
+                () -> assertEquals(0, executor.executeBatch(Stream.empty(), conn).length),
+                () -> assertThrows(IllegalArgumentException.class, () -> executor.executeBatch(Stream.empty(), conn, 0)));
+    }
+  }
+
+  /**
+   * Test keyset pagination
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Keyset pagination")
+  public void testExecutePage() throws SQLException {
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = DriverManager.getConnection(database())) {
+      final String[] order = { "last_name", "id DESC" };
+      final RowMapper<Object[]> mapper = row -> new Object[] { row.getString("last_name"), row.getLong("id") };
+      final Page<Object[]> first = executor.executePage(SQL.select().field("*").from("Heroes").done().seekAfter(order).fetchPage(2).build(),
+                                                        conn, mapper, 2);
+      final Page<Object[]> second = executor.executePage(SQL.select().field("*").from("Heroes").done().seekAfter(order, first.getLast())
+                                                         .fetchPage(2).build(), conn, mapper, 2);
+      final Page<Object[]> last = executor.executePage(SQL.select().field("*").from("Heroes").done().seekAfter(order, second.getLast())
+                                                       .fetchPage(2).build(), conn, mapper, 2);
+      assertAll(() -> assertEquals(Stream.of(2L, 3L).collect(Collectors.toList()), first.getRows().stream().map(row -> row[1]).collect(Collectors.toList())),
+                () -> assertTrue(first.hasMore()),
+                () -> assertEquals(Stream.of(5L, 1L).collect(Collectors.toList()), second.getRows().stream().map(row -> row[1]).collect(Collectors.toList())),
+                () -> assertTrue(second.hasMore()),
+                () -> assertEquals(Stream.of(4L).collect(Collectors.toList()), last.getRows().stream().map(row -> row[1]).collect(Collectors.toList())),
+                () -> assertFalse(last.hasMore()));
+    }
+  }
+
+  /**
+   * Test {@code IN} lists bound as one array
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("IN lists bound as one array")
+  public void testBindInArray() throws SQLException {
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = DriverManager.getConnection(database())) {
+      final SQLQuery two = SQL.select().field("first_name").from("Heroes")
+          .where(SQL.clauses().bindInArray("bigint").and("id", Clauses::in, Arrays.asList(1L, 3L))).orderBy("id").build();
+      final SQLQuery four = SQL.select().field("first_name").from("Heroes")
+          .where(SQL.clauses().bindInArray("bigint").and("id", Clauses::in, Arrays.asList(1L, 2L, 3L, 5L))).orderBy("id").build();
+      final SQLQuery not = SQL.select().field("first_name").from("Heroes")
+          .where(SQL.clauses().not(SQL.clauses().bindInArray("integer").and("age", Clauses::in, Arrays.asList(28, 32, 40, 75)))).build();
+      final List<String> twoHeroes = executor.executeQuery(two, conn, row -> row.getString(1));
+      final List<String> fourHeroes = executor.executeQuery(four, conn, row -> row.getString(1));
+      final List<String> notHeroes = executor.executeQuery(not, conn, row -> row.getString(1));
+      System.out.println("SQL query: " + four.getQuery());
+      System.out.println("Heroes: " + fourHeroes);
+      assertAll(() -> assertEquals(Stream.of("Indiana", "Nathan").collect(Collectors.toList()), twoHeroes),
+                () -> assertEquals(Stream.of("Indiana", "Lara", "Nathan", "Henry").collect(Collectors.toList()), fourHeroes),
+                () -> assertEquals(Stream.of("Indiana").collect(Collectors.toList()), notHeroes),
+                () -> assertEquals(2, executor.cached(conn)));
+    }
+  }
+
+  /**
+   * Test multi-row inserts
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Multi-row inserts")
+  public void testInsertRows() throws SQLException {
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = DriverManager.getConnection(database())) {
+      final List<SQLQuery> queries = SQL.insert("Heroes").columns("id", "first_name", "last_name", "age")
+          .row(6L, "Elena", "Fisher", 30)
+          .row(7L, "Victor", "Sullivan", 60)
+          .row(8L, "Chloe", "Frazer", 29)
+          .maxParams(8).buildAll();
+      final int[] counts = executor.executeBatch(queries.stream(), conn);
+      final int inserted = executor.executeUpdate(SQL.insert("Heroes").field("id", 9L).field("first_name", "Sam").field("age", Optional.empty()).build(), conn);
+      final List<String> heroes = executor.executeQuery(SQL.select().field("first_name").field("age").from("Heroes")
+                                                        .where(SQL.clauses("id", Clauses::greater, 5L)).orderBy("id").build(), conn,
+                                                        row -> row.getString(1) + ":" + row.getObject(2));
+      assertAll(() -> assertEquals(2, queries.size()),
+                () -> assertArrayEquals(new int[] { 2, 1 }, counts),
+                () -> assertEquals(1, inserted),
+                () -> assertEquals(Stream.of("Elena:30", "Victor:60", "Chloe:29", "Sam:null").collect(Collectors.toList()), heroes));
+    }
+  }
+
+  /**
+   * Test upserts
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Upserts")
+  public void testUpsert() throws SQLException {
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = DriverManager.getConnection(database())) {
+      final int merged = executor.executeUpdate(SQL.upsert("Heroes").syntax(UpsertSyntax.MERGE).onConflict("id").columns("id", "first_name", "age")
+                                                .row(1L, "Indy", 46)
+                                                .row(6L, "Elena", 30)
+                                                .build(), conn);
+      try(Statement stmt = conn.createStatement()) {
+        stmt.execute("SET MODE MySQL");
+      }
+      final int duplicate = executor.executeUpdate(SQL.upsert("Heroes").syntax(UpsertSyntax.ON_DUPLICATE_KEY).onConflict("id").update("age")
+                                                   .columns("id", "first_name", "age")
+                                                   .row(2L, "Lara Mae", 29)
+                                                   .row(7L, "Victor", 60)
+                                                   .build(), conn);
+      final List<String> heroes = executor.executeQuery(SQL.select().field("first_name").field("age").from("Heroes").orderBy("id").build(), conn,
+                                                        row -> row.getString(1) + ":" + row.getInt(2));
+      assertAll(() -> assertEquals(2, merged),
+                () -> assertEquals(Stream.of("Indy:46", "Lara:29", "Nathan:32", "Marion:40", "Henry:75", "Elena:30", "Victor:60")
+                                   .collect(Collectors.toList()), heroes),
+                () -> assertTrue(duplicate > 0));
+    }
+  }
+
+  /**
+   * Test bulk updates
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Bulk updates")
+  public void testBulkUpdate() throws SQLException {
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = DriverManager.getConnection(database())) {
+      final List<SQLQuery> queries = SQL.bulkUpdate("Heroes").syntax(BulkUpdateSyntax.CASE).key("id").columns("first_name", "age")
+          .row(1L, "Indy", 46)
+          .row(2L, "Lara Mae", 29)
+          .row(4L, "Marion", 41)
+          .maxParams(10).buildAll();
+      final int[] counts = executor.executeBatch(queries.stream(), conn);
+      final List<String> heroes = executor.executeQuery(SQL.select().field("first_name").field("age").from("Heroes").orderBy("id").build(), conn,
+                                                        row -> row.getString(1) + ":" + row.getInt(2));
+      assertAll(() -> assertEquals(2, queries.size()),
+                () -> assertArrayEquals(new int[] { 2, 1 }, counts),
+                () -> assertEquals(Stream.of("Indy:46", "Lara Mae:29", "Nathan:32", "Marion:41", "Henry:75").collect(Collectors.toList()), heroes));
+    }
+  }
+
+  /**
+   * Test {@code VALUES} join bulk updates (H2 PostgreSQL compatibility mode)
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("VALUES join bulk updates")
+  public void testBulkUpdateValuesJoin() throws SQLException {
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = DriverManager.getConnection(database() + ";MODE=PostgreSQL")) {
+      final List<SQLQuery> queries = SQL.bulkUpdate("Heroes").syntax(BulkUpdateSyntax.VALUES_JOIN).key("id").columns("first_name", "age")
+          .types("BIGINT", "VARCHAR(50)", "INT")
+          .row(1L, "Indy", 46)
+          .row(2L, "Lara Mae", 29)
+          .row(4L, "Marion", 41)
+          .maxParams(6).buildAll();
+      final int[] counts = executor.executeBatch(queries.stream(), conn);
+      final List<String> heroes = executor.executeQuery(SQL.select().field("first_name").field("age").from("Heroes").orderBy("id").build(), conn,
+                                                        row -> row.getString(1) + ":" + row.getInt(2));
+      assertAll(() -> assertEquals(2, queries.size()),
+                () -> assertArrayEquals(new int[] { 2, 1 }, counts),
+                () -> assertEquals(Stream.of("Indy:46", "Lara Mae:29", "Nathan:32", "Marion:41", "Henry:75").collect(Collectors.toList()), heroes));
+    }
+  }
+
+  /**
+   * Test chunked deletion
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Chunked deletion")
+  public void testExecuteChunks() throws SQLException {
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = DriverManager.getConnection(database())) {
+      final List<Long> progress = new ArrayList<>();
+      final long deleted = executor.executeChunks(SQL.delete("Heroes").where(SQL.clauses("age", Clauses::greater, 30)).chunkKey("id").chunk(2).build(),
+                                                  conn, 1L, progress::add);
+      conn.setAutoCommit(false);
+      final long limited = executor.executeChunks(SQL.delete("Heroes").chunkSyntax(DeleteChunkSyntax.LIMIT).chunk(5).build(), conn, 0L, null);
+      assertAll(() -> assertEquals(4L, deleted),
+                () -> assertEquals(Stream.of(2L, 4L).collect(Collectors.toList()), progress),
+                () -> assertEquals(1L, limited),
+                () -> assertTrue(executor.executeQuery(SQL.select().field("id").from("Heroes").build(), conn, row -> row.getLong(1)).isEmpty()));
+    }
+  }
+
+  /**
+   * Test H2 dialect
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("H2 dialect")
+  public void testDialect() throws SQLException {
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = DriverManager.getConnection(database())) {
+      final SQLQuery in = SQL.select().field("first_name").from("Heroes")
+          .where(SQL.clauses().dialect(Dialects.H2).and("id", Clauses::in, Arrays.asList(1L, 3L))).orderBy("id").build();
+      final SQLQuery notIn = SQL.select().field("first_name").from("Heroes")
+          .where(SQL.clauses().dialect(Dialects.H2).and("age", Clauses::notIn, Arrays.asList(28, 32, 40, 75))).build();
+      final SQLQuery page = SQL.select().dialect(Dialects.H2).field("first_name").from("Heroes").orderBy("id").done().paginate(2, 1).build();
+      final List<SQLQuery> upsert = SQL.upsert("Heroes").dialect(Dialects.H2).onConflict("id").columns("id", "first_name", "last_name", "age")
+          .row(1L, "Indiana", "Jones", 47)
+          .row(6L, "Elena", "Fisher", 30)
+          .buildAll();
+      final List<String> inHeroes = executor.executeQuery(in, conn, row -> row.getString(1));
+      final List<String> notInHeroes = executor.executeQuery(notIn, conn, row -> row.getString(1));
+      final List<String> pageHeroes = executor.executeQuery(page, conn, row -> row.getString(1));
+      final int[] counts = executor.executeBatch(upsert.stream(), conn);
+      System.out.println("SQL query: " + in.getQuery());
+      System.out.println("SQL query: " + page.getQuery());
+      assertAll(() -> assertEquals("SELECT first_name FROM Heroes WHERE id = any(?) ORDER BY id", in.getQuery()),
+                () -> assertEquals(Stream.of("Indiana", "Nathan").collect(Collectors.toList()), inHeroes),
+                () -> assertEquals(Stream.of("Indiana").collect(Collectors.toList()), notInHeroes),
+                () -> assertEquals(Stream.of("Lara", "Nathan").collect(Collectors.toList()), pageHeroes),
+                () -> assertArrayEquals(new int[] { 2 }, counts));
+    }
+  }
+
+  /**
+   * Test query template
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Query template")
+  public void testTemplate() throws SQLException {
+    final QueryTemplate template = SQL.template("SELECT first_name FROM Heroes")
+        .and("last_name", Clauses::like)
+        .and("age", Clauses::greater)
+        .suffix("ORDER BY id")
+        .build();
+    try(SQLExecutor executor = new SQLExecutor() ; Connection conn = DriverManager.getConnection(database())) {
+      final List<String> old = executor.executeQuery(template.bind(null, OptionalInt.of(40)), conn, row -> row.getString(1));
+      final List<String> croft = executor.executeQuery(template.bind("%roft", OptionalInt.empty()), conn, row -> row.getString(1));
+      final List<String> oldAgain = executor.executeQuery(template.bind("", OptionalInt.of(45)), conn, row -> row.getString(1));
+      assertAll(() -> assertEquals(Stream.of("Indiana", "Henry").collect(Collectors.toList()), old),
+                () -> assertEquals(Stream.of("Lara").collect(Collectors.toList()), croft),
+                () -> assertEquals(Stream.of("Henry").collect(Collectors.toList()), oldAgain),
+                () -> assertEquals(2, executor.cached(conn)));
+    }
+  }
+  // Tests -
+
+}
@@ -0,0 +1,69 @@
+package com.github.vlachenal.sql;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * {@link ClausesBuilder} composition benchmarks.<br>
+ * Scores are reported in operations per second: they have to decrease linearly
+ * with the number of predicates (i.e. {@code score * predicates} stays constant).
+ *
+ * @author Vincent Lachenal
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClausesBuilderBenchmark {
+
+  // Attributes +
+  /** Number of predicates */
+  @Param({"100", "1000", "10000"})
+  private int predicates;
+  // Attributes -
+
+
+  // Benchmarks +
+  /**
+   * Nested groups: every predicate is added in a new group which contains the previous ones
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery deepNesting() {
+    ClausesBuilder clauses = SQL.clauses("a", Clauses::equalsTo, 0);
+    for(int i = 1 ; i < predicates ; ++i) {
+      clauses = SQL.clauses("a", Clauses::equalsTo, i).or(clauses);
+    }
+    return SQL.select().field("*").from("toto").where(clauses).build();
+  }
+
+  /**
+   * Flat predicates in a single group
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery flat() {
+    final ClausesBuilder clauses = SQL.clauses();
+    for(int i = 0 ; i < predicates ; ++i) {
+      clauses.or("a", Clauses::equalsTo, i);
+    }
+    return SQL.select().field("*").from("toto").where(clauses).build();
+  }
+  // Benchmarks -
+
+}
@@ -0,0 +1,59 @@
+package com.github.vlachenal.sql;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * {@link DeleteBuilder} benchmarks.
+ *
+ * @author Vincent Lachenal
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeleteBuilderBenchmark {
+
+  // Benchmarks +
+  /**
+   * Delete with two clauses (wiki example)
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery deleteWhere() {
+    return SQL.delete("Heroes")
+        .where(SQL.clauses("first_name", Clauses::equalsTo, "Lara")
+               .and("last_name", Clauses::like, "Cr%ft"))
+        .build();
+  }
+
+  /**
+   * Delete with {@code NOT EXISTS} subquery
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery deleteNotExists() {
+    return SQL.delete("Heroes h")
+        .where(SQL.clauses("h.country", Clauses::equalsTo, "UK")
+               .and(Clauses::notExists, SQL.select().field("1")
+                    .from("Missions m")
+                    .where(SQL.clauses().field("m.hero_id").equals().field("h.id"))))
+        .build();
+  }
+  // Benchmarks -
+
+}
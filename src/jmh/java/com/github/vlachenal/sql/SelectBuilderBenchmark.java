@@ -0,0 +1,254 @@
+package com.github.vlachenal.sql;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * {@link SelectBuilder} benchmarks.<br>
+ * Every benchmark goes through the whole {@code SQL.select()} &rarr; {@link FieldsBuilder}
+ * &rarr; {@link FromBuilder} &rarr; {@link ClausesBuilder} &rarr; {@code build()} chain.<br>
+ * Run them with {@code gradle jmh}: bytes allocated per operation are reported
+ * by the GC profiler as {@code gc.alloc.rate.norm}.
+ *
+ * @author Vincent Lachenal
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SelectBuilderBenchmark {
+
+  // Attributes +
+  /** Search request without any filter */
+  private HeroesRequest none;
+
+  /** Search request with README example filters */
+  private HeroesRequest partial;
+
+  /** Search request with every filter */
+  private HeroesRequest full;
+
+  /** Search query size hint */
+  private final SizeHint searchHint = new SizeHint();
+
+  /** Search clauses size hint */
+  private final SizeHint searchClausesHint = new SizeHint();
+
+  /** Search query template */
+  private static final QueryTemplate SEARCH = SQL.template("SELECT * FROM Heroes")
+      .and("id", Clauses::equalsTo)
+      .and("first_name", Clauses::like)
+      .and("last_name", Clauses::like)
+      .and("email", Clauses::equalsTo)
+      .and("gender", Clauses::equalsTo)
+      .and("country", Clauses::equalsTo)
+      .build();
+  // Attributes -
+
+
+  /**
+   * Heroes search request (same as README example)
+   */
+  public static class HeroesRequest {
+    public UUID id;
+    public String firstName;
+    public String lastName;
+    public String email;
+    public String gender;
+    public String country;
+  }
+
+
+  // Setup +
+  /**
+   * Initialize search requests
+   */
+  @Setup
+  public void setup() {
+    none = new HeroesRequest();
+    partial = new HeroesRequest();
+    partial.gender = "F";
+    partial.lastName = "%Croft%";
+    full = new HeroesRequest();
+    full.id = UUID.randomUUID();
+    full.firstName = "Lara";
+    full.lastName = "%Croft%";
+    full.email = "lara.croft@example.com";
+    full.gender = "F";
+    full.country = "UK";
+  }
+  // Setup -
+
+
+  // Benchmarks +
+  /**
+   * Build heroes search query
+   *
+   * @param req the search request
+   *
+   * @return the query
+   */
+  private static SQLQuery search(final HeroesRequest req) {
+    return SQL.select().field("*")
+        .from("Heroes")
+        .where(SQL.clauses("id", Clauses::equalsTo, req.id)
+               .and("first_name", Clauses::like, req.firstName)
+               .and("last_name", Clauses::like, req.lastName)
+               .and("email", Clauses::equalsTo, req.email)
+               .and("gender", Clauses::equalsTo, req.gender)
+               .and("country", Clauses::equalsTo, req.country)
+            ).build();
+  }
+
+  /**
+   * Heroes search without any valid filter
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery searchNoFilter() {
+    return search(none);
+  }
+
+  /**
+   * Heroes search with 2 valid filters out of 6 (README example)
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery searchTwoFilters() {
+    return search(partial);
+  }
+
+  /**
+   * Heroes search with every filter valid
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery searchAllFilters() {
+    return search(full);
+  }
+
+  /**
+   * Heroes search with every filter valid and builders sized by call site hints
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery searchAllFiltersSizeHint() {
+    return SQL.select(searchHint).field("*")
+        .from("Heroes")
+        .where(SQL.clauses(searchClausesHint).and("id", Clauses::equalsTo, full.id)
+               .and("first_name", Clauses::like, full.firstName)
+               .and("last_name", Clauses::like, full.lastName)
+               .and("email", Clauses::equalsTo, full.email)
+               .and("gender", Clauses::equalsTo, full.gender)
+               .and("country", Clauses::equalsTo, full.country)
+            ).build();
+  }
+
+  /**
+   * Heroes search with 2 valid filters out of 6 bound to a query template
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery searchTwoFiltersTemplate() {
+    return SEARCH.bind(partial.id, partial.firstName, partial.lastName, partial.email, partial.gender, partial.country);
+  }
+
+  /**
+   * Heroes search with every filter valid bound to a query template
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery searchAllFiltersTemplate() {
+    return SEARCH.bind(full.id, full.firstName, full.lastName, full.email, full.gender, full.country);
+  }
+
+  /**
+   * Join on subquery, nested clauses, group by and order by
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery joinSubquery() {
+    return SQL.select()
+        .field("h.id").field("h.last_name").field("count(m.id)").as("missions")
+        .from("Heroes h")
+        .leftJoin(SQL.select().field("*").from("Missions").where(SQL.clauses("status", Clauses::equalsTo, "DONE")),
+                  "m", SQL.clauses().field("m.hero_id").equals().field("h.id"))
+        .where(SQL.clauses("h.country", Clauses::equalsTo, full.country)
+               .and(SQL.clauses("h.first_name", Clauses::like, full.firstName)
+                    .or("h.last_name", Clauses::like, full.lastName)))
+        .groupBy("h.id").field("h.last_name")
+        .orderBy("missions").desc()
+        .build();
+  }
+
+  /**
+   * {@code EXISTS} subquery clause
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery existsSubquery() {
+    return SQL.select().field("h.*")
+        .from("Heroes h")
+        .where(SQL.clauses("h.gender", Clauses::equalsTo, partial.gender)
+               .and(Clauses::exists, SQL.select().field("1")
+                    .from("Missions m")
+                    .where(SQL.clauses().field("m.hero_id").equals().field("h.id")
+                           .and("m.status", Clauses::equalsTo, "DONE"))))
+        .build();
+  }
+
+  /**
+   * {@code UNION ALL} of two searches
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery unionAll() {
+    return SQL.select().field("id").field("last_name")
+        .from("Heroes")
+        .where(SQL.clauses("gender", Clauses::equalsTo, partial.gender))
+        .unionAll(SQL.select().field("id").field("last_name")
+                  .from("Villains")
+                  .where(SQL.clauses("last_name", Clauses::like, partial.lastName)))
+        .build();
+  }
+
+  /**
+   * Paginated search with {@code row_number()} window function
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery windowPagination() {
+    return SQL.select().field("id").field("first_name").field("last_name")
+        .from("Heroes")
+        .where(SQL.clauses("last_name", Clauses::like, partial.lastName)
+               .and("gender", Clauses::equalsTo, partial.gender))
+        .windowByRowNumber("h", "row_num", "last_name ASC", 100, 120)
+        .build();
+  }
+  // Benchmarks -
+
+}
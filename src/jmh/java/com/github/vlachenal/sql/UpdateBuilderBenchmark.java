@@ -0,0 +1,90 @@
+package com.github.vlachenal.sql;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * {@link UpdateBuilder} benchmarks.
+ *
+ * @author Vincent Lachenal
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UpdateBuilderBenchmark {
+
+  // Attributes +
+  /** Present optional value */
+  private final Optional<String> email = Optional.of("lara.croft@example.com");
+
+  /** Empty optional value */
+  private final Optional<String> country = Optional.empty();
+  // Attributes -
+
+
+  // Benchmarks +
+  /**
+   * Update with mandatory fields and one clause
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery updateFields() {
+    return SQL.update("Heroes")
+        .field("first_name", "Lara")
+        .field("last_name", "Croft")
+        .field("gender", "F")
+        .where(SQL.clauses("id", Clauses::equalsTo, 42L))
+        .build();
+  }
+
+  /**
+   * Update with mandatory fields and one clause on recycled builders
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery updateFieldsPooled() {
+    final BuilderPool pool = SQL.pool();
+    final SQLQuery query = pool.update("Heroes")
+        .field("first_name", "Lara")
+        .field("last_name", "Croft")
+        .field("gender", "F")
+        .where(pool.clauses().and("id", Clauses::equalsTo, 42L))
+        .build();
+    pool.recycle();
+    return query;
+  }
+
+  /**
+   * Update with optional fields (one present, one empty) and two clauses
+   *
+   * @return the query
+   */
+  @Benchmark
+  public SQLQuery updateOptionalFields() {
+    return SQL.update("Heroes")
+        .field("last_name", "Croft")
+        .field("email", email)
+        .field("country", country)
+        .where(SQL.clauses("first_name", Clauses::equalsTo, "Lara")
+               .and("last_name", Clauses::like, "Cr%ft"))
+        .build();
+  }
+  // Benchmarks -
+
+}
@@ -67,6 +67,17 @@ public class AbstractPartBuilder {
     return select.build();
   }
 
+  /**
+   * Build SQL query sharing the rendered query string with every query of the same shape
+   *
+   * @param cache the query template shape cache
+   *
+   * @return the query and its prepared statement values
+   */
+  public SQLQuery build(final ShapeCache cache) {
+    return select.build(cache);
+  }
+
   /**
    * Add SQL 'group by' command
    *
@@ -0,0 +1,185 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+
+/**
+ * Reusable builders pool.<br>
+ * <br>
+ * Pool hands out reset builders which keep the capacity they have already
+ * allocated. Every builder handed out since the last {@link #recycle()} call
+ * is in use: {@link #recycle()} has to be called once the queries have been
+ * built and the builders are not used anymore:
+ * <pre>
+ * final BuilderPool pool = SQL.pool();
+ * for(final Hero hero : heroes) {
+ *   final SQLQuery query = pool.update("Heroes").field("last_name", hero.getLastName())
+ *       .where(pool.clauses().and("id", Clauses::equalsTo, hero.getId()))
+ *       .build();
+ *   pool.recycle();
+ *   ...
+ * }
+ * </pre>
+ * Pool keeps at most {@link #MAX_POOLED} builders of each type: when they are all in
+ * use, new builders are handed out but not kept, so that a missing {@link #recycle()}
+ * call does not retain builders for the lifetime of the thread.<br>
+ * This class is not thread safe: it has to be confined to one thread.
+ * {@link SQL#pool()} provides one pool per thread.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public final class BuilderPool {
+
+  // Constants +
+  /** Maximum number of kept builders of each type */
+  public static final int MAX_POOLED = 64;
+  // Constants -
+
+
+  // Attributes +
+  /** Select builders */
+  private final Pooled<SelectBuilder> selects = new Pooled<>(SelectBuilder::new);
+
+  /** Clauses builders */
+  private final Pooled<ClausesBuilder> clauses = new Pooled<>(ClausesBuilder::new);
+
+  /** Update builders */
+  private final Pooled<UpdateBuilder> updates = new Pooled<>(() -> new UpdateBuilder(""));
+
+  /** Delete builders */
+  private final Pooled<DeleteBuilder> deletes = new Pooled<>(() -> new DeleteBuilder(""));
+  // Attributes -
+
+
+  /**
+   * Builders of one type
+   *
+   * @param <T> the builder type
+   */
+  private static final class Pooled<T> {
+
+    /** Builder factory */
+    private final Supplier<T> factory;
+
+    /** Available and in use builders */
+    private final List<T> builders = new ArrayList<>();
+
+    /** Number of builders in use */
+    private int used;
+
+    /**
+     * {@link Pooled} constructor
+     *
+     * @param factory the builder factory
+     */
+    Pooled(final Supplier<T> factory) {
+      this.factory = factory;
+    }
+
+    /**
+     * Retrieve the next available builder or create a new one.<br>
+     * New builders are kept until {@link #MAX_POOLED} builders are kept.
+     *
+     * @return the builder
+     */
+    T next() {
+      if(used < builders.size()) {
+        return builders.get(used++);
+      }
+      final T builder = factory.get();
+      if(builders.size() < MAX_POOLED) {
+        builders.add(builder);
+        ++used;
+      }
+      return builder;
+    }
+
+  }
+
+
+  // Methods +
+  /**
+   * Number of kept builders
+   *
+   * @return the number of kept builders of every type
+   */
+  int size() {
+    return selects.builders.size() + clauses.builders.size() + updates.builders.size() + deletes.builders.size();
+  }
+
+  /**
+   * Retrieve a select builder
+   *
+   * @return the reset {@link SelectBuilder}
+   */
+  public SelectBuilder select() {
+    return selects.next().reset();
+  }
+
+  /**
+   * Retrieve a clauses builder
+   *
+   * @return the reset {@link ClausesBuilder}
+   */
+  public ClausesBuilder clauses() {
+    return clauses.next().reset();
+  }
+
+  /**
+   * Retrieve an update builder
+   *
+   * @param table the table to update
+   *
+   * @return the reset {@link UpdateBuilder}
+   */
+  public UpdateBuilder update(final String table) {
+    return updates.next().reset(table);
+  }
+
+  /**
+   * Retrieve a delete builder
+   *
+   * @param table the table to delete
+   *
+   * @return the reset {@link DeleteBuilder}
+   */
+  public DeleteBuilder delete(final String table) {
+    return deletes.next().reset(table);
+  }
+
+  /**
+   * Make every builder handed out by this pool available again.<br>
+   * Builders must not be used after this call.
+   */
+  public void recycle() {
+    selects.used = 0;
+    clauses.used = 0;
+    updates.used = 0;
+    deletes.used = 0;
+  }
+  // Methods -
+
+}
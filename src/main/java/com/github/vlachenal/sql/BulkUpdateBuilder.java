@@ -0,0 +1,375 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * SQL bulk {@code UPDATE} request builder: several rows are updated with their own
+ * values in one statement.<br>
+ * This class should be instantiated through {@link SQL} static method.<br>
+ * <br>
+ * Rows are identified by their key columns' values which are the first values of
+ * each row:
+ * <pre>
+ * final List&lt;SQLQuery&gt; queries = SQL.bulkUpdate("Products").key("id").columns("price")
+ *     .row(1L, 9.99)
+ *     .row(2L, 19.99)
+ *     .buildAll();
+ * </pre>
+ * Statement is rendered with the {@link SQL#getDialect()} syntax ({@link BulkUpdateSyntax#CASE} by default).
+ * With {@link BulkUpdateSyntax#VALUES_JOIN}, database infers the {@code VALUES} columns' types
+ * from the prepared statement values: the columns' SQL types should be given with
+ * {@link #types(String...)} (values without type such as timestamps are {@code text} for PostgreSQL).
+ * {@link #buildAll()} splits rows so that each statement has at most {@link #maxParams(int)}
+ * values.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public class BulkUpdateBuilder {
+
+  // Attributes +
+  /** The table to update */
+  private final String table;
+
+  /** Key columns */
+  private List<String> keys = Collections.emptyList();
+
+  /** Updated columns */
+  private List<String> columns = Collections.emptyList();
+
+  /** Key columns' then updated columns' SQL types (empty for none) */
+  private List<String> types = Collections.emptyList();
+
+  /** Rows' values: key columns' values then updated columns' values */
+  private final List<Object[]> rows = new ArrayList<>();
+
+  /** Statement syntax */
+  private BulkUpdateSyntax syntax;
+
+  /** Maximum number of prepared statement values per statement */
+  private int maxParams;
+  // Attributes -
+
+
+  // Constructors +
+  /**
+   * {@link BulkUpdateBuilder} constructor
+   *
+   * @param table the table to update
+   */
+  public BulkUpdateBuilder(final String table) {
+    this.table = table;
+    dialect(SQL.getDialect());
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * Set the statement syntax and the maximum number of prepared statement values with
+   * the SQL dialect (see {@link Dialect#bulkUpdateSyntax()} and {@link Dialect#maxParams()})
+   *
+   * @param sqlDialect the dialect ({@code null} for defaults)
+   *
+   * @return {@code this}
+   */
+  public BulkUpdateBuilder dialect(final Dialect sqlDialect) {
+    syntax = sqlDialect == null ? BulkUpdateSyntax.CASE : sqlDialect.bulkUpdateSyntax();
+    maxParams = sqlDialect == null ? InsertBuilder.DEFAULT_MAX_PARAMS : sqlDialect.maxParams();
+    return this;
+  }
+
+  /**
+   * Set statement syntax
+   *
+   * @param update the syntax
+   *
+   * @return {@code this}
+   */
+  public BulkUpdateBuilder syntax(final BulkUpdateSyntax update) {
+    syntax = update;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of prepared statement values per statement (see {@link InsertBuilder#maxParams(int)})
+   *
+   * @param max the maximum number of values
+   *
+   * @return {@code this}
+   */
+  public BulkUpdateBuilder maxParams(final int max) {
+    if(max < 1) {
+      throw new IllegalArgumentException("Maximum number of values has to be positive: " + max);
+    }
+    maxParams = max;
+    return this;
+  }
+
+  /**
+   * Set key columns which identify the rows to update
+   *
+   * @param names the key columns
+   *
+   * @return {@code this}
+   */
+  public BulkUpdateBuilder key(final String... names) {
+    if(!rows.isEmpty()) {
+      throw new IllegalStateException("Key columns can not be changed once rows have been added");
+    }
+    keys = Arrays.asList(names);
+    return this;
+  }
+
+  /**
+   * Set columns to update
+   *
+   * @param names the columns
+   *
+   * @return {@code this}
+   */
+  public BulkUpdateBuilder columns(final String... names) {
+    if(!rows.isEmpty()) {
+      throw new IllegalStateException("Columns can not be changed once rows have been added");
+    }
+    columns = Arrays.asList(names);
+    return this;
+  }
+
+  /**
+   * Set the columns' SQL types for {@link BulkUpdateSyntax#VALUES_JOIN} syntax: the first
+   * row values are cast ({@code CAST(? AS type)}) so that the {@code VALUES} columns have
+   * the same types as the table columns.
+   *
+   * @param sqlTypes the key columns' SQL types then the updated columns' SQL types ({@code bigint}, {@code timestamp}...)
+   *
+   * @return {@code this}
+   */
+  public BulkUpdateBuilder types(final String... sqlTypes) {
+    if(keys.isEmpty() || columns.isEmpty()) {
+      throw new IllegalStateException("Key columns and columns have to be set before types");
+    }
+    if(sqlTypes.length != keys.size() + columns.size()) {
+      throw new IllegalArgumentException("Expected " + (keys.size() + columns.size()) + " types but got " + sqlTypes.length);
+    }
+    types = Arrays.asList(sqlTypes);
+    return this;
+  }
+
+  /**
+   * Add row to update
+   *
+   * @param row the key columns' values then the updated columns' values
+   *
+   * @return {@code this}
+   */
+  public BulkUpdateBuilder row(final Object... row) {
+    if(keys.isEmpty() || columns.isEmpty()) {
+      throw new IllegalStateException("Key columns and columns have to be set before adding rows");
+    }
+    if(row.length != keys.size() + columns.size()) {
+      throw new IllegalArgumentException("Expected " + (keys.size() + columns.size()) + " values but got " + row.length);
+    }
+    rows.add(row);
+    return this;
+  }
+
+  /**
+   * Number of values per row
+   *
+   * @return the number of values
+   */
+  private int rowParams() {
+    if(syntax == BulkUpdateSyntax.VALUES_JOIN) {
+      return keys.size() + columns.size();
+    }
+    return columns.size() * (keys.size() + 1) + keys.size();
+  }
+
+  /**
+   * Render statement text
+   *
+   * @param nbRows the number of rows
+   *
+   * @return the statement
+   */
+  private String render(final int nbRows) {
+    final StringBuilder out = new StringBuilder(64 + table.length() + columns.size() * 32 + nbRows * rowParams() * 8);
+    out.append("UPDATE ").append(table).append(" SET ");
+    if(syntax == BulkUpdateSyntax.VALUES_JOIN) {
+      for(int i = 0 ; i < columns.size() ; ++i) {
+        out.append(i == 0 ? "" : ", ").append(columns.get(i)).append(" = v.").append(columns.get(i));
+      }
+      out.append(" FROM (VALUES ");
+      final int width = keys.size() + columns.size();
+      for(int i = 0 ; i < nbRows ; ++i) {
+        out.append(i == 0 ? "(" : ", (");
+        for(int j = 0 ; j < width ; ++j) {
+          out.append(j == 0 ? "" : ", ");
+          if(i == 0 && !types.isEmpty()) { // First row gives the VALUES columns' types
+            out.append("CAST(? AS ").append(types.get(j)).append(')');
+          } else {
+            out.append('?');
+          }
+        }
+        out.append(')');
+      }
+      out.append(") AS v (").append(String.join(", ", keys)).append(", ").append(String.join(", ", columns)).append(") WHERE ");
+      for(int i = 0 ; i < keys.size() ; ++i) {
+        out.append(i == 0 ? "" : " AND ").append(table).append('.').append(keys.get(i)).append(" = v.").append(keys.get(i));
+      }
+    } else {
+      final String match = keys.size() == 1 ? " WHEN ? THEN ?" : matchKeys(" WHEN ", " THEN ?");
+      for(int i = 0 ; i < columns.size() ; ++i) {
+        final String column = columns.get(i);
+        out.append(i == 0 ? "" : ", ").append(column).append(" = CASE");
+        if(keys.size() == 1) {
+          out.append(' ').append(keys.get(0));
+        }
+        for(int j = 0 ; j < nbRows ; ++j) {
+          out.append(match);
+        }
+        out.append(" ELSE ").append(column).append(" END");
+      }
+      out.append(" WHERE ");
+      if(keys.size() == 1) {
+        out.append(keys.get(0)).append(" IN (?");
+        for(int j = 1 ; j < nbRows ; ++j) {
+          out.append(", ?");
+        }
+        out.append(')');
+      } else {
+        final String row = matchKeys("(", ")");
+        for(int j = 0 ; j < nbRows ; ++j) {
+          out.append(j == 0 ? "" : " OR ").append(row);
+        }
+      }
+    }
+    return out.toString();
+  }
+
+  /**
+   * Render key columns' match
+   *
+   * @param prefix the match prefix
+   * @param suffix the match suffix
+   *
+   * @return {@code <prefix>key1 = ? AND key2 = ?<suffix>}
+   */
+  private String matchKeys(final String prefix, final String suffix) {
+    final StringBuilder out = new StringBuilder(prefix);
+    for(int i = 0 ; i < keys.size() ; ++i) {
+      out.append(i == 0 ? "" : " AND ").append(keys.get(i)).append(" = ?");
+    }
+    return out.append(suffix).toString();
+  }
+
+  /**
+   * Add rows' values in statement order
+   *
+   * @param start the first row
+   * @param nbRows the number of rows
+   *
+   * @return the values only fragment
+   */
+  private Fragment values(final int start, final int nbRows) {
+    final Fragment values = new Fragment(0, nbRows * rowParams(), null);
+    final int end = start + nbRows;
+    if(syntax == BulkUpdateSyntax.VALUES_JOIN) {
+      for(int i = start ; i < end ; ++i) {
+        for(final Object value : rows.get(i)) {
+          values.add(value);
+        }
+      }
+      return values;
+    }
+    final int nbKeys = keys.size();
+    for(int c = 0 ; c < columns.size() ; ++c) {
+      for(int i = start ; i < end ; ++i) {
+        final Object[] row = rows.get(i);
+        for(int k = 0 ; k < nbKeys ; ++k) {
+          values.add(row[k]);
+        }
+        values.add(row[nbKeys + c]);
+      }
+    }
+    for(int i = start ; i < end ; ++i) {
+      final Object[] row = rows.get(i);
+      for(int k = 0 ; k < nbKeys ; ++k) {
+        values.add(row[k]);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Check that there is something to update and that types match the columns
+   */
+  private void check() {
+    if(rows.isEmpty()) {
+      throw new IllegalStateException("There is nothing to update");
+    }
+    if(!types.isEmpty() && types.size() != keys.size() + columns.size()) {
+      throw new IllegalStateException("Types do not match key columns and columns");
+    }
+  }
+
+  /**
+   * Build SQL query.<br>
+   * Every row is updated by this query whatever the number of values.
+   *
+   * @return the query and its prepared statement values
+   */
+  public SQLQuery build() {
+    check();
+    return new SQLQuery(render(rows.size()), values(0, rows.size()));
+  }
+
+  /**
+   * Build SQL queries splitting rows so that each query has at most {@link #maxParams(int)}
+   * values. Full queries share the same query string.
+   *
+   * @return the queries and their prepared statement values
+   */
+  public List<SQLQuery> buildAll() {
+    check();
+    final int total = rows.size();
+    final int chunk = Math.max(1, maxParams / rowParams());
+    if(total <= chunk) {
+      return Collections.singletonList(build());
+    }
+    final List<SQLQuery> queries = new ArrayList<>(total / chunk + 1);
+    final String full = render(chunk);
+    for(int start = 0 ; start < total ; start += chunk) {
+      final int nbRows = Math.min(chunk, total - start);
+      queries.add(new SQLQuery(nbRows == chunk ? full : render(nbRows), values(start, nbRows)));
+    }
+    return queries;
+  }
+  // Methods -
+
+}
@@ -156,7 +156,8 @@ public final class Clauses {
 
   /**
    * Provides 'in' clause with {@code IN} operator.<br>
-   * This clause is not managed with {@link java.sql.PreparedStatement}.
+   * This clause is not managed with {@link java.sql.PreparedStatement} unless
+   * {@link ClausesBuilder#bindIn()} or {@link ClausesBuilder#bindInArray(String)} has been called.
    *
    * @param column the column
    *
@@ -168,7 +169,8 @@ public final class Clauses {
 
   /**
    * Provides 'not in' clause with {@code NOT IN} operator.<br>
-   * This clause is not managed with {@link java.sql.PreparedStatement}.
+   * This clause is not managed with {@link java.sql.PreparedStatement} unless
+   * {@link ClausesBuilder#bindIn()} or {@link ClausesBuilder#bindInArray(String)} has been called.
    *
    * @param column the column
    *
@@ -202,7 +204,7 @@ public final class Clauses {
 
   /**
    * Provides 'equals to any of' clause with {@code = any()} operator.<br>
-   * Value has to be {@code java.sql.Array}.
+   * Value has to be {@code java.sql.Array} or {@link SQLArray} (see {@link SQL#array(String, java.util.Collection)}).
    *
    * @param column the column
    *
@@ -214,7 +216,7 @@ public final class Clauses {
 
   /**
    * Provides 'not equals to any of' clause with {@code <> any()} operator.<br>
-   * Value has to be {@code java.sql.Array}.
+   * Value has to be {@code java.sql.Array} or {@link SQLArray} (see {@link SQL#array(String, java.util.Collection)}).
    *
    * @param column the column
    *
@@ -226,7 +228,7 @@ public final class Clauses {
 
   /**
    * Provides 'lesser than any of' clause with {@code < any()} operator.<br>
-   * Value has to be {@code java.sql.Array}.
+   * Value has to be {@code java.sql.Array} or {@link SQLArray} (see {@link SQL#array(String, java.util.Collection)}).
    *
    * @param column the column
    *
@@ -238,7 +240,7 @@ public final class Clauses {
 
   /**
    * Provides 'lesser than or equals to any of' clause with {@code <= any()} operator.<br>
-   * Value has to be {@code java.sql.Array}.
+   * Value has to be {@code java.sql.Array} or {@link SQLArray} (see {@link SQL#array(String, java.util.Collection)}).
    *
    * @param column the column
    *
@@ -250,7 +252,7 @@ public final class Clauses {
 
   /**
    * Provides 'greater than to any of' clause with {@code > any()} operator.<br>
-   * Value has to be {@code java.sql.Array}.
+   * Value has to be {@code java.sql.Array} or {@link SQLArray} (see {@link SQL#array(String, java.util.Collection)}).
    *
    * @param column the column
    *
@@ -262,7 +264,7 @@ public final class Clauses {
 
   /**
    * Provides 'greater than or equals to any of' clause with {@code >= any()} operator.<br>
-   * Value has to be {@code java.sql.Array}.
+   * Value has to be {@code java.sql.Array} or {@link SQLArray} (see {@link SQL#array(String, java.util.Collection)}).
    *
    * @param column the column
    *
@@ -274,7 +276,7 @@ public final class Clauses {
 
   /**
    * Provides 'equals to all of' clause with {@code = all()} operator.<br>
-   * Value has to be {@code java.sql.Array}.
+   * Value has to be {@code java.sql.Array} or {@link SQLArray} (see {@link SQL#array(String, java.util.Collection)}).
    *
    * @param column the column
    *
@@ -286,7 +288,7 @@ public final class Clauses {
 
   /**
    * Provides 'not equals to all of' clause with {@code <> all()} operator.<br>
-   * Value has to be {@code java.sql.Array}.
+   * Value has to be {@code java.sql.Array} or {@link SQLArray} (see {@link SQL#array(String, java.util.Collection)}).
    *
    * @param column the column
    *
@@ -298,7 +300,7 @@ public final class Clauses {
 
   /**
    * Provides 'lesser than all of' clause with {@code < all()} operator.<br>
-   * Value has to be {@code java.sql.Array}.
+   * Value has to be {@code java.sql.Array} or {@link SQLArray} (see {@link SQL#array(String, java.util.Collection)}).
    *
    * @param column the column
    *
@@ -310,7 +312,7 @@ public final class Clauses {
 
   /**
    * Provides 'lesser than or equals to all of' clause with {@code <= all()} operator.<br>
-   * Value has to be {@code java.sql.Array}.
+   * Value has to be {@code java.sql.Array} or {@link SQLArray} (see {@link SQL#array(String, java.util.Collection)}).
    *
    * @param column the column
    *
@@ -322,7 +324,7 @@ public final class Clauses {
 
   /**
    * Provides 'greater than to all of' clause with {@code > all()} operator.<br>
-   * Value has to be {@code java.sql.Array}.
+   * Value has to be {@code java.sql.Array} or {@link SQLArray} (see {@link SQL#array(String, java.util.Collection)}).
    *
    * @param column the column
    *
@@ -334,7 +336,7 @@ public final class Clauses {
 
   /**
    * Provides 'greater than or equals to all of' clause with {@code >= all()} operator.<br>
-   * Value has to be {@code java.sql.Array}.
+   * Value has to be {@code java.sql.Array} or {@link SQLArray} (see {@link SQL#array(String, java.util.Collection)}).
    *
    * @param column the column
    *
@@ -19,10 +19,12 @@
 */
 package com.github.vlachenal.sql;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 
 
 /**
@@ -35,15 +37,39 @@ import java.util.Optional;
  */
 public class ClausesBuilder {
 
-  // Attributes +
-  /** SQL buffer */
-  final StringBuilder buffer;
+  // Constants +
+  /** Bound {@code IN} list bucket shape: sentinel bit and 5 bits for the bucket size exponent */
+  private static final long BUCKET_SHAPE = 1L << 5;
+
+  /** Bound {@code IN} array shape: out of bucket size exponents range */
+  private static final long ARRAY_SHAPE = BUCKET_SHAPE | 31;
+  // Constants -
+
 
-  /** Prepared statement values */
-  final List<Object> values;
+  // Attributes +
+  /** SQL fragment */
+  final Fragment buffer;
 
   /** First clause */
   boolean firstClause = true;
+
+  /** Clauses are joined with top level {@code OR} */
+  boolean disjunction;
+
+  /** {@code IN} lists' values are bound as padded placeholders */
+  private boolean bindIn;
+
+  /** {@code IN} lists' values are bound as one array of this SQL type */
+  private String arrayType;
+
+  /** {@code IN} lists' maximum number of values per operator ({@code 0} for no limit) */
+  private int chunkIn;
+
+  /** SQL dialect ({@code null} for none) */
+  private Dialect dialect = SQL.getDialect();
+
+  /** Query shape (see {@link ShapeCache}) */
+  long shape = ShapeCache.EMPTY;
   // Attributes -
 
 
@@ -52,8 +78,29 @@ public class ClausesBuilder {
    * {@link ClausesBuilder} default constructor
    */
   public ClausesBuilder() {
-    buffer = new StringBuilder();
-    values = new ArrayList<>();
+    buffer = new Fragment();
+  }
+
+  /**
+   * {@link ClausesBuilder} constructor with capacity hints.<br>
+   * Nested clauses and subqueries are not copied in this builder: their size
+   * does not have to be taken into account.
+   *
+   * @param expectedChars the expected number of characters
+   * @param expectedParams the expected number of prepared statement values
+   */
+  public ClausesBuilder(final int expectedChars, final int expectedParams) {
+    buffer = new Fragment(expectedChars, expectedParams, null);
+  }
+
+  /**
+   * {@link ClausesBuilder} constructor with adaptive size hint.<br>
+   * Builder is sized with the hint and the hint learns the size reached by this builder.
+   *
+   * @param hint the call site size hint
+   */
+  public ClausesBuilder(final SizeHint hint) {
+    buffer = new Fragment(hint.getChars(), hint.getParams(), hint);
   }
 
   /**
@@ -62,9 +109,14 @@ public class ClausesBuilder {
    * @param other the {@link ClausesBuilder} to copy
    */
   public ClausesBuilder(final ClausesBuilder other) {
-    buffer = new StringBuilder(other.buffer);
-    values = new ArrayList<>(other.values);
+    buffer = new Fragment().append(other.buffer);
     firstClause = other.firstClause;
+    disjunction = other.disjunction;
+    bindIn = other.bindIn;
+    arrayType = other.arrayType;
+    chunkIn = other.chunkIn;
+    dialect = other.dialect;
+    shape = other.shape;
   }
 
   /**
@@ -168,6 +220,50 @@ public class ClausesBuilder {
 
 
   // Methods +
+  /**
+   * Reset builder to its initial state keeping its allocated capacity.<br>
+   * Builder must not be reset while a builder in which it has been added has
+   * not been built yet: its content is linked, not copied.
+   *
+   * @return {@code this}
+   */
+  public ClausesBuilder reset() {
+    buffer.clear();
+    firstClause = true;
+    disjunction = false;
+    bindIn = false;
+    arrayType = null;
+    chunkIn = 0;
+    dialect = SQL.getDialect();
+    shape = ShapeCache.EMPTY;
+    return this;
+  }
+
+  /**
+   * Set the SQL dialect used for {@code IN} lists.<br>
+   * Unless {@link #bindIn()}, {@link #bindInArray(String)} or {@link #chunkIn(int)} has
+   * been called, lists' rendering is chosen with the dialect: {@code IN} lists are bound
+   * as one array when the dialect supports arrays of the values' type (see
+   * {@link Dialect#arrayType(Class)}), other lists are bound as padded placeholders
+   * and split with the dialect {@code IN} list limit (see {@link Dialect#maxInList()}).
+   * Lists without column ({@link #in(Collection)} and {@link #notIn(Collection)}) can not
+   * be split: longer lists keep the literal rendering which is rejected by the database
+   * (such as Oracle).<br>
+   * Lists' values which do not fit in the dialect prepared statement values limit (see
+   * {@link Dialect#maxParams()}) are written in query. This limit only counts the values
+   * of these clauses, not the values of the query in which they are added: lists which
+   * have to be bound can be split in several queries (see
+   * {@link SQL#splitIn(Collection, int, java.util.function.Function)}).
+   *
+   * @param sqlDialect the dialect ({@code null} for none)
+   *
+   * @return {@code this}
+   */
+  public ClausesBuilder dialect(final Dialect sqlDialect) {
+    dialect = sqlDialect;
+    return this;
+  }
+
   // No check no prepared statement values +
   /**
    * Add field to clause
@@ -191,7 +287,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder not(final ClausesBuilder clauses) {
     buffer.append("NOT (").append(clauses.buffer).append(')');
-    values.addAll(clauses.values);
+    shape = ShapeCache.append(shape, clauses.shape);
+    firstClause = false;
     return this;
   }
 
@@ -243,8 +340,9 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder notExists(final SelectBuilder query) {
-    buffer.append("NOT EXISTS(").append(query).append(')');
-    values.addAll(query.values);
+    buffer.append("NOT EXISTS(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
+    firstClause = false;
     return this;
   }
 
@@ -256,16 +354,77 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder exists(final SelectBuilder query) {
-    buffer.append("EXISTS(").append(query).append(')');
-    values.addAll(query.values);
+    buffer.append("EXISTS(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
+    firstClause = false;
+    return this;
+  }
+
+  /**
+   * Bind {@code IN} lists' values as prepared statement values.<br>
+   * Each list is padded to the next power of two size by repeating its last value:
+   * there are only log2(N) queries for lists of N values at most, so database plan
+   * cache and statements caches are used. Lists must not be empty.<br>
+   * This applies to the lists which are added after this call ({@link #in(Collection)},
+   * {@link #notIn(Collection)} and collection values of {@link Clauses#in(String)}
+   * and {@link Clauses#notIn(String)} clauses).
+   *
+   * @return {@code this}
+   */
+  public ClausesBuilder bindIn() {
+    bindIn = true;
+    return this;
+  }
+
+  /**
+   * Bind {@code IN} lists' values as one array prepared statement value.<br>
+   * {@code IN} is written {@code = any(?)} and {@code NOT IN} is written {@code <> all(?)}:
+   * there is one single query whatever the number of values. Array is created when
+   * the value is bound (see {@link SQLArray}). Database engine has to support arrays
+   * (PostgreSQL, H2...). H2 does not support {@code <> all(?)}: {@code NOT IN} has
+   * to be written with {@link #not(ClausesBuilder)} and {@code IN}.<br>
+   * This applies to the lists which are added after this call ({@link #in(Collection)},
+   * {@link #notIn(Collection)} and collection values of {@link Clauses#in(String)}
+   * and {@link Clauses#notIn(String)} clauses).
+   *
+   * @param typeName the elements' SQL type name (database specific: {@code integer}, {@code varchar}...)
+   *
+   * @return {@code this}
+   */
+  public ClausesBuilder bindInArray(final String typeName) {
+    arrayType = typeName;
+    return this;
+  }
+
+  /**
+   * Split {@code IN} lists which have more than {@code size} values.<br>
+   * Values are split in several operators: {@code (col IN (...) OR col IN (...))} for
+   * {@code IN} and {@code (col NOT IN (...) AND col NOT IN (...))} for {@code NOT IN}.
+   * This is needed by database engines which limit {@code IN} lists' size (1000
+   * values for Oracle) or the number of prepared statement values (2100 for SQL Server
+   * with {@link #bindIn()}: bound lists are never padded over {@code size} nor over
+   * the dialect prepared statement values limit).<br>
+   * Split lists need their column: they have to be added with {@link Clauses#in(String)}
+   * or {@link Clauses#notIn(String)} clauses. Arrays are never split.<br>
+   * To execute several queries instead of one, see {@link SQL#splitIn(Collection, int, java.util.function.Function)}.
+   *
+   * @param size the maximum number of values per operator
+   *
+   * @return {@code this}
+   */
+  public ClausesBuilder chunkIn(final int size) {
+    if(size <= 0) {
+      throw new IllegalArgumentException("Chunk size has to be positive: " + size);
+    }
+    chunkIn = size;
     return this;
   }
 
   /**
    * Add {@code IN} clause.<br>
    * Due to many database engine limitation about the maximum number of prepared
-   * statement per connection, {@code IN} operator will never be treated with place holder
-   * prepared statement values.<br>
+   * statement per connection, {@code IN} operator is not treated with place holder
+   * prepared statement values unless {@link #bindIn()} has been called.<br>
    * You can format text values with {@link SQL} utility methods.
    *
    * @param <T> the values' type
@@ -274,15 +433,15 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public <T> ClausesBuilder in(final Collection<T> values) {
-    buffer.append(" IN ").append(SQL.toSQLList(values));
+    addList(" IN ", values);
     return this;
   }
 
   /**
    * Add {@code NOT IN} clause.<br>
    * Due to many database engine limitation about the maximum number of prepared
-   * statement per connection, {@code NOT IN} operator will never be treated with place holder
-   * prepared statement values.<br>
+   * statement per connection, {@code NOT IN} operator is not treated with place holder
+   * prepared statement values unless {@link #bindIn()} has been called.<br>
    * You can format text values with {@link SQL} utility methods.
    *
    * @param <T> the values' type
@@ -291,7 +450,7 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public <T> ClausesBuilder notIn(final Collection<T> values) {
-    buffer.append(" NOT IN ").append(SQL.toSQLList(values));
+    addList(" NOT IN ", values);
     return this;
   }
 
@@ -304,6 +463,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder in(final SQLQuery query) {
     buffer.append(" IN (").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -316,6 +477,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder notIn(final SQLQuery query) {
     buffer.append(" NOT IN (").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -327,7 +490,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder in(final SelectBuilder query) {
-    buffer.append(" IN (").append(query).append(')');
+    buffer.append(" IN (").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
 
@@ -339,7 +503,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder notIn(final SelectBuilder query) {
-    buffer.append(" NOT IN (").append(query).append(')');
+    buffer.append(" NOT IN (").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
 
@@ -440,6 +605,7 @@ public class ClausesBuilder {
    */
   public ClausesBuilder or() {
     buffer.append(" OR ");
+    disjunction = true;
     return this;
   }
 
@@ -452,6 +618,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder equalsAny(final SQLQuery query) {
     buffer.append(" = any(").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -464,6 +632,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder notEqualsAny(final SQLQuery query) {
     buffer.append(" <> any(").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -476,6 +646,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder lesserAny(final SQLQuery query) {
     buffer.append(" < any(").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -488,6 +660,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder lesserEqualsAny(final SQLQuery query) {
     buffer.append(" <= any(").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -500,6 +674,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder greaterAny(final SQLQuery query) {
     buffer.append(" > any(").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -512,6 +688,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder greaterEqualsAny(final SQLQuery query) {
     buffer.append(" >= any(").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -523,7 +701,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder equalsAny(final SelectBuilder query) {
-    buffer.append(" = any(").append(query).append(')');
+    buffer.append(" = any(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
 
@@ -535,7 +714,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder notEqualsAny(final SelectBuilder query) {
-    buffer.append(" <> any(").append(query).append(')');
+    buffer.append(" <> any(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
 
@@ -547,7 +727,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder lesserAny(final SelectBuilder query) {
-    buffer.append(" < any(").append(query).append(')');
+    buffer.append(" < any(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
 
@@ -559,7 +740,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder lesserEqualsAny(final SelectBuilder query) {
-    buffer.append(" <= any(").append(query).append(')');
+    buffer.append(" <= any(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
 
@@ -571,7 +753,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder greaterAny(final SelectBuilder query) {
-    buffer.append(" > any(").append(query).append(')');
+    buffer.append(" > any(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
 
@@ -583,7 +766,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder greaterEqualsAny(final SelectBuilder query) {
-    buffer.append(" >= any(").append(query).append(')');
+    buffer.append(" >= any(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
 
@@ -596,6 +780,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder equalsAll(final SQLQuery query) {
     buffer.append(" = all(").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -608,6 +794,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder notEqualsAll(final SQLQuery query) {
     buffer.append(" <> all(").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -620,6 +808,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder lesserAll(final SQLQuery query) {
     buffer.append(" < all(").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -632,6 +822,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder lesserEqualsAll(final SQLQuery query) {
     buffer.append(" <= all(").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -644,6 +836,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder greaterAll(final SQLQuery query) {
     buffer.append(" > all(").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -656,6 +850,8 @@ public class ClausesBuilder {
    */
   public ClausesBuilder greaterEqualsAll(final SQLQuery query) {
     buffer.append(" >= all(").append(query.getQuery()).append(')');
+    buffer.addAll(query);
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -667,7 +863,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder equalsAll(final SelectBuilder query) {
-    buffer.append(" = all(").append(query).append(')');
+    buffer.append(" = all(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
 
@@ -679,7 +876,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder notEqualsAll(final SelectBuilder query) {
-    buffer.append(" <> all(").append(query).append(')');
+    buffer.append(" <> all(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
 
@@ -691,7 +889,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder lesserAll(final SelectBuilder query) {
-    buffer.append(" < all(").append(query).append(')');
+    buffer.append(" < all(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
 
@@ -703,7 +902,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder lesserEqualsAll(final SelectBuilder query) {
-    buffer.append(" <= all(").append(query).append(')');
+    buffer.append(" <= all(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
 
@@ -715,7 +915,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder greaterAll(final SelectBuilder query) {
-    buffer.append(" > all(").append(query).append(')');
+    buffer.append(" > all(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
 
@@ -727,7 +928,8 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   public ClausesBuilder greaterEqualsAll(final SelectBuilder query) {
-    buffer.append(" >= all(").append(query).append(')');
+    buffer.append(" >= all(").append(query.buffer).append(')');
+    shape = ShapeCache.append(shape, query.shape);
     return this;
   }
   // No check no prepared statement values -
@@ -954,6 +1156,7 @@ public class ClausesBuilder {
   private void addBooleanAggregator(final String boolAgg) {
     if(!firstClause) {
       buffer.append(' ').append(boolAgg).append(' ');
+      disjunction |= "OR".equals(boolAgg);
     }
   }
 
@@ -967,10 +1170,13 @@ public class ClausesBuilder {
    */
   private ClausesBuilder checkAndAddClauses(final String boolAgg, final ClausesProvider clauses) {
     final ClausesBuilder builder = clauses.getClauses();
-    if(builder != null && builder.buffer.length() != 0) {
+    final boolean included = builder != null && builder.buffer.length() != 0;
+    shape = ShapeCache.append(shape, included);
+    if(included) {
     	addBooleanAggregator(boolAgg);
       buffer.append(builder.buffer);
-      values.addAll(builder.values);
+      disjunction |= builder.disjunction; // Provided clauses are not put into parentheses
+      shape = ShapeCache.append(shape, builder.shape);
       firstClause = false;
     }
     return this;
@@ -990,23 +1196,23 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   private final <T> ClausesBuilder checkAndAddClause(final String boolAgg, final String column, final ClauseMaker clause, final T value, final ValueChecker<T> checker) {
-    if(checker.isValid(value)) {
+    final boolean valid = checker.isValid(value);
+    shape = ShapeCache.append(shape, valid);
+    if(valid) {
     	addBooleanAggregator(boolAgg);
-      buffer.append(clause.makeClause(column));
-      if(value instanceof Optional<?>) {
-        // Optional value has already been check at his point
-      	values.add(((Optional<?>)value).get());
-      } else if(value instanceof Collection) { // For (NOT) IN operators
-        buffer.append(SQL.toSQLList((Collection<?>)value));
+      if(value instanceof Collection) { // For (NOT) IN operators
+        addList(clause.makeClause(column), (Collection<?>)value);
       } else if(value instanceof SelectBuilder) { // For (NOT) EXISTS operators
-        buffer.append('(').append(value).append(')');
-        values.addAll(((SelectBuilder)value).values);
+        buffer.append(clause.makeClause(column)).append('(').append(((SelectBuilder)value).buffer).append(')');
+        shape = ShapeCache.append(shape, ((SelectBuilder)value).shape);
       } else if(value instanceof SQLQuery) { // For (NOT) EXISTS operators
         final SQLQuery query = (SQLQuery)value;
-        buffer.append('(').append(query.getQuery()).append(')');
-        values.addAll(query.getValues());
+        buffer.append(clause.makeClause(column)).append('(').append(query.getQuery()).append(')');
+        buffer.addAll(query);
+        shape = ShapeCache.DYNAMIC;
       } else {
-      	values.add(value);
+        buffer.append(clause.makeClause(column));
+        addValue(value);
       }
       firstClause = false;
     }
@@ -1028,27 +1234,261 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   private final <T> ClausesBuilder checkAndAddClause(final String boolAgg, final String column, final ClauseMaker clause, final T value1, final T value2, final ValueChecker<T> checker) {
-    if(checker.isValid(value1) && checker.isValid(value2)) {
+    final boolean valid = checker.isValid(value1) && checker.isValid(value2);
+    shape = ShapeCache.append(shape, valid);
+    if(valid) {
     	addBooleanAggregator(boolAgg);
       buffer.append(clause.makeClause(column));
-      if(value1 instanceof Optional<?>) {
-        // Optional value has already been check at his point
-      	values.add(((Optional<?>)value1).get());
-      } else {
-      	values.add(value1);
+      addValue(value1);
+      addValue(value2);
+      firstClause = false;
+    }
+    return this;
+  }
+
+  /**
+   * Add values' list.<br>
+   * Values are written in query unless {@link #bindIn()} or {@link #bindInArray(String)}
+   * has been called. With {@link #bindInArray(String)}, {@code IN} operator is replaced
+   * by {@code = any(?)} (or {@code <> all(?)} for {@code NOT IN}) and values are bound
+   * as one array. Otherwise, list is split with {@link #chunkIn(int)}.<br>
+   * When none of them has been called, rendering is chosen with the dialect (see {@link #dialect(Dialect)}).
+   *
+   * @param operator the clause text ending with the {@code IN} operator
+   * @param values the values
+   */
+  private void addList(final String operator, final Collection<?> values) {
+    String array = arrayType;
+    boolean bind = bindIn;
+    int chunk = chunkIn;
+    final boolean not = operator.endsWith(" NOT IN ");
+    final boolean noColumn = operator.length() == (not ? 8 : 4);
+    if(dialect != null && array == null && !bind && chunk == 0) {
+      if(!values.isEmpty() && !not) { // Negated arrays are not supported everywhere
+        final Object first = values.iterator().next();
+        array = first == null ? null : dialect.arrayType(first.getClass());
       }
-      if(value2 instanceof Optional<?>) {
-        // Optional value has already been check at his point
-      	values.add(((Optional<?>)value2).get());
+      final int maxInList = dialect.maxInList();
+      if(noColumn && maxInList != 0 && values.size() > maxInList) { // Can not be split: keep literal rendering
+        bind = false;
       } else {
-      	values.add(value2);
+        bind = true;
+        chunk = maxInList;
       }
-      firstClause = false;
     }
-    return this;
+    if(array != null && operator.endsWith(" IN ")) {
+      buffer.append(operator.substring(0, operator.length() - (not ? 8 : 4))).append(not ? " <> all(?)" : " = any(?)");
+      buffer.add(new SQLArray(array, values));
+      shape = ShapeCache.append(shape, ARRAY_SHAPE); // Query does not depend on the number of values
+      return;
+    }
+    if(chunk == 0 || values.size() <= chunk) {
+      buffer.append(operator);
+      addValues(values.iterator(), values.size(), bind, chunk);
+      return;
+    }
+    if(noColumn) {
+      throw new IllegalStateException("Split IN list needs its column: add it with Clauses::in or Clauses::notIn");
+    }
+    final Iterator<?> it = values.iterator();
+    buffer.append('(').append(operator);
+    addValues(it, chunk, bind, chunk);
+    for(int remaining = values.size() - chunk ; remaining > 0 ; remaining -= chunk) {
+      buffer.append(not ? " AND " : " OR ").append(operator);
+      addValues(it, Math.min(remaining, chunk), bind, chunk);
+    }
+    buffer.append(')');
+    shape = ShapeCache.DYNAMIC;
+  }
+
+  /**
+   * Add values' list chunk.<br>
+   * Values are written in query unless they are bound: they are bound with placeholders
+   * and the list is padded to the next power of two size (at most chunk size and remaining
+   * prepared statement values) with its last value. Values which do not fit in the remaining
+   * prepared statement values are written in query.
+   *
+   * @param values the values' iterator
+   * @param size the number of values to add
+   * @param bind bind values
+   * @param chunk the chunk size ({@code 0} for no limit)
+   */
+  private void addValues(final Iterator<?> values, final int size, final boolean bind, final int chunk) {
+    if(size == 0) {
+      throw new IllegalArgumentException("IN list can not be empty");
+    }
+    final int remaining = remainingParams();
+    if(!bind || size > remaining) {
+      buffer.append('(');
+      for(int i = 0 ; i < size ; ++i) {
+        if(i != 0) {
+          buffer.append(',');
+        }
+        buffer.append(String.valueOf(values.next()));
+      }
+      buffer.append(')');
+      shape = ShapeCache.DYNAMIC;
+      return;
+    }
+    final int bucket = size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+    final int padded = Math.min(chunk == 0 ? bucket : Math.min(bucket, chunk), remaining);
+    buffer.append("(?");
+    Object last = values.next();
+    buffer.add(last);
+    for(int i = 1 ; i < size ; ++i) {
+      last = values.next();
+      buffer.append(", ?").add(last);
+    }
+    for(int i = size ; i < padded ; ++i) {
+      buffer.append(", ?").add(last);
+    }
+    buffer.append(')');
+    shape = ShapeCache.append(shape, BUCKET_SHAPE | Integer.numberOfTrailingZeros(bucket)); // Query only depends on the bucket size
+  }
+
+  /**
+   * Remaining prepared statement values before the dialect limit (see {@link Dialect#maxParams()}).<br>
+   * Only the values of these clauses are counted: values of the query in which they are added are not.
+   *
+   * @return the number of values which can still be added to these clauses
+   */
+  private int remainingParams() {
+    return (dialect == null ? InsertBuilder.DEFAULT_MAX_PARAMS : dialect.maxParams()) - buffer.paramsLength();
+  }
+
+  /**
+   * Add prepared statement value.<br>
+   * Optional values have already been checked at this point: their value is added.
+   * Primitive optional values are added without being boxed.
+   *
+   * @param value the value
+   */
+  private void addValue(final Object value) {
+    if(value instanceof Optional<?>) {
+      buffer.add(((Optional<?>)value).get());
+    } else if(value instanceof OptionalLong) {
+      buffer.addPrimitive(((OptionalLong)value).getAsLong(), ValueTypes.PRIMITIVE_LONG);
+    } else if(value instanceof OptionalInt) {
+      buffer.addPrimitive(((OptionalInt)value).getAsInt(), ValueTypes.PRIMITIVE_INT);
+    } else if(value instanceof OptionalDouble) {
+      buffer.addPrimitive(Double.doubleToRawLongBits(((OptionalDouble)value).getAsDouble()), ValueTypes.PRIMITIVE_DOUBLE);
+    } else {
+      buffer.add(value);
+    }
   }
   // Check and add value to prepared statement -
 
+  // Primitive values +
+  /**
+   * Add {@code AND} clause with {@code long} value.<br>
+   * Value is stored without being boxed. A primitive value is always valid: it is
+   * not checked. Use a boxed value with a {@link ValueChecker} to add the clause conditionally.
+   *
+   * @param column the column
+   * @param clause the clause maker
+   * @param value the value
+   *
+   * @return {@code this}
+   */
+  public ClausesBuilder and(final String column, final ClauseMaker clause, final long value) {
+    return addPrimitiveClause("AND", column, clause, value, ValueTypes.PRIMITIVE_LONG);
+  }
+
+  /**
+   * Add {@code AND} clause with {@code int} value.<br>
+   * Value is stored without being boxed. A primitive value is always valid: it is
+   * not checked. Use a boxed value with a {@link ValueChecker} to add the clause conditionally.
+   *
+   * @param column the column
+   * @param clause the clause maker
+   * @param value the value
+   *
+   * @return {@code this}
+   */
+  public ClausesBuilder and(final String column, final ClauseMaker clause, final int value) {
+    return addPrimitiveClause("AND", column, clause, value, ValueTypes.PRIMITIVE_INT);
+  }
+
+  /**
+   * Add {@code AND} clause with {@code double} value.<br>
+   * Value is stored without being boxed. A primitive value is always valid: it is
+   * not checked. Use a boxed value with a {@link ValueChecker} to add the clause conditionally.
+   *
+   * @param column the column
+   * @param clause the clause maker
+   * @param value the value
+   *
+   * @return {@code this}
+   */
+  public ClausesBuilder and(final String column, final ClauseMaker clause, final double value) {
+    return addPrimitiveClause("AND", column, clause, Double.doubleToRawLongBits(value), ValueTypes.PRIMITIVE_DOUBLE);
+  }
+
+  /**
+   * Add {@code OR} clause with {@code long} value.<br>
+   * Value is stored without being boxed. A primitive value is always valid: it is
+   * not checked. Use a boxed value with a {@link ValueChecker} to add the clause conditionally.
+   *
+   * @param column the column
+   * @param clause the clause maker
+   * @param value the value
+   *
+   * @return {@code this}
+   */
+  public ClausesBuilder or(final String column, final ClauseMaker clause, final long value) {
+    return addPrimitiveClause("OR", column, clause, value, ValueTypes.PRIMITIVE_LONG);
+  }
+
+  /**
+   * Add {@code OR} clause with {@code int} value.<br>
+   * Value is stored without being boxed. A primitive value is always valid: it is
+   * not checked. Use a boxed value with a {@link ValueChecker} to add the clause conditionally.
+   *
+   * @param column the column
+   * @param clause the clause maker
+   * @param value the value
+   *
+   * @return {@code this}
+   */
+  public ClausesBuilder or(final String column, final ClauseMaker clause, final int value) {
+    return addPrimitiveClause("OR", column, clause, value, ValueTypes.PRIMITIVE_INT);
+  }
+
+  /**
+   * Add {@code OR} clause with {@code double} value.<br>
+   * Value is stored without being boxed. A primitive value is always valid: it is
+   * not checked. Use a boxed value with a {@link ValueChecker} to add the clause conditionally.
+   *
+   * @param column the column
+   * @param clause the clause maker
+   * @param value the value
+   *
+   * @return {@code this}
+   */
+  public ClausesBuilder or(final String column, final ClauseMaker clause, final double value) {
+    return addPrimitiveClause("OR", column, clause, Double.doubleToRawLongBits(value), ValueTypes.PRIMITIVE_DOUBLE);
+  }
+
+  /**
+   * Add clause with primitive value
+   *
+   * @param boolAgg the boolean aggregator to use
+   * @param column the column (first operand)
+   * @param clause the clause type (operator)
+   * @param bits the value bits
+   * @param type the value type (see {@link ValueTypes})
+   *
+   * @return {@code this}
+   */
+  private ClausesBuilder addPrimitiveClause(final String boolAgg, final String column, final ClauseMaker clause, final long bits, final int type) {
+    shape = ShapeCache.append(shape, true);
+    addBooleanAggregator(boolAgg);
+    buffer.append(clause.makeClause(column)).addPrimitive(bits, type);
+    firstClause = false;
+    return this;
+  }
+  // Primitive values -
+
   // Parentheses +
   /**
    * Check and add clauses
@@ -1059,10 +1499,11 @@ public class ClausesBuilder {
    * @return {@code this}
    */
   private ClausesBuilder checkAndAddClauses(final String boolAgg, final ClausesBuilder other) {
+    shape = ShapeCache.append(shape, !other.firstClause);
     if(!other.firstClause) {
     	addBooleanAggregator(boolAgg);
       buffer.append('(').append(other.buffer).append(')');
-      values.addAll(other.values);
+      shape = ShapeCache.append(shape, other.shape);
       firstClause = false;
     }
     return this;
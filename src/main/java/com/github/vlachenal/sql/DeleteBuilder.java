@@ -19,8 +19,6 @@
 */
 package com.github.vlachenal.sql;
 
-import java.util.ArrayList;
-import java.util.List;
 
 
 /**
@@ -34,11 +32,26 @@ import java.util.List;
 public class DeleteBuilder {
 
   // Attributes +
-  /** SQL request string buffer */
-  final StringBuilder buffer;
+  /** SQL request fragment */
+  final Fragment buffer;
 
-  /** Clauses values */
-  final List<Object> values;
+  /** Query shape (see {@link ShapeCache}) */
+  long shape = ShapeCache.EMPTY;
+
+  /** The table to delete */
+  private String table;
+
+  /** Clauses' text position ({@code -1} when there is no clause) */
+  private int whereText = -1;
+
+  /** Maximum number of rows deleted by the statement ({@code 0} for no limit) */
+  private int chunk;
+
+  /** Key column for {@link DeleteChunkSyntax#SUBQUERY} syntax */
+  private String chunkKey;
+
+  /** Bounded statement syntax */
+  private DeleteChunkSyntax chunkSyntax;
   // Attributes -
 
 
@@ -49,13 +62,83 @@ public class DeleteBuilder {
    * @param table the table to update
    */
   public DeleteBuilder(final String table) {
-    buffer = new StringBuilder("DELETE FROM ").append(table);
-    values = new ArrayList<>();
+    buffer = new Fragment("DELETE FROM ").append(table);
+    this.table = table;
+    dialect(SQL.getDialect());
+  }
+
+  /**
+   * {@link DeleteBuilder} constructor with capacity hints.<br>
+   * Nested clauses are not copied in this builder: their size does not have
+   * to be taken into account.
+   *
+   * @param table the table to delete
+   * @param expectedChars the expected number of characters
+   * @param expectedParams the expected number of prepared statement values
+   */
+  public DeleteBuilder(final String table, final int expectedChars, final int expectedParams) {
+    buffer = new Fragment(expectedChars, expectedParams, null).append("DELETE FROM ").append(table);
+    this.table = table;
+    dialect(SQL.getDialect());
+  }
+
+  /**
+   * {@link DeleteBuilder} constructor with adaptive size hint.<br>
+   * Builder is sized with the hint and the hint learns the size reached by this builder.
+   *
+   * @param table the table to delete
+   * @param hint the call site size hint
+   */
+  public DeleteBuilder(final String table, final SizeHint hint) {
+    buffer = new Fragment(hint.getChars(), hint.getParams(), hint).append("DELETE FROM ").append(table);
+    this.table = table;
+    dialect(SQL.getDialect());
   }
   // Constructors -
 
 
   // Methods +
+  /**
+   * Reset builder to its initial state keeping its allocated capacity.<br>
+   * Builder must not be reset while a builder in which it has been added has
+   * not been built yet: its content is linked, not copied.
+   *
+   * @return {@code this}
+   */
+  public DeleteBuilder reset() {
+    return reset(table);
+  }
+
+  /**
+   * Reset builder to its initial state on another table keeping its allocated capacity
+   *
+   * @param table the table to delete
+   *
+   * @return {@code this}
+   */
+  DeleteBuilder reset(final String table) {
+    this.table = table;
+    buffer.clear();
+    buffer.append("DELETE FROM ").append(table);
+    shape = ShapeCache.EMPTY;
+    whereText = -1;
+    chunk = 0;
+    chunkKey = null;
+    return dialect(SQL.getDialect());
+  }
+
+  /**
+   * Set the bounded statement syntax with the SQL dialect (see {@link Dialect#deleteChunkSyntax()})
+   *
+   * @param sqlDialect the dialect ({@code null} for default syntax)
+   *
+   * @return {@code this}
+   */
+  public DeleteBuilder dialect(final Dialect sqlDialect) {
+    chunkSyntax = sqlDialect == null ? DeleteChunkSyntax.SUBQUERY : sqlDialect.deleteChunkSyntax();
+    return this;
+  }
+
   /**
    * Add 'WHERE' and clauses
    *
@@ -64,21 +147,123 @@ public class DeleteBuilder {
    * @return the {@link DeleteBuilder}
    */
   public DeleteBuilder where(final ClausesBuilder clauses) {
+    shape = ShapeCache.append(shape, !clauses.firstClause);
     if(!clauses.firstClause) { // which means that at least one clause has been added
-      buffer.append(" WHERE ").append(clauses.buffer);
-      values.addAll(clauses.values);
+      buffer.append(" WHERE ");
+      whereText = buffer.textSize();
+      buffer.append(clauses.buffer);
+      shape = ShapeCache.append(shape, clauses.shape);
     }
     return this;
   }
 
+  /**
+   * Bound the number of deleted rows.<br>
+   * Mass deletion can be run as repeated bounded statements until no row is deleted:
+   * each statement holds its locks for a short time and produces a small amount of
+   * WAL/undo. Statement is rendered with {@link #chunkSyntax(DeleteChunkSyntax)} or the dialect syntax
+   * ({@link DeleteChunkSyntax#SUBQUERY} by default which needs {@link #chunkKey(String)}).
+   *
+   * @param size the maximum number of rows to delete
+   *
+   * @return {@code this}
+   */
+  public DeleteBuilder chunk(final int size) {
+    if(size < 1) {
+      throw new IllegalArgumentException("Chunk size has to be positive: " + size);
+    }
+    chunk = size;
+    shape = ShapeCache.DYNAMIC;
+    return this;
+  }
+
+  /**
+   * Set the key column which identifies the rows to delete in {@link DeleteChunkSyntax#SUBQUERY} syntax
+   *
+   * @param column the key column (primary key)
+   *
+   * @return {@code this}
+   */
+  public DeleteBuilder chunkKey(final String column) {
+    chunkKey = column;
+    return this;
+  }
+
+  /**
+   * Set bounded statement syntax
+   *
+   * @param syntax the syntax
+   *
+   * @return {@code this}
+   */
+  public DeleteBuilder chunkSyntax(final DeleteChunkSyntax syntax) {
+    chunkSyntax = syntax;
+    return this;
+  }
+
+  /**
+   * Render bounded statement
+   *
+   * @return the statement fragment
+   */
+  private Fragment bounded() {
+    final int from = "DELETE FROM ".length() + table.length();
+    final Fragment out = new Fragment(64 + table.length(), 0, null);
+    switch(chunkSyntax) {
+      case SUBQUERY:
+        if(chunkKey == null) {
+          throw new IllegalStateException("Chunk key column has to be set");
+        }
+        out.append("DELETE FROM ").append(table).append(" WHERE ").append(chunkKey).append(" IN (SELECT ").append(chunkKey).append(" FROM ").append(table);
+        out.append(buffer, from, 0, 0, buffer.textSize(), buffer.linkSize(), buffer.paramSize());
+        out.append(" FETCH FIRST ").append(chunk).append(" ROWS ONLY)");
+        break;
+      case LIMIT:
+        out.append(buffer).append(" LIMIT ").append(chunk);
+        break;
+      case ROWNUM:
+        if(whereText < 0) {
+          out.append(buffer).append(" WHERE ROWNUM <= ").append(chunk);
+        } else {
+          out.append("DELETE FROM ").append(table).append(" WHERE (");
+          out.append(buffer, whereText, 0, 0, buffer.textSize(), buffer.linkSize(), buffer.paramSize());
+          out.append(") AND ROWNUM <= ").append(chunk);
+        }
+        break;
+      default:
+        out.append("DELETE TOP (").append(chunk).append(") FROM ").append(table);
+        out.append(buffer, from, 0, 0, buffer.textSize(), buffer.linkSize(), buffer.paramSize());
+    }
+    return out;
+  }
+
   /**
    * Build SQL query
    *
    * @return the query and its prepared statement values
    */
   public SQLQuery build() {
-    return new SQLQuery(buffer.toString(), values);
+    if(chunk != 0) {
+      final Fragment bounded = bounded();
+      return new SQLQuery(bounded.toString(), bounded);
+    }
+    return new SQLQuery(buffer.toString(), buffer);
   }
+
+  /**
+   * Build SQL query sharing the rendered query string with every query of the same shape
+   *
+   * @param cache the query template shape cache
+   *
+   * @return the query and its prepared statement values
+   */
+  public SQLQuery build(final ShapeCache cache) {
+    if(chunk != 0) {
+      return build();
+    }
+    return new SQLQuery(cache.query(shape, buffer), buffer);
+  }
+
   // Methods -
 
 }
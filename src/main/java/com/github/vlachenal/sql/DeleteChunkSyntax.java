@@ -0,0 +1,44 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+
+/**
+ * Bounded {@code DELETE} statement syntax (see {@link DeleteBuilder#chunk(int)})
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public enum DeleteChunkSyntax {
+
+  /** {@code DELETE FROM t WHERE key IN (SELECT key FROM t WHERE ... FETCH FIRST n ROWS ONLY)}: PostgreSQL, H2 */
+  SUBQUERY,
+
+  /** {@code DELETE FROM t WHERE ... LIMIT n}: MySQL, MariaDB, H2 */
+  LIMIT,
+
+  /** {@code DELETE FROM t WHERE (...) AND ROWNUM <= n}: Oracle */
+  ROWNUM,
+
+  /** {@code DELETE TOP (n) FROM t WHERE ...}: SQL Server */
+  TOP
+
+}
@@ -0,0 +1,148 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+
+/**
+ * SQL dialect: database specific rendering choices.<br>
+ * <br>
+ * Dialect is used by builders to pick the syntax supported by the database engine
+ * and its fastest construct: pagination, {@code IN} lists (arrays, chunks),
+ * maximum number of prepared statement values, upsert, bulk update and chunked
+ * deletion syntaxes. Built-in dialects are defined in {@link Dialects}. Dialect is set
+ * for every new builder with {@link SQL#setDialect(Dialect)} or for one builder with
+ * its {@code dialect} method:
+ * <pre>
+ * SQL.setDialect(Dialects.POSTGRESQL);
+ * ...
+ * SQL.select().field("*").from("Heroes").orderBy("id").paginate(20, 40).build();
+ * </pre>
+ * Default methods render standard SQL: custom dialects only have to override the
+ * choices which differ from the standard.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public interface Dialect {
+
+  /**
+   * Render pagination command (with its leading space)
+   *
+   * @param limit the maximum number of rows (positive)
+   * @param offset the number of rows to skip ({@code 0} for none)
+   *
+   * @return the pagination command
+   */
+  default String paginate(final long limit, final long offset) {
+    final StringBuilder command = new StringBuilder(48);
+    if(offset > 0) {
+      command.append(" OFFSET ").append(offset).append(" ROWS");
+    }
+    return command.append(" FETCH FIRST ").append(limit).append(" ROWS ONLY").toString();
+  }
+
+  /**
+   * Retrieve the SQL array type of values' type: {@code IN} lists of these values are
+   * bound as one array (see {@link ClausesBuilder#bindInArray(String)})
+   *
+   * @param valueType the values' type
+   *
+   * @return the SQL type name or {@code null} when values can not be bound as an array
+   */
+  default String arrayType(final Class<?> valueType) {
+    return null;
+  }
+
+  /**
+   * Maximum number of prepared statement values per statement
+   *
+   * @return the maximum number of values
+   */
+  default int maxParams() {
+    return InsertBuilder.DEFAULT_MAX_PARAMS;
+  }
+
+  /**
+   * Maximum number of values per {@code IN} operator
+   *
+   * @return the maximum number of values ({@code 0} for no limit)
+   */
+  default int maxInList() {
+    return 0;
+  }
+
+  /**
+   * Maximum number of rows per {@code INSERT ... VALUES} statement
+   *
+   * @return the maximum number of rows ({@code 0} for no limit)
+   */
+  default int maxInsertRows() {
+    return 0;
+  }
+
+  /**
+   * Check if row value comparisons ({@code (a, b) > (?, ?)}) are supported
+   *
+   * @return {@code true} if they are supported, {@code false} otherwise
+   */
+  default boolean supportsRowValues() {
+    return true;
+  }
+
+  /**
+   * Quote identifier such as a reserved word column name
+   *
+   * @param identifier the identifier
+   *
+   * @return the quoted identifier
+   */
+  default String quote(final String identifier) {
+    return '"' + identifier.replace("\"", "\"\"") + '"';
+  }
+
+  /**
+   * Upsert statement syntax
+   *
+   * @return the syntax
+   */
+  default UpsertSyntax upsertSyntax() {
+    return UpsertSyntax.MERGE;
+  }
+
+  /**
+   * Bulk update statement syntax
+   *
+   * @return the syntax
+   */
+  default BulkUpdateSyntax bulkUpdateSyntax() {
+    return BulkUpdateSyntax.CASE;
+  }
+
+  /**
+   * Chunked deletion statement syntax
+   *
+   * @return the syntax
+   */
+  default DeleteChunkSyntax deleteChunkSyntax() {
+    return DeleteChunkSyntax.SUBQUERY;
+  }
+
+}
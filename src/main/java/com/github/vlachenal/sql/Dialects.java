@@ -0,0 +1,204 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+
+/**
+ * Built-in SQL dialects (see {@link Dialect})
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public enum Dialects implements Dialect {
+
+  /** Standard SQL: {@code OFFSET ... FETCH FIRST}, {@code MERGE}, {@code CASE} bulk update */
+  STANDARD,
+
+  /** PostgreSQL: {@code LIMIT}, arrays, {@code ON CONFLICT}, {@code UPDATE ... FROM (VALUES ...)} */
+  POSTGRESQL {
+    @Override
+    public String paginate(final long limit, final long offset) {
+      return limitOffset(limit, offset);
+    }
+
+    @Override
+    public String arrayType(final Class<?> valueType) {
+      return typeName(valueType, "varchar", "bigint", "integer", "smallint", "float8", "numeric", "boolean", "uuid");
+    }
+
+    @Override
+    public UpsertSyntax upsertSyntax() {
+      return UpsertSyntax.ON_CONFLICT;
+    }
+
+    @Override
+    public BulkUpdateSyntax bulkUpdateSyntax() {
+      return BulkUpdateSyntax.VALUES_JOIN;
+    }
+  },
+
+  /** H2: {@code LIMIT}, arrays, {@code MERGE}, {@code DELETE ... LIMIT} */
+  H2 {
+    @Override
+    public String paginate(final long limit, final long offset) {
+      return limitOffset(limit, offset);
+    }
+
+    @Override
+    public String arrayType(final Class<?> valueType) {
+      return typeName(valueType, "VARCHAR", "BIGINT", "INTEGER", "SMALLINT", "DOUBLE PRECISION", "NUMERIC", "BOOLEAN", "UUID");
+    }
+
+    @Override
+    public DeleteChunkSyntax deleteChunkSyntax() {
+      return DeleteChunkSyntax.LIMIT;
+    }
+  },
+
+  /** MySQL and MariaDB: {@code LIMIT}, backtick quotes, {@code ON DUPLICATE KEY}, {@code DELETE ... LIMIT} */
+  MYSQL {
+    @Override
+    public String paginate(final long limit, final long offset) {
+      return limitOffset(limit, offset);
+    }
+
+    @Override
+    public String quote(final String identifier) {
+      return '`' + identifier.replace("`", "``") + '`';
+    }
+
+    @Override
+    public UpsertSyntax upsertSyntax() {
+      return UpsertSyntax.ON_DUPLICATE_KEY;
+    }
+
+    @Override
+    public DeleteChunkSyntax deleteChunkSyntax() {
+      return DeleteChunkSyntax.LIMIT;
+    }
+  },
+
+  /**
+   * Oracle (12c and later): {@code FETCH FIRST}, 1000 values per {@code IN} list,
+   * one row per {@code INSERT} (multi-row {@code VALUES} needs 23c), {@code MERGE}
+   * from {@code dual}, {@code ROWNUM} deletion
+   */
+  ORACLE {
+    @Override
+    public int maxInList() {
+      return 1000;
+    }
+
+    @Override
+    public int maxInsertRows() {
+      return 1;
+    }
+
+    @Override
+    public boolean supportsRowValues() {
+      return false;
+    }
+
+    @Override
+    public UpsertSyntax upsertSyntax() {
+      return UpsertSyntax.MERGE_FROM_DUAL;
+    }
+
+    @Override
+    public DeleteChunkSyntax deleteChunkSyntax() {
+      return DeleteChunkSyntax.ROWNUM;
+    }
+  },
+
+  /**
+   * SQL Server (2012 and later): {@code OFFSET ... FETCH NEXT} (query has to be ordered),
+   * 2100 prepared statement values, 1000 rows per {@code INSERT}, bracket quotes,
+   * {@code MERGE}, {@code DELETE TOP}
+   */
+  SQL_SERVER {
+    @Override
+    public String paginate(final long limit, final long offset) {
+      return " OFFSET " + Math.max(offset, 0) + " ROWS FETCH NEXT " + limit + " ROWS ONLY";
+    }
+
+    @Override
+    public int maxParams() {
+      return 2100;
+    }
+
+    @Override
+    public int maxInsertRows() {
+      return 1000;
+    }
+
+    @Override
+    public boolean supportsRowValues() {
+      return false;
+    }
+
+    @Override
+    public String quote(final String identifier) {
+      return '[' + identifier.replace("]", "]]") + ']';
+    }
+
+    @Override
+    public DeleteChunkSyntax deleteChunkSyntax() {
+      return DeleteChunkSyntax.TOP;
+    }
+  };
+
+  // Methods +
+  /**
+   * Render {@code LIMIT n OFFSET m} command
+   *
+   * @param limit the maximum number of rows
+   * @param offset the number of rows to skip ({@code 0} for none)
+   *
+   * @return the pagination command
+   */
+  private static String limitOffset(final long limit, final long offset) {
+    return offset > 0 ? " LIMIT " + limit + " OFFSET " + offset : " LIMIT " + limit;
+  }
+
+  /**
+   * Retrieve the SQL array type name of values' type
+   *
+   * @param valueType the values' type
+   * @param names {@link String}, {@link Long}, {@link Integer}, {@link Short}, {@link Double},
+   *        {@link BigDecimal}, {@link Boolean} and {@link UUID} type names
+   *
+   * @return the type name or {@code null} for other types
+   */
+  private static String typeName(final Class<?> valueType, final String... names) {
+    final Class<?>[] types = { String.class, Long.class, Integer.class, Short.class, Double.class, BigDecimal.class, Boolean.class, UUID.class };
+    for(int i = 0 ; i < types.length ; ++i) {
+      if(types[i] == valueType) {
+        return names[i];
+      }
+    }
+    return null;
+  }
+  // Methods -
+
+}
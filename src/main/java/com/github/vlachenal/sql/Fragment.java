@@ -0,0 +1,593 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+import java.util.Arrays;
+
+
+/**
+ * SQL query fragment.<br>
+ * <br>
+ * A fragment holds its own text and prepared statement values and references to
+ * other fragments (nested clauses, subqueries, ...) instead of copying their text
+ * and values. The whole tree is rendered once, when the query is built, into a
+ * buffer and a values' array sized up front.<br>
+ * Fragment is append only: a reference records the linked fragment state at link
+ * time so that later additions to the linked fragment are not rendered in this one.
+ * A reference can also be restricted to a part of the linked fragment: this is
+ * used to insert content in a query without rewriting it.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+final class Fragment {
+
+  // Constants +
+  /** Default text capacity */
+  private static final int DEFAULT_CAPACITY = 16;
+
+  /** Default values capacity (allocated on first value) */
+  private static final int DEFAULT_PARAMS_CAPACITY = 10;
+
+  /** No value */
+  private static final Object[] NO_PARAMS = {};
+
+  /** No value type */
+  private static final int[] NO_TYPES = {};
+
+  /** No text */
+  private static final char[] NO_CHARS = {};
+
+  /**
+   * Link data size: text anchor, text start, links start, text end, links end, length,
+   * values anchor, values start, values end, number of values
+   */
+  private static final int LINK_SIZE = 10;
+
+  /** Render state size: text position, next link, text end, links end */
+  private static final int STATE_SIZE = 4;
+  // Constants -
+
+
+  // Attributes +
+  /** Own text */
+  private char[] chars;
+
+  /** Own text size */
+  private int count;
+
+  /** Linked fragments */
+  private Fragment[] children;
+
+  /** Linked fragments' data (see {@link #LINK_SIZE}) */
+  private int[] links;
+
+  /** Number of linked fragments */
+  private int linkCount;
+
+  /** Rendered length (own text and linked fragments) */
+  private int length;
+
+  /** Own values */
+  private Object[] params;
+
+  /** Own values' types (see {@link ValueTypes}) */
+  private int[] types;
+
+  /** Own primitive values' bits ({@code null} until the first primitive value) */
+  private long[] prims;
+
+  /** Fragment or one of its linked fragments holds primitive values */
+  private boolean primitives;
+
+  /** Own values size */
+  private int paramCount;
+
+  /** Number of values (own values and linked fragments' values) */
+  private int paramsLength;
+
+  /** Size hint to update with own text and values sizes (can be {@code null}) */
+  private final SizeHint hint;
+  // Attributes -
+
+
+  // Constructors +
+  /**
+   * {@link Fragment} default constructor
+   */
+  Fragment() {
+    this(DEFAULT_CAPACITY, 0, null);
+  }
+
+  /**
+   * {@link Fragment} constructor
+   *
+   * @param text the initial text
+   */
+  Fragment(final String text) {
+    this(text.length() + DEFAULT_CAPACITY, 0, null);
+    append(text);
+  }
+
+  /**
+   * {@link Fragment} constructor with own text and values capacities
+   *
+   * @param capacity the own text initial capacity
+   * @param paramsCapacity the own values initial capacity
+   * @param hint the size hint to update with own text and values sizes (can be {@code null})
+   */
+  Fragment(final int capacity, final int paramsCapacity, final SizeHint hint) {
+    chars = new char[Math.max(capacity, 0)];
+    if(paramsCapacity > 0) {
+      params = new Object[paramsCapacity];
+      types = new int[paramsCapacity];
+    } else {
+      params = NO_PARAMS;
+      types = NO_TYPES;
+    }
+    this.hint = hint;
+  }
+
+  /**
+   * {@link Fragment} values only segment constructor
+   *
+   * @param values the values
+   * @param valueTypes the values' types
+   * @param primValues the primitive values' bits (can be {@code null})
+   */
+  private Fragment(final Object[] values, final int[] valueTypes, final long[] primValues) {
+    chars = NO_CHARS;
+    params = values;
+    types = valueTypes;
+    prims = primValues;
+    primitives = primValues != null;
+    paramCount = values.length;
+    paramsLength = values.length;
+    hint = null;
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * Append text
+   *
+   * @param text the text to append
+   *
+   * @return {@code this}
+   */
+  Fragment append(final String text) {
+    final String str = String.valueOf(text);
+    final int len = str.length();
+    ensureCapacity(count + len);
+    str.getChars(0, len, chars, count);
+    count += len;
+    length += len;
+    return this;
+  }
+
+  /**
+   * Append character
+   *
+   * @param c the character to append
+   *
+   * @return {@code this}
+   */
+  Fragment append(final char c) {
+    ensureCapacity(count + 1);
+    chars[count++] = c;
+    ++length;
+    return this;
+  }
+
+  /**
+   * Append number
+   *
+   * @param value the number to append
+   *
+   * @return {@code this}
+   */
+  Fragment append(final long value) {
+    return append(Long.toString(value));
+  }
+
+  /**
+   * Add prepared statement value at the current position
+   *
+   * @param value the value
+   *
+   * @return {@code this}
+   */
+  Fragment add(final Object value) {
+    return add(value, ValueTypes.of(value));
+  }
+
+  /**
+   * Add prepared statement value at the current position
+   *
+   * @param value the value
+   * @param type the value type (see {@link ValueTypes})
+   *
+   * @return {@code this}
+   */
+  Fragment add(final Object value, final int type) {
+    if(paramCount == params.length) {
+      final int capacity = Math.max(DEFAULT_PARAMS_CAPACITY, paramCount << 1);
+      params = Arrays.copyOf(params, capacity);
+      types = Arrays.copyOf(types, capacity);
+      if(prims != null) {
+        prims = Arrays.copyOf(prims, capacity);
+      }
+    }
+    params[paramCount] = value;
+    types[paramCount++] = type;
+    ++paramsLength;
+    if(hint != null) {
+      hint.params(paramCount);
+    }
+    return this;
+  }
+
+  /**
+   * Add primitive prepared statement value at the current position.<br>
+   * Value is stored as is: it is not boxed.
+   *
+   * @param bits the value bits ({@code double} values are stored with {@link Double#doubleToRawLongBits(double)})
+   * @param type the primitive value type (see {@link ValueTypes})
+   *
+   * @return {@code this}
+   */
+  Fragment addPrimitive(final long bits, final int type) {
+    add(null, type);
+    if(prims == null) {
+      prims = new long[params.length];
+    }
+    prims[paramCount - 1] = bits;
+    primitives = true;
+    return this;
+  }
+
+  /**
+   * Link query prepared statement values at the current position.<br>
+   * Values are not copied: they are linked as a values only segment.
+   *
+   * @param query the query
+   *
+   * @return {@code this}
+   */
+  Fragment addAll(final SQLQuery query) {
+    final Object[] values = query.valuesArray();
+    if(values.length != 0) {
+      link(new Fragment(values, query.typesArray(), query.primitivesArray()), 0, 0, 0, 0, 0, values.length, 0, values.length);
+    }
+    return this;
+  }
+
+  /**
+   * Link other fragment at the current position.<br>
+   * Other fragment will not be copied: only its current state is recorded.
+   *
+   * @param other the fragment to link
+   *
+   * @return {@code this}
+   */
+  Fragment append(final Fragment other) {
+    if(other.length != 0 || other.paramsLength != 0) {
+      link(other, 0, 0, 0, other.count, other.linkCount, other.paramCount, other.length, other.paramsLength);
+    }
+    return this;
+  }
+
+  /**
+   * Link part of other fragment at the current position.<br>
+   * Other fragment will not be copied: only the part bounds are recorded.
+   *
+   * @param other the fragment to link
+   * @param textStart the other fragment text start
+   * @param linksStart the other fragment first link
+   * @param paramsStart the other fragment first value
+   * @param textEnd the other fragment text end
+   * @param linksEnd the other fragment links end
+   * @param paramsEnd the other fragment values end
+   *
+   * @return {@code this}
+   */
+  Fragment append(final Fragment other, final int textStart, final int linksStart, final int paramsStart,
+                  final int textEnd, final int linksEnd, final int paramsEnd) {
+    int len = textEnd - textStart;
+    int nbParams = paramsEnd - paramsStart;
+    for(int i = linksStart ; i < linksEnd ; ++i) {
+      len += other.links[i * LINK_SIZE + 5];
+      nbParams += other.links[i * LINK_SIZE + 9];
+    }
+    if(len != 0 || nbParams != 0) {
+      link(other, textStart, linksStart, paramsStart, textEnd, linksEnd, paramsEnd, len, nbParams);
+    }
+    return this;
+  }
+
+  /**
+   * Add link to other fragment at the current position
+   *
+   * @param other the fragment to link
+   * @param textStart the other fragment text start
+   * @param linksStart the other fragment first link
+   * @param paramsStart the other fragment first value
+   * @param textEnd the other fragment text end
+   * @param linksEnd the other fragment links end
+   * @param paramsEnd the other fragment values end
+   * @param len the linked part length
+   * @param nbParams the linked part number of values
+   */
+  private void link(final Fragment other, final int textStart, final int linksStart, final int paramsStart,
+                    final int textEnd, final int linksEnd, final int paramsEnd, final int len, final int nbParams) {
+    if(children == null) {
+      children = new Fragment[4];
+      links = new int[4 * LINK_SIZE];
+    } else if(linkCount == children.length) {
+      children = Arrays.copyOf(children, linkCount << 1);
+      links = Arrays.copyOf(links, (linkCount << 1) * LINK_SIZE);
+    }
+    children[linkCount] = other;
+    final int idx = linkCount * LINK_SIZE;
+    links[idx] = count;
+    links[idx + 1] = textStart;
+    links[idx + 2] = linksStart;
+    links[idx + 3] = textEnd;
+    links[idx + 4] = linksEnd;
+    links[idx + 5] = len;
+    links[idx + 6] = paramCount;
+    links[idx + 7] = paramsStart;
+    links[idx + 8] = paramsEnd;
+    links[idx + 9] = nbParams;
+    ++linkCount;
+    length += len;
+    paramsLength += nbParams;
+    primitives |= other.primitives;
+  }
+
+  /**
+   * Own text size: position of the next appended character
+   *
+   * @return the own text size
+   */
+  int textSize() {
+    return count;
+  }
+
+  /**
+   * Number of linked fragments: index of the next link
+   *
+   * @return the number of links
+   */
+  int linkSize() {
+    return linkCount;
+  }
+
+  /**
+   * Own values size: position of the next added value
+   *
+   * @return the own values size
+   */
+  int paramSize() {
+    return paramCount;
+  }
+
+  /**
+   * Rendered length
+   *
+   * @return the length
+   */
+  int length() {
+    return length;
+  }
+
+  /**
+   * Number of values (own values and linked fragments' values)
+   *
+   * @return the number of values
+   */
+  int paramsLength() {
+    return paramsLength;
+  }
+
+  /**
+   * Check if fragment or one of its linked fragments holds primitive values
+   *
+   * @return {@code true} if primitive values have been added, {@code false} otherwise
+   */
+  boolean hasPrimitives() {
+    return primitives;
+  }
+
+  /**
+   * Remove text and links
+   */
+  void clear() {
+    if(children != null) {
+      Arrays.fill(children, 0, linkCount, null);
+    }
+    Arrays.fill(params, 0, paramCount, null);
+    count = 0;
+    linkCount = 0;
+    length = 0;
+    paramCount = 0;
+    paramsLength = 0;
+    primitives = false;
+  }
+
+  /**
+   * Render fragment
+   *
+   * @param out the output buffer
+   */
+  void renderTo(final StringBuilder out) {
+    if(linkCount == 0) {
+      out.append(chars, 0, count);
+    } else {
+      render(out, this, count, linkCount);
+    }
+  }
+
+  /**
+   * Render fragment tree in output buffer.<br>
+   * Tree is walked with an explicit stack to support deeply nested clauses. Each
+   * stack entry holds the text position, the next link, the text end and the links end.
+   *
+   * @param out the output buffer
+   * @param root the root fragment
+   * @param textEnd the root text end
+   * @param linksEnd the root links end
+   */
+  private static void render(final StringBuilder out, final Fragment root, final int textEnd, final int linksEnd) {
+    Fragment[] frags = new Fragment[8];
+    int[] states = new int[8 * STATE_SIZE];
+    int depth = 0;
+    frags[0] = root;
+    states[2] = textEnd;
+    states[3] = linksEnd;
+    while(depth >= 0) {
+      final Fragment frag = frags[depth];
+      final int state = depth * STATE_SIZE;
+      final int link = states[state + 1];
+      if(link < states[state + 3]) {
+        final int data = link * LINK_SIZE;
+        final int anchor = frag.links[data];
+        out.append(frag.chars, states[state], anchor - states[state]);
+        states[state] = anchor;
+        states[state + 1] = link + 1;
+        if(++depth == frags.length) {
+          frags = Arrays.copyOf(frags, depth << 1);
+          states = Arrays.copyOf(states, (depth << 1) * STATE_SIZE);
+        }
+        frags[depth] = frag.children[link];
+        System.arraycopy(frag.links, data + 1, states, depth * STATE_SIZE, STATE_SIZE);
+      } else {
+        out.append(frag.chars, states[state], states[state + 2] - states[state]);
+        frags[depth--] = null;
+      }
+    }
+  }
+
+  /**
+   * Collect values of the fragment tree and their types
+   *
+   * @param values the values output array sized with {@link #paramsLength()}
+   * @param valueTypes the types output array sized with {@link #paramsLength()}
+   * @param primValues the primitive values output array sized with {@link #paramsLength()}
+   *        ({@code null} if there is no primitive value)
+   */
+  void collect(final Object[] values, final int[] valueTypes, final long[] primValues) {
+    if(linkCount == 0) {
+      System.arraycopy(params, 0, values, 0, paramCount);
+      System.arraycopy(types, 0, valueTypes, 0, paramCount);
+      if(prims != null && primValues != null) {
+        System.arraycopy(prims, 0, primValues, 0, paramCount);
+      }
+    } else {
+      collect(values, valueTypes, primValues, this, paramCount, linkCount);
+    }
+  }
+
+  /**
+   * Collect values of the fragment tree in output array.<br>
+   * Tree is walked as in {@link #render(StringBuilder, Fragment, int, int)}. Each
+   * stack entry holds the value position, the next link, the values end and the links end.
+   *
+   * @param out the values output array
+   * @param outTypes the types output array
+   * @param outPrims the primitive values output array (can be {@code null})
+   * @param root the root fragment
+   * @param paramsEnd the root values end
+   * @param linksEnd the root links end
+   */
+  private static void collect(final Object[] out, final int[] outTypes, final long[] outPrims, final Fragment root, final int paramsEnd, final int linksEnd) {
+    Fragment[] frags = new Fragment[8];
+    int[] states = new int[8 * STATE_SIZE];
+    int depth = 0;
+    int pos = 0;
+    frags[0] = root;
+    states[2] = paramsEnd;
+    states[3] = linksEnd;
+    while(depth >= 0) {
+      final Fragment frag = frags[depth];
+      final int state = depth * STATE_SIZE;
+      final int link = states[state + 1];
+      if(link < states[state + 3]) {
+        final int data = link * LINK_SIZE;
+        final int anchor = frag.links[data + 6];
+        System.arraycopy(frag.params, states[state], out, pos, anchor - states[state]);
+        System.arraycopy(frag.types, states[state], outTypes, pos, anchor - states[state]);
+        if(frag.prims != null && outPrims != null) {
+          System.arraycopy(frag.prims, states[state], outPrims, pos, anchor - states[state]);
+        }
+        pos += anchor - states[state];
+        states[state] = anchor;
+        states[state + 1] = link + 1;
+        if(++depth == frags.length) {
+          frags = Arrays.copyOf(frags, depth << 1);
+          states = Arrays.copyOf(states, (depth << 1) * STATE_SIZE);
+        }
+        frags[depth] = frag.children[link];
+        final int child = depth * STATE_SIZE;
+        states[child] = frag.links[data + 7];
+        states[child + 1] = frag.links[data + 2];
+        states[child + 2] = frag.links[data + 8];
+        states[child + 3] = frag.links[data + 4];
+      } else {
+        System.arraycopy(frag.params, states[state], out, pos, states[state + 2] - states[state]);
+        System.arraycopy(frag.types, states[state], outTypes, pos, states[state + 2] - states[state]);
+        if(frag.prims != null && outPrims != null) {
+          System.arraycopy(frag.prims, states[state], outPrims, pos, states[state + 2] - states[state]);
+        }
+        pos += states[state + 2] - states[state];
+        frags[depth--] = null;
+      }
+    }
+  }
+
+  /**
+   * Ensure own text capacity
+   *
+   * @param capacity the minimum capacity
+   */
+  private void ensureCapacity(final int capacity) {
+    if(capacity > chars.length) {
+      chars = Arrays.copyOf(chars, Math.max(capacity, (chars.length << 1) + 2));
+    }
+    if(hint != null) { // Learn used characters, not allocated ones
+      hint.chars(capacity);
+    }
+  }
+
+  /**
+   * Render fragment.<br>
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+    final StringBuilder out = new StringBuilder(length);
+    renderTo(out);
+    return out.toString();
+  }
+  // Methods -
+
+}
@@ -38,7 +38,9 @@ public class FromBuilder extends AbstractPartBuilder {
    */
   public FromBuilder(final SelectBuilder select, final String table) {
     super(select);
+    select.endFields();
     select.buffer.append(" FROM ").append(table);
+    select.endFrom();
   }
 
   /**
@@ -49,8 +51,10 @@ public class FromBuilder extends AbstractPartBuilder {
    */
   public FromBuilder(final SelectBuilder select, final SelectBuilder subquery) {
     super(select);
-    select.buffer.append(" FROM (").append(subquery).append(')');
-    select.values.addAll(subquery.values);
+    select.endFields();
+    select.buffer.append(" FROM (").append(subquery.buffer).append(')');
+    select.shape = ShapeCache.append(select.shape, subquery.shape);
+    select.endFrom();
   }
 
   /**
@@ -61,8 +65,11 @@ public class FromBuilder extends AbstractPartBuilder {
    */
   public FromBuilder(final SelectBuilder select, final SQLQuery subquery) {
     super(select);
+    select.endFields();
     select.buffer.append(" FROM (").append(subquery.getQuery()).append(')');
-    select.values.addAll(subquery.getValues());
+    select.buffer.addAll(subquery);
+    select.shape = ShapeCache.DYNAMIC;
+    select.endFrom();
   }
 
   /**
@@ -75,6 +82,7 @@ public class FromBuilder extends AbstractPartBuilder {
   public FromBuilder(final SelectBuilder select, final SelectBuilder subquery, final String alias) {
     this(select, subquery);
     select.buffer.append(' ').append(alias);
+    select.endFrom();
   }
 
   /**
@@ -87,6 +95,7 @@ public class FromBuilder extends AbstractPartBuilder {
   public FromBuilder(final SelectBuilder select, final SQLQuery subquery, final String alias) {
     this(select, subquery);
     select.buffer.append(' ').append(alias);
+    select.endFrom();
   }
   // Constructors -
 
@@ -101,6 +110,7 @@ public class FromBuilder extends AbstractPartBuilder {
    */
   public FromBuilder selfJoin(final String table) {
     select.buffer.append(',').append(table);
+    select.endFrom();
     return this;
   }
 
@@ -455,6 +465,7 @@ public class FromBuilder extends AbstractPartBuilder {
    */
   public FromBuilder naturalJoin(final String table) {
     select.buffer.append(" NATURAL JOIN ").append(table);
+    select.endFrom();
     return this;
   }
 
@@ -493,6 +504,7 @@ public class FromBuilder extends AbstractPartBuilder {
    */
   public FromBuilder crossJoin(final String table) {
     select.buffer.append(" CROSS JOIN ").append(table);
+    select.endFrom();
     return this;
   }
 
@@ -530,8 +542,9 @@ public class FromBuilder extends AbstractPartBuilder {
    * @param alias the 'table' alias
    */
   private void addJoin(final String join, final SelectBuilder subquery, final String alias) {
-    select.buffer.append(join).append('(').append(subquery).append(") ").append(alias);
-    select.values.addAll(subquery.values);
+    select.buffer.append(join).append('(').append(subquery.buffer).append(") ").append(alias);
+    select.shape = ShapeCache.append(select.shape, subquery.shape);
+    select.endFrom();
   }
 
   /**
@@ -543,7 +556,9 @@ public class FromBuilder extends AbstractPartBuilder {
    */
   private void addJoin(final String join, final SQLQuery subquery, final String alias) {
     select.buffer.append(join).append('(').append(subquery.getQuery()).append(") ").append(alias);
-    select.values.addAll(subquery.getValues());
+    select.buffer.addAll(subquery);
+    select.shape = ShapeCache.DYNAMIC;
+    select.endFrom();
   }
 
   /**
@@ -554,10 +569,12 @@ public class FromBuilder extends AbstractPartBuilder {
    * @param clauses the join clauses
    */
   private void addJoin(final String join, final String table, final ClausesBuilder clauses) {
+    select.shape = ShapeCache.append(select.shape, !clauses.firstClause);
     if(!clauses.firstClause) {
       select.buffer.append(join).append(table).append(" ON ").append(clauses.buffer);
-      select.values.addAll(clauses.values);
+      select.shape = ShapeCache.append(select.shape, clauses.shape);
     }
+    select.endFrom();
   }
 
   /**
@@ -569,11 +586,12 @@ public class FromBuilder extends AbstractPartBuilder {
    * @param clauses the join clauses
    */
   private void addJoin(final String join, final SelectBuilder subquery, final String alias, final ClausesBuilder clauses) {
+    select.shape = ShapeCache.append(select.shape, !clauses.firstClause);
     if(!clauses.firstClause) {
-      select.buffer.append(join).append('(').append(subquery).append(") ").append(alias).append(" ON ").append(clauses.buffer);
-      select.values.addAll(subquery.values);
-      select.values.addAll(clauses.values);
+      select.buffer.append(join).append('(').append(subquery.buffer).append(") ").append(alias).append(" ON ").append(clauses.buffer);
+      select.shape = ShapeCache.append(ShapeCache.append(select.shape, subquery.shape), clauses.shape);
     }
+    select.endFrom();
   }
 
   /**
@@ -585,11 +603,14 @@ public class FromBuilder extends AbstractPartBuilder {
    * @param clauses the join clauses
    */
   private void addJoin(final String join, final SQLQuery subquery, final String alias, final ClausesBuilder clauses) {
+    select.shape = ShapeCache.append(select.shape, !clauses.firstClause);
     if(!clauses.firstClause) {
-      select.buffer.append(join).append('(').append(subquery.getQuery()).append(") ").append(alias).append(" ON ").append(clauses.buffer);
-      select.values.addAll(subquery.getValues());
-      select.values.addAll(clauses.values);
+      select.buffer.append(join).append('(').append(subquery.getQuery()).append(") ").append(alias);
+      select.buffer.addAll(subquery);
+      select.buffer.append(" ON ").append(clauses.buffer);
+      select.shape = ShapeCache.DYNAMIC;
     }
+    select.endFrom();
   }
 
   /**
@@ -600,10 +621,7 @@ public class FromBuilder extends AbstractPartBuilder {
    * @return the {@link SelectBuilder}
    */
   public SelectBuilder where(final ClausesBuilder clauses) {
-    if(!clauses.firstClause) { // which means that at least one clause has been added
-      select.buffer.append(" WHERE ").append(clauses.buffer);
-      select.values.addAll(clauses.values);
-    }
+    select.where(clauses);
     return select;
   }
   // Methods -
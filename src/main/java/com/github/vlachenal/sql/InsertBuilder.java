@@ -0,0 +1,428 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+
+/**
+ * SQL {@code INSERT} request builder.<br>
+ * This class should be instantiated through {@link SQL} static method.<br>
+ * <br>
+ * Builder inserts one row with {@link #field(String, Object)} or several rows with
+ * {@link #columns(String...)} and {@link #row(Object...)}. Rows are packed in
+ * {@code VALUES (...), (...)} statements: {@link #buildAll()} splits them in several
+ * statements so that each statement has at most {@link #maxParams(int)} values.
+ * <pre>
+ * final List&lt;SQLQuery&gt; queries = SQL.insert("Heroes").columns("first_name", "last_name", "age")
+ *     .row("Indiana", "Jones", 45)
+ *     .row("Lara", "Croft", 28)
+ *     .buildAll();
+ * </pre>
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public class InsertBuilder {
+
+  // Constants +
+  /** Default maximum number of prepared statement values per statement (PostgreSQL limit) */
+  public static final int DEFAULT_MAX_PARAMS = 65535;
+  // Constants -
+
+
+  // Attributes +
+  /** Columns */
+  final List<String> columns = new ArrayList<>();
+
+  /** Rows' prepared statement values */
+  final Fragment values;
+
+  /** Query shape (see {@link ShapeCache}) */
+  long shape = ShapeCache.EMPTY;
+
+  /** The table to insert into */
+  final String table;
+
+  /** Number of columns */
+  int width;
+
+  /** Number of rows (multi-row mode) */
+  int rows;
+
+  /** Multi-row mode: columns have been set with {@link #columns(String...)} */
+  boolean multi;
+
+  /** Maximum number of prepared statement values per statement */
+  private int maxParams = DEFAULT_MAX_PARAMS;
+
+  /** Maximum number of rows per statement ({@code 0} for no limit) */
+  private int maxRows;
+  // Attributes -
+
+
+  // Constructors +
+  /**
+   * {@link InsertBuilder} constructor
+   *
+   * @param table the table to insert into
+   */
+  public InsertBuilder(final String table) {
+    values = new Fragment();
+    this.table = table;
+    dialect(SQL.getDialect());
+  }
+
+  /**
+   * {@link InsertBuilder} constructor with adaptive size hint.<br>
+   * Builder is sized with the hint and the hint learns the size reached by this builder.
+   *
+   * @param table the table to insert into
+   * @param hint the call site size hint
+   */
+  public InsertBuilder(final String table, final SizeHint hint) {
+    values = new Fragment(hint.getChars(), hint.getParams(), hint);
+    this.table = table;
+    dialect(SQL.getDialect());
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * Reset builder to its initial state keeping its allocated capacity
+   *
+   * @return {@code this}
+   */
+  public InsertBuilder reset() {
+    columns.clear();
+    values.clear();
+    shape = ShapeCache.EMPTY;
+    width = 0;
+    rows = 0;
+    multi = false;
+    return dialect(SQL.getDialect());
+  }
+
+  /**
+   * Set the maximum number of prepared statement values and rows per statement with
+   * the SQL dialect limits (see {@link Dialect#maxParams()} and {@link Dialect#maxInsertRows()})
+   *
+   * @param sqlDialect the dialect ({@code null} for default limits)
+   *
+   * @return {@code this}
+   */
+  public InsertBuilder dialect(final Dialect sqlDialect) {
+    maxParams = sqlDialect == null ? DEFAULT_MAX_PARAMS : sqlDialect.maxParams();
+    maxRows = sqlDialect == null ? 0 : sqlDialect.maxInsertRows();
+    return this;
+  }
+
+  /**
+   * Set the maximum number of prepared statement values per statement.<br>
+   * Database engines limit this number: 65535 for PostgreSQL (default), 2100 for
+   * SQL Server...
+   *
+   * @param max the maximum number of values
+   *
+   * @return {@code this}
+   */
+  public InsertBuilder maxParams(final int max) {
+    if(max < 1) {
+      throw new IllegalArgumentException("Maximum number of values has to be positive: " + max);
+    }
+    maxParams = max;
+    return this;
+  }
+
+  /**
+   * Add field to insert.<br>
+   * Value will be added as prepared statement value (with '?' wildcard).
+   *
+   * @param column the column
+   * @param value the value
+   *
+   * @return {@code this}
+   */
+  public InsertBuilder field(final String column, final Object value) {
+    return addField(column, value, ValueTypes.of(value));
+  }
+
+  /**
+   * Add field to insert.<br>
+   * Value will be added as prepared statement value (with '?' wildcard). {@code null}
+   * value will be bound with {@code setNull} and this SQL type.
+   *
+   * @param column the column
+   * @param value the value
+   * @param sqlType the column SQL type (see {@link java.sql.Types})
+   *
+   * @return {@code this}
+   */
+  public InsertBuilder field(final String column, final Object value, final int sqlType) {
+    return addField(column, value, value == null ? ValueTypes.nullOf(sqlType) : ValueTypes.of(value));
+  }
+
+  /**
+   * Add field to insert.<br>
+   * Field is not inserted when value is empty: column will hold its default value.
+   *
+   * @param column the column
+   * @param value the value
+   *
+   * @return {@code this}
+   */
+  public InsertBuilder field(final String column, final Optional<?> value) {
+    shape = ShapeCache.append(shape, value.isPresent());
+    value.ifPresent(o -> field(column, o));
+    return this;
+  }
+
+  /**
+   * Add field to insert
+   *
+   * @param column the column
+   * @param value the value
+   * @param type the value type (see {@link ValueTypes})
+   *
+   * @return {@code this}
+   */
+  private InsertBuilder addField(final String column, final Object value, final int type) {
+    if(multi) {
+      throw new IllegalStateException("Fields can not be added to multi-row insert");
+    }
+    columns.add(column);
+    values.add(value, type);
+    ++width;
+    return this;
+  }
+
+  /**
+   * Set columns for multi-row insert
+   *
+   * @param names the columns
+   *
+   * @return {@code this}
+   */
+  public InsertBuilder columns(final String... names) {
+    if(width != 0) {
+      throw new IllegalStateException("Columns have already been set");
+    }
+    if(names.length == 0) {
+      throw new IllegalArgumentException("At least one column is needed");
+    }
+    Collections.addAll(columns, names);
+    width = names.length;
+    multi = true;
+    shape = ShapeCache.DYNAMIC; // Query depends on the number of rows
+    return this;
+  }
+
+  /**
+   * Add row for multi-row insert
+   *
+   * @param row the row values in columns' order
+   *
+   * @return {@code this}
+   */
+  public InsertBuilder row(final Object... row) {
+    if(!multi) {
+      throw new IllegalStateException("Columns have to be set before adding rows");
+    }
+    if(row.length != width) {
+      throw new IllegalArgumentException("Expected " + width + " values but got " + row.length);
+    }
+    for(final Object value : row) {
+      values.add(value);
+    }
+    ++rows;
+    return this;
+  }
+
+  /**
+   * Number of rows
+   *
+   * @return the number of rows
+   */
+  int rowCount() {
+    return multi ? rows : 1;
+  }
+
+  /**
+   * Maximum number of rows per statement
+   *
+   * @param rowsLimit the maximum number of rows ({@code 0} for no limit)
+   *
+   * @return the number of rows
+   */
+  int rowsPerStatement(final int rowsLimit) {
+    final int nbRows = Math.max(1, maxParams / width);
+    return rowsLimit == 0 ? nbRows : Math.min(nbRows, rowsLimit);
+  }
+
+  /**
+   * Render {@code INSERT} statement text
+   *
+   * @param out the output buffer
+   * @param nbRows the number of rows
+   */
+  void renderInsert(final StringBuilder out, final int nbRows) {
+    out.append("INSERT INTO ").append(table).append(" (");
+    renderColumns(out, null);
+    out.append(") VALUES ");
+    renderRows(out, nbRows);
+  }
+
+  /**
+   * Render columns' list
+   *
+   * @param out the output buffer
+   * @param prefix the columns' prefix (can be {@code null})
+   */
+  void renderColumns(final StringBuilder out, final String prefix) {
+    for(int i = 0 ; i < width ; ++i) {
+      if(i != 0) {
+        out.append(", ");
+      }
+      if(prefix != null) {
+        out.append(prefix);
+      }
+      out.append(columns.get(i));
+    }
+  }
+
+  /**
+   * Render rows' placeholders
+   *
+   * @param out the output buffer
+   * @param nbRows the number of rows
+   */
+  void renderRows(final StringBuilder out, final int nbRows) {
+    for(int i = 0 ; i < nbRows ; ++i) {
+      out.append(i == 0 ? "(?" : ", (?");
+      for(int j = 1 ; j < width ; ++j) {
+        out.append(", ?");
+      }
+      out.append(')');
+    }
+  }
+
+  /**
+   * Render statement text
+   *
+   * @param nbRows the number of rows
+   *
+   * @return the statement
+   */
+  String render(final int nbRows) {
+    final StringBuilder out = new StringBuilder(32 + table.length() + width * 16 + nbRows * width * 3);
+    renderInsert(out, nbRows);
+    return out.toString();
+  }
+
+  /**
+   * Check that there is something to insert
+   */
+  void check() {
+    if(width == 0 || multi && rows == 0) {
+      throw new IllegalStateException("There is nothing to insert");
+    }
+  }
+
+  /**
+   * Build SQL query.<br>
+   * Every row is inserted by this query whatever the number of values.
+   *
+   * @return the query and its prepared statement values
+   */
+  public SQLQuery build() {
+    check();
+    return new SQLQuery(render(rowCount()), values);
+  }
+
+  /**
+   * Build SQL query sharing the rendered query string with every query of the same shape.<br>
+   * Multi-row queries are never cached.
+   *
+   * @param cache the query template shape cache
+   *
+   * @return the query and its prepared statement values
+   */
+  public SQLQuery build(final ShapeCache cache) {
+    check();
+    if(shape == ShapeCache.DYNAMIC) {
+      return build();
+    }
+    return new SQLQuery(cache.query(shape, () -> render(1)), values);
+  }
+
+  /**
+   * Build SQL queries splitting rows so that each query has at most {@link #maxParams(int)}
+   * values (and the dialect maximum number of rows). Full queries share the same query string.
+   *
+   * @return the queries and their prepared statement values
+   */
+  public List<SQLQuery> buildAll() {
+    check();
+    return buildAll(this::render, maxRows);
+  }
+
+  /**
+   * Build SQL queries splitting rows so that each query has at most {@link #maxParams(int)} values
+   *
+   * @param renderer the statement renderer for a number of rows
+   * @param rowsLimit the maximum number of rows per statement ({@code 0} for no limit)
+   *
+   * @return the queries and their prepared statement values
+   */
+  List<SQLQuery> buildAll(final IntFunction<String> renderer, final int rowsLimit) {
+    final int total = rowCount();
+    final int chunk = rowsPerStatement(rowsLimit);
+    if(total <= chunk) {
+      return Collections.singletonList(new SQLQuery(renderer.apply(total), values));
+    }
+    final List<SQLQuery> queries = new ArrayList<>(total / chunk + 1);
+    final String full = renderer.apply(chunk);
+    for(int start = 0 ; start < total ; start += chunk) {
+      final int nbRows = Math.min(chunk, total - start);
+      queries.add(new SQLQuery(nbRows == chunk ? full : renderer.apply(nbRows), rowsValues(start, nbRows)));
+    }
+    return queries;
+  }
+
+  /**
+   * Link rows' values
+   *
+   * @param start the first row
+   * @param nbRows the number of rows
+   *
+   * @return the values only fragment
+   */
+  private Fragment rowsValues(final int start, final int nbRows) {
+    return new Fragment(0, 0, null).append(values, 0, 0, start * width, 0, 0, (start + nbRows) * width);
+  }
+  // Methods -
+
+}
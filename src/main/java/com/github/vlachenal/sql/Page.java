@@ -0,0 +1,113 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Result page of a keyset paginated query.<br>
+ * <br>
+ * Query fetches one row more than the page size (see {@link SelectBuilder#fetchPage(long)}):
+ * this extra row is not part of the page, it only tells that there is a next page.
+ * Next page is requested with the order columns' values of the last row (see
+ * {@link SelectBuilder#seekAfter(String[], Object...)}).
+ *
+ * @param <T> the row type
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public final class Page<T> {
+
+  // Attributes +
+  /** Page rows */
+  private final List<T> rows;
+
+  /** There is a next page */
+  private final boolean more;
+  // Attributes -
+
+
+  // Constructors +
+  /**
+   * {@link Page} constructor
+   *
+   * @param rows the page rows
+   * @param more there is a next page
+   */
+  private Page(final List<T> rows, final boolean more) {
+    this.rows = rows;
+    this.more = more;
+  }
+  // Constructors -
+
+
+  // Accessors +
+  /**
+   * Page rows getter
+   *
+   * @return the page rows
+   */
+  public List<T> getRows() {
+    return rows;
+  }
+
+  /**
+   * Check if there is a next page
+   *
+   * @return {@code true} if there is a next page, {@code false} otherwise
+   */
+  public boolean hasMore() {
+    return more;
+  }
+
+  /**
+   * Last row getter: its order columns' values are the next page seek values
+   *
+   * @return the last row or {@code null} if page is empty
+   */
+  public T getLast() {
+    return rows.isEmpty() ? null : rows.get(rows.size() - 1);
+  }
+  // Accessors -
+
+
+  // Methods +
+  /**
+   * Create page from rows fetched with {@link SelectBuilder#fetchPage(long)}
+   *
+   * @param <T> the row type
+   *
+   * @param rows the fetched rows (page size + 1 at most)
+   * @param pageSize the page size
+   *
+   * @return the page without the extra row
+   */
+  public static <T> Page<T> of(final List<T> rows, final int pageSize) {
+    final boolean more = rows.size() > pageSize;
+    return new Page<>(Collections.unmodifiableList(more ? new ArrayList<>(rows.subList(0, pageSize)) : rows), more);
+  }
+  // Methods -
+
+}
@@ -0,0 +1,213 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Precompiled query template.<br>
+ * <br>
+ * Template declares a query once with all of its optional clauses. Binding values
+ * only checks them: valid values give the bitmask of the included clauses which
+ * identifies the query string. Each query string is rendered once, on the first
+ * request of its clauses' combination. No builder is used at request time:
+ * <pre>
+ * private static final QueryTemplate SEARCH = SQL.template("SELECT * FROM Heroes")
+ *     .and("id", Clauses::equalsTo)
+ *     .and("last_name", Clauses::like)
+ *     .and("gender", Clauses::equalsTo)
+ *     .suffix("ORDER BY id")
+ *     .build();
+ * ...
+ * final SQLQuery query = SEARCH.bind(req.id, req.lastName, req.gender);
+ * </pre>
+ * This class is thread safe: it is meant to be shared as a constant.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public final class QueryTemplate {
+
+  // Constants +
+  /** Maximum number of clauses of templates which index their queries by bitmask */
+  static final int INDEXED_CLAUSES = 10;
+  // Constants -
+
+
+  // Attributes +
+  /** Statement before the clauses */
+  private final String statement;
+
+  /** Text after the clauses */
+  private final String suffix;
+
+  /** Clauses' boolean aggregators */
+  private final String[] aggregators;
+
+  /** Clauses' text */
+  private final String[] clauses;
+
+  /** Clauses' value checkers */
+  private final ValueChecker<?>[] checkers;
+
+  /** Rendered queries indexed by bitmask ({@code null} for templates with many clauses) */
+  private final AtomicReferenceArray<String> queries;
+
+  /** Rendered queries cache for templates with many clauses ({@code null} for indexed templates) */
+  private final ShapeCache cache;
+  // Attributes -
+
+
+  // Constructors +
+  /**
+   * {@link QueryTemplate} constructor
+   *
+   * @param statement the statement before the clauses
+   * @param suffix the text after the clauses
+   * @param aggregators the clauses' boolean aggregators
+   * @param clauses the clauses' text
+   * @param checkers the clauses' value checkers
+   */
+  QueryTemplate(final String statement, final String suffix, final String[] aggregators, final String[] clauses, final ValueChecker<?>[] checkers) {
+    this.statement = statement;
+    this.suffix = suffix;
+    this.aggregators = aggregators;
+    this.clauses = clauses;
+    this.checkers = checkers;
+    if(clauses.length <= INDEXED_CLAUSES) {
+      queries = new AtomicReferenceArray<>(1 << clauses.length);
+      cache = null;
+    } else {
+      queries = null;
+      cache = new ShapeCache();
+    }
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * Bind values to the template clauses.<br>
+   * There is one value per clause, in the clauses' declaration order: clauses with
+   * invalid values are not included. Optional values are unwrapped and primitive
+   * optional values are not boxed. {@code IN} lists are not supported: bind them as
+   * arrays (see {@link SQL#array(String, Collection)}).
+   *
+   * @param values the clauses' values
+   *
+   * @return the query and its prepared statement values
+   */
+  @SuppressWarnings("unchecked")
+  public SQLQuery bind(final Object... values) {
+    if(values.length != checkers.length) {
+      throw new IllegalArgumentException("Expected " + checkers.length + " values but got " + values.length);
+    }
+    long mask = 0L;
+    for(int i = 0 ; i < values.length ; ++i) {
+      if(((ValueChecker<Object>)checkers[i]).isValid(values[i])) {
+        mask |= 1L << i;
+      }
+    }
+    final int size = Long.bitCount(mask);
+    final Object[] params = new Object[size];
+    final int[] types = new int[size];
+    long[] prims = null;
+    for(int i = 0, idx = 0 ; idx < size ; ++i) {
+      if((mask & (1L << i)) == 0) {
+        continue;
+      }
+      final Object value = values[i];
+      if(value instanceof Optional<?>) {
+        params[idx] = ((Optional<?>)value).get();
+        types[idx] = ValueTypes.of(params[idx]);
+      } else if(value instanceof OptionalLong || value instanceof OptionalInt || value instanceof OptionalDouble) {
+        if(prims == null) {
+          prims = new long[size];
+        }
+        if(value instanceof OptionalLong) {
+          prims[idx] = ((OptionalLong)value).getAsLong();
+          types[idx] = ValueTypes.PRIMITIVE_LONG;
+        } else if(value instanceof OptionalInt) {
+          prims[idx] = ((OptionalInt)value).getAsInt();
+          types[idx] = ValueTypes.PRIMITIVE_INT;
+        } else {
+          prims[idx] = Double.doubleToRawLongBits(((OptionalDouble)value).getAsDouble());
+          types[idx] = ValueTypes.PRIMITIVE_DOUBLE;
+        }
+      } else if(value instanceof Collection<?>) {
+        throw new IllegalArgumentException("IN lists are not supported by query templates: bind them as arrays");
+      } else {
+        params[idx] = value;
+        types[idx] = ValueTypes.of(value);
+      }
+      ++idx;
+    }
+    return new SQLQuery(query(mask), params, types, prims);
+  }
+
+  /**
+   * Retrieve the query of the included clauses or render and store it
+   *
+   * @param mask the included clauses' bitmask
+   *
+   * @return the query
+   */
+  private String query(final long mask) {
+    if(queries == null) {
+      return cache.query((mask << 1) | ShapeCache.EMPTY, () -> render(mask));
+    }
+    final int idx = (int)mask;
+    String query = queries.get(idx);
+    if(query == null) {
+      query = render(mask);
+      queries.set(idx, query); // Concurrent renderings give the same query
+    }
+    return query;
+  }
+
+  /**
+   * Render the query of the included clauses
+   *
+   * @param mask the included clauses' bitmask
+   *
+   * @return the query
+   */
+  private String render(final long mask) {
+    final StringBuilder query = new StringBuilder(statement.length() + suffix.length() + 32 * Long.bitCount(mask));
+    query.append(statement);
+    boolean first = true;
+    for(int i = 0 ; i < clauses.length ; ++i) {
+      if((mask & (1L << i)) != 0) {
+        query.append(first ? " WHERE " : aggregators[i]).append(clauses[i]);
+        first = false;
+      }
+    }
+    return query.append(suffix).toString();
+  }
+  // Methods -
+
+}
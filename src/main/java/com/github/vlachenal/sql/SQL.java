@@ -19,9 +19,16 @@
 */
 package com.github.vlachenal.sql;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -34,6 +41,15 @@ import java.util.stream.Collectors;
  */
 public final class SQL {
 
+  // Attributes +
+  /** Threads' builders pools */
+  private static final ThreadLocal<BuilderPool> POOLS = ThreadLocal.withInitial(BuilderPool::new);
+
+  /** New builders' dialect ({@code null} for none) */
+  private static volatile Dialect dialect;
+  // Attributes -
+
+
   // Constructors +
   /**
    * {@link SQL} private constructor
@@ -44,7 +60,41 @@ public final class SQL {
   // Constructors -
 
 
+  // Accessors +
+  /**
+   * New builders' dialect getter
+   *
+   * @return the dialect ({@code null} when no dialect has been set)
+   */
+  public static Dialect getDialect() {
+    return dialect;
+  }
+
+  /**
+   * New builders' dialect setter.<br>
+   * Builders which are created (or reset) after this call use this dialect unless
+   * another one is set on the builder. Without dialect, builders render the same
+   * queries whatever the database engine.
+   *
+   * @param dialect the dialect to set ({@code null} for none)
+   */
+  public static void setDialect(final Dialect dialect) {
+    SQL.dialect = dialect;
+  }
+  // Accessors -
+
+
   // Methods +
+  /**
+   * Retrieve the current thread builders pool.<br>
+   * Pool's builders must not be shared with other threads.
+   *
+   * @return the current thread {@link BuilderPool}
+   */
+  public static BuilderPool pool() {
+    return POOLS.get();
+  }
+
   /**
    * Initialize a new select builder
    *
@@ -54,6 +104,74 @@ public final class SQL {
     return new SelectBuilder();
   }
 
+  /**
+   * Initialize a new select builder sized for the expected query
+   *
+   * @param expectedChars the expected number of characters
+   * @param expectedParams the expected number of prepared statement values
+   *
+   * @return the new {@link SelectBuilder}
+   */
+  public static SelectBuilder select(final int expectedChars, final int expectedParams) {
+    return new SelectBuilder(expectedChars, expectedParams);
+  }
+
+  /**
+   * Initialize a new select builder sized by the call site hint
+   *
+   * @param hint the call site size hint
+   *
+   * @return the new {@link SelectBuilder}
+   */
+  public static SelectBuilder select(final SizeHint hint) {
+    return new SelectBuilder(hint);
+  }
+
+  /**
+   * Initialize a new query template builder (see {@link QueryTemplate})
+   *
+   * @param statement the statement before the optional clauses (such as {@code SELECT * FROM Heroes})
+   *
+   * @return the new {@link TemplateBuilder}
+   */
+  public static TemplateBuilder template(final String statement) {
+    return new TemplateBuilder(statement);
+  }
+
+  /**
+   * Initialize a new insert builder
+   *
+   * @param table the table to insert into
+   *
+   * @return the new {@link InsertBuilder}
+   */
+  public static InsertBuilder insert(final String table) {
+    return new InsertBuilder(table);
+  }
+
+  /**
+   * Initialize a new insert builder sized by the call site hint
+   *
+   * @param table the table to insert into
+   * @param hint the call site size hint
+   *
+   * @return the new {@link InsertBuilder}
+   */
+  public static InsertBuilder insert(final String table, final SizeHint hint) {
+    return new InsertBuilder(table, hint);
+  }
+
+  /**
+   * Initialize a new upsert builder
+   *
+   * @param table the table to upsert into
+   *
+   * @return the new {@link UpsertBuilder}
+   */
+  public static UpsertBuilder upsert(final String table) {
+    return new UpsertBuilder(table);
+  }
+
   /**
    * Initialize a new update builder
    *
@@ -65,6 +183,42 @@ public final class SQL {
     return new UpdateBuilder(table);
   }
 
+  /**
+   * Initialize a new update builder sized for the expected query
+   *
+   * @param table the table to update
+   * @param expectedChars the expected number of characters
+   * @param expectedParams the expected number of prepared statement values
+   *
+   * @return the new {@link UpdateBuilder}
+   */
+  public static UpdateBuilder update(final String table, final int expectedChars, final int expectedParams) {
+    return new UpdateBuilder(table, expectedChars, expectedParams);
+  }
+
+  /**
+   * Initialize a new update builder sized by the call site hint
+   *
+   * @param table the table to update
+   * @param hint the call site size hint
+   *
+   * @return the new {@link UpdateBuilder}
+   */
+  public static UpdateBuilder update(final String table, final SizeHint hint) {
+    return new UpdateBuilder(table, hint);
+  }
+
+  /**
+   * Initialize a new bulk update builder
+   *
+   * @param table the table to update
+   *
+   * @return the new {@link BulkUpdateBuilder}
+   */
+  public static BulkUpdateBuilder bulkUpdate(final String table) {
+    return new BulkUpdateBuilder(table);
+  }
+
   /**
    * Initialize a new delete builder
    *
@@ -76,6 +230,31 @@ public final class SQL {
     return new DeleteBuilder(table);
   }
 
+  /**
+   * Initialize a new delete builder sized for the expected query
+   *
+   * @param table the table to delete
+   * @param expectedChars the expected number of characters
+   * @param expectedParams the expected number of prepared statement values
+   *
+   * @return the new {@link DeleteBuilder}
+   */
+  public static DeleteBuilder delete(final String table, final int expectedChars, final int expectedParams) {
+    return new DeleteBuilder(table, expectedChars, expectedParams);
+  }
+
+  /**
+   * Initialize a new delete builder sized by the call site hint
+   *
+   * @param table the table to delete
+   * @param hint the call site size hint
+   *
+   * @return the new {@link DeleteBuilder}
+   */
+  public static DeleteBuilder delete(final String table, final SizeHint hint) {
+    return new DeleteBuilder(table, hint);
+  }
+
   /**
    * Initialize a new clauses builder
    *
@@ -85,6 +264,29 @@ public final class SQL {
     return new ClausesBuilder();
   }
 
+  /**
+   * Initialize a new clauses builder sized for the expected clauses
+   *
+   * @param expectedChars the expected number of characters
+   * @param expectedParams the expected number of prepared statement values
+   *
+   * @return the new {@link ClausesBuilder}
+   */
+  public static ClausesBuilder clauses(final int expectedChars, final int expectedParams) {
+    return new ClausesBuilder(expectedChars, expectedParams);
+  }
+
+  /**
+   * Initialize a new clauses builder sized by the call site hint
+   *
+   * @param hint the call site size hint
+   *
+   * @return the new {@link ClausesBuilder}
+   */
+  public static ClausesBuilder clauses(final SizeHint hint) {
+    return new ClausesBuilder(hint);
+  }
+
   /**
    * Initialize a new clauses builder from another one
    *
@@ -140,6 +342,48 @@ public final class SQL {
     return new ClausesBuilder(column, clause, value);
   }
 
+  /**
+   * Initialize a new clauses builder and add the first clause with primitive {@code long} value.<br>
+   * Value is not boxed and is always valid: it is not checked.
+   *
+   * @param column the column
+   * @param clause the clause maker
+   * @param value the value
+   *
+   * @return the new {@link ClausesBuilder}
+   */
+  public static ClausesBuilder clauses(final String column, final ClauseMaker clause, final long value) {
+    return new ClausesBuilder().and(column, clause, value);
+  }
+
+  /**
+   * Initialize a new clauses builder and add the first clause with primitive {@code int} value.<br>
+   * Value is not boxed and is always valid: it is not checked.
+   *
+   * @param column the column
+   * @param clause the clause maker
+   * @param value the value
+   *
+   * @return the new {@link ClausesBuilder}
+   */
+  public static ClausesBuilder clauses(final String column, final ClauseMaker clause, final int value) {
+    return new ClausesBuilder().and(column, clause, value);
+  }
+
+  /**
+   * Initialize a new clauses builder and add the first clause with primitive {@code double} value.<br>
+   * Value is not boxed and is always valid: it is not checked.
+   *
+   * @param column the column
+   * @param clause the clause maker
+   * @param value the value
+   *
+   * @return the new {@link ClausesBuilder}
+   */
+  public static ClausesBuilder clauses(final String column, final ClauseMaker clause, final double value) {
+    return new ClausesBuilder().and(column, clause, value);
+  }
+
   /**
    * Initialize a new clauses builder and add the first clause if value is valid
    *
@@ -241,7 +485,59 @@ public final class SQL {
   }
 
   /**
-   * Check if value is null or empty (for {@link String} and {@link Collection}).<br>
+   * Split query on its {@code IN} list values.<br>
+   * Values are deduplicated and split in chunks of {@code size} values at most. One
+   * query is built for each chunk: queries can be executed at the same time and
+   * their results concatenated with {@link UnionQuery#merge(List)} (queries are
+   * merged with {@code UNION ALL}):
+   * <pre>
+   * final UnionQuery queries = SQL.splitIn(ids, 1000, chunk -&gt; SQL.select().field("*").from("Heroes")
+   *     .where(SQL.clauses("id", Clauses::in, chunk)).build());
+   * </pre>
+   * Queries must not aggregate, sort or limit rows over the whole values. To keep
+   * a single query, see {@link ClausesBuilder#chunkIn(int)}.
+   *
+   * @param <T> the values' type
+   *
+   * @param values the {@code IN} list values
+   * @param size the maximum number of values per query
+   * @param query the query builder for one chunk of values
+   *
+   * @return the queries
+   */
+  public static <T> UnionQuery splitIn(final Collection<T> values, final int size, final Function<List<T>, SQLQuery> query) {
+    if(size <= 0) {
+      throw new IllegalArgumentException("Chunk size has to be positive: " + size);
+    }
+    final List<T> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+    if(distinct.isEmpty()) {
+      throw new IllegalArgumentException("IN list can not be empty");
+    }
+    final List<SQLQuery> queries = new ArrayList<>(distinct.size() / size + 1);
+    for(int i = 0 ; i < distinct.size() ; i += size) {
+      queries.add(query.apply(distinct.subList(i, Math.min(i + size, distinct.size()))));
+    }
+    final boolean[] all = new boolean[queries.size()];
+    Arrays.fill(all, true);
+    return new UnionQuery(queries, all);
+  }
+
+  /**
+   * Create array prepared statement value.<br>
+   * The {@code java.sql.Array} is created when the value is bound. This value
+   * has to be used with {@code any(?)} clauses such as {@link Clauses#equalsAny(String)}.
+   *
+   * @param typeName the elements' SQL type name (database specific: {@code integer}, {@code varchar}...)
+   * @param values the values
+   *
+   * @return the array value
+   */
+  public static SQLArray array(final String typeName, final Collection<?> values) {
+    return new SQLArray(typeName, values);
+  }
+
+  /**
+   * Check if value is null or empty (for {@link String}, {@link Collection} and optional values).<br>
    * This is the value {@link ValueChecker} which is used ot check value validity.
    *
    * @param <T> the value type
@@ -255,6 +551,12 @@ public final class SQL {
     if(value != null) {
       if(value instanceof Optional<?>) {
         valid = ((Optional<?>)value).isPresent();
+      } else if(value instanceof OptionalLong) {
+        valid = ((OptionalLong)value).isPresent();
+      } else if(value instanceof OptionalInt) {
+        valid = ((OptionalInt)value).isPresent();
+      } else if(value instanceof OptionalDouble) {
+        valid = ((OptionalDouble)value).isPresent();
       } else if(value instanceof Collection<?>) {
         valid = !((Collection<?>)value).isEmpty();
       } else if(value instanceof String) {
@@ -0,0 +1,113 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+
+
+/**
+ * Array prepared statement value.<br>
+ * <br>
+ * The {@code java.sql.Array} is created with {@link Connection#createArrayOf(String, Object[])}
+ * when the value is bound: queries can be built without any connection. This value
+ * is meant to be used with {@code = any(?)} clauses (see {@link Clauses#equalsAny(String)}
+ * and {@link ClausesBuilder#bindInArray(String)}) on database engines which support
+ * arrays (PostgreSQL, H2...): there is one single query whatever the number of values.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public final class SQLArray {
+
+  // Attributes +
+  /** Elements' SQL type name */
+  private final String typeName;
+
+  /** Elements */
+  private final Object[] elements;
+  // Attributes -
+
+
+  // Constructors +
+  /**
+   * {@link SQLArray} constructor
+   *
+   * @param typeName the elements' SQL type name (database specific: {@code integer}, {@code varchar}...)
+   * @param elements the elements
+   */
+  SQLArray(final String typeName, final Collection<?> elements) {
+    this.typeName = typeName;
+    this.elements = elements.toArray();
+  }
+  // Constructors -
+
+
+  // Accessors +
+  /**
+   * Elements' SQL type name getter
+   *
+   * @return the elements' SQL type name
+   */
+  public String getTypeName() {
+    return typeName;
+  }
+
+  /**
+   * Elements getter
+   *
+   * @return the elements' copy
+   */
+  public Object[] getElements() {
+    return elements.clone();
+  }
+  // Accessors -
+
+
+  // Methods +
+  /**
+   * Create the {@code java.sql.Array}
+   *
+   * @param connection the connection to use
+   *
+   * @return the array
+   *
+   * @throws SQLException the driver error
+   */
+  Array create(final Connection connection) throws SQLException {
+    return connection.createArrayOf(typeName, elements);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return typeName + Arrays.toString(elements);
+  }
+  // Methods -
+
+}
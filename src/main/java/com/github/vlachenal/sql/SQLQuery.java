@@ -19,6 +19,9 @@
 */
 package com.github.vlachenal.sql;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -42,21 +45,66 @@ public class SQLQuery {
   /** SQL query */
   private final String query;
 
-  /** Prepared statement values */
-  private final List<Object> values;
+  /** Prepared statement values ({@code null} for primitive values) */
+  private final Object[] values;
+
+  /** Prepared statement values' types (see {@link ValueTypes}) */
+  private final int[] types;
+
+  /** Prepared statement primitive values' bits ({@code null} if there is no primitive value) */
+  private final long[] prims;
+
+  /** Prepared statement values' list view (initialized on first call) */
+  private List<Object> valuesList;
   // Attributes -
 
 
   // Constructors +
   /**
-   * {@link SQLQuery} constructor
+   * {@link SQLQuery} constructor.<br>
+   * Values are copied so that the builder can be reset and reused.
    *
    * @param query the query
    * @param values the values
    */
   public SQLQuery(final String query, final List<Object> values) {
     this.query = query;
-    this.values = Collections.unmodifiableList(values);
+    this.values = values.toArray();
+    types = new int[this.values.length];
+    for(int i = 0 ; i < types.length ; ++i) {
+      types[i] = ValueTypes.of(this.values[i]);
+    }
+    prims = null;
+  }
+
+  /**
+   * {@link SQLQuery} constructor from builder fragment
+   *
+   * @param query the rendered query
+   * @param buffer the query fragment holding the values
+   */
+  SQLQuery(final String query, final Fragment buffer) {
+    this.query = query;
+    values = new Object[buffer.paramsLength()];
+    types = new int[values.length];
+    prims = buffer.hasPrimitives() ? new long[values.length] : null;
+    buffer.collect(values, types, prims);
+  }
+
+  /**
+   * {@link SQLQuery} constructor from values' arrays.<br>
+   * Arrays are not copied: they must not be modified.
+   *
+   * @param query the query
+   * @param values the values ({@code null} for primitive values)
+   * @param types the values' types (see {@link ValueTypes})
+   * @param prims the primitive values' bits ({@code null} if there is no primitive value)
+   */
+  SQLQuery(final String query, final Object[] values, final int[] types, final long[] prims) {
+    this.query = query;
+    this.values = values;
+    this.types = types;
+    this.prims = prims;
   }
   // Constructors -
 
@@ -77,7 +125,12 @@ public class SQLQuery {
    * @return the values
    */
   public final List<Object> getValues() {
-    return values;
+    List<Object> list = valuesList;
+    if(list == null) {
+      list = Collections.unmodifiableList(Arrays.asList(prims == null ? values : boxed()));
+      valuesList = list;
+    }
+    return list;
   }
 
   /**
@@ -86,8 +139,74 @@ public class SQLQuery {
    * @return the values' array
    */
   public final Object[] values() {
-    return values.toArray();
+    return prims == null ? values.clone() : boxed();
+  }
+
+  /**
+   * Prepared statement values' array.<br>
+   * Array is not copied: it must not be modified. Primitive values are not
+   * in this array (see {@link #primitivesArray()}).
+   *
+   * @return the values' array
+   */
+  final Object[] valuesArray() {
+    return values;
+  }
+
+  /**
+   * Prepared statement values' types array.<br>
+   * Array is not copied: it must not be modified.
+   *
+   * @return the values' types array
+   */
+  final int[] typesArray() {
+    return types;
+  }
+
+  /**
+   * Prepared statement primitive values' bits array.<br>
+   * Array is not copied: it must not be modified.
+   *
+   * @return the primitive values' bits array or {@code null} if there is no primitive value
+   */
+  final long[] primitivesArray() {
+    return prims;
   }
   // Accessors -
 
+
+  // Methods +
+  /**
+   * Bind values to prepared statement.<br>
+   * Each value is bound with the setter matching the type it had when it has been
+   * added to the query ({@code setLong}, {@code setString}, {@code setTimestamp}, ...).
+   * {@code null} values are bound with {@code setNull}. Primitive values are bound
+   * without being boxed.
+   *
+   * @param statement the prepared statement
+   *
+   * @throws SQLException the driver error
+   */
+  public void bind(final PreparedStatement statement) throws SQLException {
+    for(int i = 0 ; i < values.length ; ++i) {
+      ValueTypes.bind(statement, i + 1, types[i], values[i], prims == null ? 0L : prims[i]);
+    }
+  }
+
+  /**
+   * Copy values boxing primitive values
+   *
+   * @return the values
+   */
+  private Object[] boxed() {
+    final Object[] boxed = values.clone();
+    for(int i = 0 ; i < boxed.length ; ++i) {
+      if(ValueTypes.isPrimitive(types[i])) {
+        boxed[i] = ValueTypes.box(types[i], prims[i]);
+      }
+    }
+    return boxed;
+  }
+  // Methods -
+
 }
@@ -34,26 +34,169 @@ import java.util.List;
 public class SelectBuilder {
 
   // Attributes +
-  /** SQL request string buffer */
-  final StringBuilder buffer;
+  /** SQL request fragment */
+  Fragment buffer;
 
-  /** Clauses values */
-  final List<Object> values;
+  /** Query shape (see {@link ShapeCache}) */
+  long shape = ShapeCache.EMPTY;
+
+  /** Selected fields end: text position in fragment ({@code -1} until {@code FROM}) */
+  private int fieldsText = -1;
+
+  /** Selected fields end: links position in fragment */
+  private int fieldsLinks;
+
+  /** Selected fields end: values position in fragment */
+  private int fieldsParams;
+
+  /** {@code FROM} part (tables and joins) end: rendered length ({@code -1} until {@code FROM}) */
+  private int fromLength = -1;
+
+  /** {@code UNION} branches ({@code null} until the first {@code UNION}) */
+  private List<Union> unions;
+
+  /** {@code WHERE} clauses start: text position in fragment ({@code -1} without {@code WHERE}) */
+  private int whereText = -1;
+
+  /** {@code WHERE} clauses start: links position in fragment */
+  private int whereLinks;
+
+  /** {@code WHERE} clauses start: values position in fragment */
+  private int whereParams;
+
+  /** {@code WHERE} clauses end: rendered length */
+  private int whereLength;
+
+  /** {@code WHERE} clauses are joined with top level {@code OR} */
+  private boolean whereDisjunction;
+
+  /** SQL dialect ({@code null} for none) */
+  private Dialect dialect = SQL.getDialect();
   // Attributes -
 
 
+  /**
+   * {@code UNION} branch
+   */
+  private static final class Union {
+
+    /** {@code UNION ALL} operator */
+    final boolean all;
+
+    /** Branch */
+    final SelectBuilder branch;
+
+    /** Text position before the operator */
+    final int textStart;
+
+    /** Links position before the operator */
+    final int linksStart;
+
+    /** Values position before the operator */
+    final int paramsStart;
+
+    /** Text position after the branch */
+    final int textEnd;
+
+    /** Links position after the branch */
+    final int linksEnd;
+
+    /** Values position after the branch */
+    final int paramsEnd;
+
+    /**
+     * {@link Union} constructor
+     *
+     * @param all {@code UNION ALL} operator
+     * @param branch the branch
+     * @param buffer the fragment before the operator
+     */
+    Union(final boolean all, final SelectBuilder branch, final Fragment buffer) {
+      this.all = all;
+      this.branch = branch;
+      textStart = buffer.textSize();
+      linksStart = buffer.linkSize();
+      paramsStart = buffer.paramSize();
+      buffer.append(all ? " UNION ALL " : " UNION ").append(branch.buffer);
+      textEnd = buffer.textSize();
+      linksEnd = buffer.linkSize();
+      paramsEnd = buffer.paramSize();
+    }
+
+  }
+
+
   // Constructors +
   /**
    * {@link SelectBuilder} constructor
    */
   public SelectBuilder() {
-    buffer = new StringBuilder("SELECT ");
-    values = new ArrayList<>();
+    buffer = new Fragment("SELECT ");
+  }
+
+  /**
+   * {@link SelectBuilder} constructor with capacity hints.<br>
+   * Nested clauses and subqueries are not copied in this builder: their size
+   * does not have to be taken into account.
+   *
+   * @param expectedChars the expected number of characters
+   * @param expectedParams the expected number of prepared statement values
+   */
+  public SelectBuilder(final int expectedChars, final int expectedParams) {
+    buffer = new Fragment(expectedChars, expectedParams, null).append("SELECT ");
+  }
+
+  /**
+   * {@link SelectBuilder} constructor with adaptive size hint.<br>
+   * Builder is sized with the hint and the hint learns the size reached by this builder.
+   *
+   * @param hint the call site size hint
+   */
+  public SelectBuilder(final SizeHint hint) {
+    buffer = new Fragment(hint.getChars(), hint.getParams(), hint).append("SELECT ");
   }
   // Constructors -
 
 
   // Methods +
+  /**
+   * Reset builder to its initial state keeping its allocated capacity.<br>
+   * Builder must not be reset while a builder in which it has been added has
+   * not been built yet: its content is linked, not copied.
+   *
+   * @return {@code this}
+   */
+  public SelectBuilder reset() {
+    buffer.clear();
+    buffer.append("SELECT ");
+    shape = ShapeCache.EMPTY;
+    fieldsText = -1;
+    fieldsLinks = 0;
+    fieldsParams = 0;
+    fromLength = -1;
+    unions = null;
+    whereText = -1;
+    whereLinks = 0;
+    whereParams = 0;
+    whereLength = 0;
+    whereDisjunction = false;
+    dialect = SQL.getDialect();
+    return this;
+  }
+
+  /**
+   * Set the SQL dialect used for pagination and keyset pagination comparisons
+   * (see {@link #paginate(long, long)} and {@link #seekAfter(String[], Object...)})
+   *
+   * @param sqlDialect the dialect ({@code null} for none)
+   *
+   * @return {@code this}
+   */
+  public SelectBuilder dialect(final Dialect sqlDialect) {
+    dialect = sqlDialect;
+    return this;
+  }
+
   /**
    * Add {@code DISTINCT} command
    *
@@ -84,6 +227,43 @@ public class SelectBuilder {
     return new FieldsBuilder(this, column);
   }
 
+  /**
+   * Mark the end of selected fields.<br>
+   * This has to be called before adding {@code FROM} command.
+   */
+  void endFields() {
+    fieldsText = buffer.textSize();
+    fieldsLinks = buffer.linkSize();
+    fieldsParams = buffer.paramSize();
+  }
+
+  /**
+   * Mark the end of {@code FROM} part.<br>
+   * This has to be called after adding each table or join.
+   */
+  void endFrom() {
+    fromLength = buffer.length();
+  }
+
+  /**
+   * Add SQL {@code WHERE} command and its clauses if not empty
+   *
+   * @param clauses the clauses
+   */
+  void where(final ClausesBuilder clauses) {
+    shape = ShapeCache.append(shape, !clauses.firstClause);
+    if(!clauses.firstClause) { // which means that at least one clause has been added
+      buffer.append(" WHERE ");
+      whereText = buffer.textSize();
+      whereLinks = buffer.linkSize();
+      whereParams = buffer.paramSize();
+      whereDisjunction = clauses.disjunction;
+      buffer.append(clauses.buffer);
+      whereLength = buffer.length();
+      shape = ShapeCache.append(shape, clauses.shape);
+    }
+  }
+
   /**
    * Add SQL {@code GROUP BY} command
    *
@@ -116,9 +296,10 @@ public class SelectBuilder {
    * @return {@code this}
    */
   public SelectBuilder having(final ClausesBuilder clauses) {
+    shape = ShapeCache.append(shape, !clauses.firstClause);
     if(!clauses.firstClause) {
       buffer.append(" HAVING ").append(clauses.buffer);
-      values.addAll(clauses.values);
+      shape = ShapeCache.append(shape, clauses.shape);
     }
     return this;
   }
@@ -131,8 +312,7 @@ public class SelectBuilder {
    * @return {@code this}
    */
   public SelectBuilder union(final SelectBuilder other) {
-    buffer.append(" UNION ").append(other.buffer);
-    values.addAll(other.values);
+    addUnion(false, other);
     return this;
   }
 
@@ -144,11 +324,24 @@ public class SelectBuilder {
    * @return {@code this}
    */
   public SelectBuilder unionAll(final SelectBuilder other) {
-    buffer.append(" UNION ALL ").append(other.buffer);
-    values.addAll(other.values);
+    addUnion(true, other);
     return this;
   }
 
+  /**
+   * Add {@code UNION} or {@code UNION ALL} to other SQL request and keep the branch
+   *
+   * @param all {@code UNION ALL} operator
+   * @param other the other SQL request
+   */
+  private void addUnion(final boolean all, final SelectBuilder other) {
+    if(unions == null) {
+      unions = new ArrayList<>();
+    }
+    unions.add(new Union(all, other, buffer));
+    shape = ShapeCache.append(shape, other.shape);
+  }
+
   /**
    * Add {@code OFFSET n ROWS}
    *
@@ -158,6 +351,7 @@ public class SelectBuilder {
    */
   public SelectBuilder offset(final long offset) {
     buffer.append(" OFFSET ").append(offset).append(" ROWS");
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -170,6 +364,7 @@ public class SelectBuilder {
    */
   public SelectBuilder fetchNext(final long limit) {
     buffer.append(" FETCH NEXT ").append(limit).append(" ROWS ONLY");
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -182,9 +377,224 @@ public class SelectBuilder {
    */
   public SelectBuilder fetch(final long limit) {
     buffer.append(" FETCH FIRST ").append(limit).append(" ROWS ONLY");
+    shape = ShapeCache.DYNAMIC;
+    return this;
+  }
+
+  /**
+   * Add {@code FETCH FIRST n+1 ROWS ONLY}: the extra row tells if there is a next page
+   * (see {@link Page#of(java.util.List, int)})
+   *
+   * @param pageSize the page size
+   *
+   * @return {@code this}
+   */
+  public SelectBuilder fetchPage(final long pageSize) {
+    return dialect == null ? fetch(pageSize + 1) : paginate(pageSize + 1, 0);
+  }
+
+  /**
+   * Add pagination with the dialect syntax: {@code LIMIT n OFFSET m} (PostgreSQL, H2, MySQL),
+   * {@code OFFSET m ROWS FETCH NEXT n ROWS ONLY} (SQL Server)...<br>
+   * Standard {@code OFFSET m ROWS FETCH FIRST n ROWS ONLY} is used when no dialect has been set.
+   *
+   * @param limit the maximum number of rows
+   * @param offset the number of rows to skip ({@code 0} for none)
+   *
+   * @return {@code this}
+   */
+  public SelectBuilder paginate(final long limit, final long offset) {
+    if(limit < 1) {
+      throw new IllegalArgumentException("Limit has to be positive: " + limit);
+    }
+    buffer.append((dialect == null ? Dialects.STANDARD : dialect).paginate(limit, offset));
+    shape = ShapeCache.DYNAMIC;
+    return this;
+  }
+
+  /**
+   * Add keyset pagination: rows after the last row of the previous page, ordered by the order columns.<br>
+   * <br>
+   * Unlike {@code OFFSET}, skipped rows are not read by the database: it seeks the
+   * first row with the order columns index. Order columns can end with {@code ASC}
+   * or {@code DESC} ({@code NULLS FIRST/LAST} is not supported): comparisons and
+   * {@code ORDER BY} are consistent with the directions.
+   * When every column has the same direction and the dialect supports it, a row value comparison is used
+   * ({@code (last_name, id) > (?, ?)}), otherwise comparison is expanded
+   * ({@code (last_name > ? OR (last_name = ? AND id < ?))}). Last order column
+   * should be unique (such as the primary key) and order columns should not be
+   * {@code null}:
+   * <pre>
+   * SQL.select().field("*").from("Heroes").where(...)
+   *   .seekAfter(new String[] { "last_name", "id" }, last.getLastName(), last.getId())
+   *   .fetchPage(20);
+   * </pre>
+   * This method adds the seek clause to the {@code WHERE} clauses and the {@code ORDER BY}
+   * command: it has to be called right after {@code FROM} (and joins) or {@code WHERE},
+   * and before {@code UNION}.
+   *
+   * @param orderColumns the order columns
+   * @param lastRowValues the last row order columns' values (none for the first page)
+   *
+   * @return {@code this}
+   */
+  public SelectBuilder seekAfter(final String[] orderColumns, final Object... lastRowValues) {
+    seek(orderColumns, lastRowValues, dialect == null || dialect.supportsRowValues());
+    return this;
+  }
+
+  /**
+   * Add keyset pagination with expanded comparison for databases which do not support
+   * row value comparisons (such as Oracle and SQL Server).
+   *
+   * @param orderColumns the order columns
+   * @param lastRowValues the last row order columns' values (none for the first page)
+   *
+   * @return {@code this}
+   *
+   * @see #seekAfter(String[], Object...)
+   */
+  public SelectBuilder seekAfterExpanded(final String[] orderColumns, final Object... lastRowValues) {
+    seek(orderColumns, lastRowValues, false);
     return this;
   }
 
+  /**
+   * Add keyset pagination clause and order
+   *
+   * @param orderColumns the order columns
+   * @param lastRowValues the last row order columns' values (none for the first page)
+   * @param rowValue use row value comparison when every column has the same direction
+   */
+  private void seek(final String[] orderColumns, final Object[] lastRowValues, final boolean rowValue) {
+    final boolean after = lastRowValues != null && lastRowValues.length != 0;
+    if(after && lastRowValues.length != orderColumns.length) {
+      throw new IllegalArgumentException("Expected " + orderColumns.length + " last row values but got " + lastRowValues.length);
+    }
+    if(unions != null) {
+      throw new IllegalStateException("Keyset pagination has to be added before UNION");
+    }
+    final int nbColumns = orderColumns.length;
+    final String[] columns = new String[nbColumns];
+    final boolean[] desc = new boolean[nbColumns];
+    boolean uniform = true;
+    for(int i = 0 ; i < nbColumns ; ++i) {
+      final String column = orderColumns[i].trim();
+      final String direction = lastWord(column);
+      desc[i] = "DESC".equalsIgnoreCase(direction);
+      columns[i] = desc[i] || "ASC".equalsIgnoreCase(direction) ? column.substring(0, column.length() - direction.length()).trim() : column;
+      if(isOrderKeyword(lastWord(columns[i]))) { // NULLS FIRST/LAST or several directions
+        throw new IllegalArgumentException("Keyset pagination order column only supports ASC or DESC direction: " + orderColumns[i]);
+      }
+      uniform &= desc[i] == desc[0];
+    }
+    shape = ShapeCache.append(shape, after);
+    if(after) {
+      addSeekClause();
+      if(nbColumns == 1) {
+        buffer.append(columns[0]).append(desc[0] ? " < ?" : " > ?").add(lastRowValues[0]);
+      } else if(rowValue && uniform) {
+        buffer.append('(');
+        for(int i = 0 ; i < nbColumns ; ++i) {
+          if(i != 0) {
+            buffer.append(", ");
+          }
+          buffer.append(columns[i]);
+        }
+        buffer.append(desc[0] ? ") < (" : ") > (");
+        for(int i = 0 ; i < nbColumns ; ++i) {
+          buffer.append(i == 0 ? "?" : ", ?").add(lastRowValues[i]);
+        }
+        buffer.append(')');
+      } else {
+        buffer.append('(');
+        for(int i = 0 ; i < nbColumns ; ++i) {
+          if(i != 0) {
+            buffer.append(" OR (");
+          }
+          for(int j = 0 ; j < i ; ++j) {
+            buffer.append(columns[j]).append(" = ? AND ").add(lastRowValues[j]);
+          }
+          buffer.append(columns[i]).append(desc[i] ? " < ?" : " > ?").add(lastRowValues[i]);
+          if(i != 0) {
+            buffer.append(')');
+          }
+        }
+        buffer.append(')');
+      }
+    }
+    buffer.append(" ORDER BY ");
+    for(int i = 0 ; i < nbColumns ; ++i) {
+      if(i != 0) {
+        buffer.append(", ");
+      }
+      buffer.append(columns[i]);
+      if(desc[i]) {
+        buffer.append(" DESC");
+      }
+    }
+  }
+
+  /**
+   * Get the last word of an order column
+   *
+   * @param column the order column
+   *
+   * @return the last word ({@code ""} if column has only one word)
+   */
+  private static String lastWord(final String column) {
+    int space = column.length() - 1;
+    while(space >= 0 && !Character.isWhitespace(column.charAt(space))) {
+      --space;
+    }
+    return space < 0 ? "" : column.substring(space + 1);
+  }
+
+  /**
+   * Check if word is an {@code ORDER BY} keyword
+   *
+   * @param word the word to check
+   *
+   * @return {@code true} for {@code ASC}, {@code DESC}, {@code NULLS}, {@code FIRST} and {@code LAST}, {@code false} otherwise
+   */
+  private static boolean isOrderKeyword(final String word) {
+    return "ASC".equalsIgnoreCase(word) || "DESC".equalsIgnoreCase(word) || "NULLS".equalsIgnoreCase(word)
+        || "FIRST".equalsIgnoreCase(word) || "LAST".equalsIgnoreCase(word);
+  }
+
+  /**
+   * Add keyset pagination clause to {@code WHERE} clauses.<br>
+   * {@code WHERE} clauses which are joined with top level {@code OR} are put into parentheses:
+   * current query is not rewritten, the new query links its parts around the parentheses.
+   */
+  private void addSeekClause() {
+    if(whereText < 0) {
+      if(buffer.length() != fromLength) {
+        throw new IllegalStateException("Keyset pagination has to be added right after FROM (and joins) or WHERE clauses");
+      }
+      buffer.append(" WHERE ");
+      return;
+    }
+    if(buffer.length() != whereLength) {
+      throw new IllegalStateException("Keyset pagination has to be added right after WHERE clauses");
+    }
+    if(!whereDisjunction) {
+      buffer.append(" AND ");
+      return;
+    }
+    final Fragment query = buffer;
+    buffer = new Fragment();
+    buffer.append(query, 0, 0, 0, fieldsText, fieldsLinks, fieldsParams);
+    final int wrapperFields = buffer.linkSize(); // Fields are in the first link
+    buffer.append(query, fieldsText, fieldsLinks, fieldsParams, whereText, whereLinks, whereParams)
+      .append('(')
+      .append(query, whereText, whereLinks, whereParams, query.textSize(), query.linkSize(), query.paramSize())
+      .append(") AND ");
+    fieldsText = 0;
+    fieldsLinks = wrapperFields;
+    fieldsParams = 0;
+  }
+
   /**
    * Add {@code LIMIT l OFFSET o} (works with MySQL, PostgreSQL and SQLite3).<br>
    * {@code OFFSET} will be added when offset is greater than {@code 0}.
@@ -202,6 +612,7 @@ public class SelectBuilder {
     if(offset > 0) {
       buffer.append(" OFFSET ").append(offset);
     }
+    shape = ShapeCache.DYNAMIC;
     return this;
   }
 
@@ -238,7 +649,9 @@ public class SelectBuilder {
   }
 
   /**
-   * Modify current query to add apply {@code row_number} window function as define in SQL 2003 standard.
+   * Modify current query to add apply {@code row_number} window function as define in SQL 2003 standard.<br>
+   * Current query is not rewritten: the new query links the current one around the
+   * window function column which is added at the end of selected fields.
    *
    * @param function the window function to apply
    * @param alias the current query table alias
@@ -248,15 +661,33 @@ public class SelectBuilder {
    * @param max the maximum row number value
    */
   private void window(final String function, final String alias, final String rowColumn, final String order, final int min, final int max) {
-    final StringBuilder colBuffer = new StringBuilder();
-    colBuffer.append(',').append(function).append(" OVER(ORDER BY ").append(order).append(") AS ").append(rowColumn);
-    final int idx = buffer.indexOf(" FROM");
-    buffer.insert(idx, colBuffer);
-    buffer.insert(0, "SELECT * FROM (");
-    buffer.append(") AS ").append(alias).append(" WHERE");
+    if(fieldsText < 0) {
+      endFields();
+    }
+    final Fragment query = buffer;
+    buffer = new Fragment("SELECT *");
+    final int wrapperFields = buffer.textSize(); // Next window function column will be added here
+    buffer.append(" FROM (")
+      .append(query, 0, 0, 0, fieldsText, fieldsLinks, fieldsParams)
+      .append(',').append(function).append(" OVER(ORDER BY ").append(order).append(") AS ").append(rowColumn)
+      .append(query, fieldsText, fieldsLinks, fieldsParams, query.textSize(), query.linkSize(), query.paramSize())
+      .append(") AS ").append(alias).append(" WHERE");
+    fieldsText = wrapperFields;
+    fieldsLinks = 0;
+    fieldsParams = 0;
+    unions = null; // Union is now a subquery
+    fromLength = -1;
+    whereText = -1;
+    whereDisjunction = false;
+    shape = ShapeCache.append(ShapeCache.append(shape, min > 0), max > 1);
+    if(min > 0 || max > 1) {
+      whereText = buffer.textSize();
+      whereLinks = buffer.linkSize();
+      whereParams = buffer.paramSize();
+    }
     if(min > 0) {
       buffer.append(' ').append(rowColumn).append(" >= ?");
-      values.add(min);
+      buffer.add(min);
     }
     if(max > 1) {
       if(min > 0) {
@@ -265,8 +696,9 @@ public class SelectBuilder {
         buffer.append(' ');
       }
       buffer.append(rowColumn).append(" < ?");
-      values.add(max);
+      buffer.add(max);
     }
+    whereLength = buffer.length();
   }
 
   /**
@@ -275,8 +707,76 @@ public class SelectBuilder {
    * @return the query and its prepared statement values
    */
   public SQLQuery build() {
-    return new SQLQuery(buffer.toString(), values);
+    return new SQLQuery(buffer.toString(), buffer);
   }
+
+  /**
+   * Build SQL query sharing the rendered query string with every query of the same shape
+   *
+   * @param cache the query template shape cache
+   *
+   * @return the query and its prepared statement values
+   */
+  public SQLQuery build(final ShapeCache cache) {
+    return new SQLQuery(cache.query(shape, buffer), buffer);
+  }
+
+  /**
+   * Build {@code UNION} branches as separate SQL queries.<br>
+   * Branches can be executed at the same time and merged with {@link UnionQuery#merge(List)}.
+   * Nested unions are flattened: {@code a.union(b.unionAll(c))} gives the 3 branches
+   * {@code a}, {@code b} and {@code c} as it is interpreted by the database.
+   * A query without {@code UNION} gives one branch.
+   *
+   * @return the branches and their operators
+   *
+   * @throws IllegalStateException when SQL has been added between or after {@code UNION}
+   *         branches (such as {@code ORDER BY} or {@code FETCH}): it applies to the whole union
+   */
+  public UnionQuery buildUnion() {
+    final List<SQLQuery> branches = new ArrayList<>();
+    final List<Boolean> all = new ArrayList<>();
+    addBranches(false, branches, all);
+    final boolean[] operators = new boolean[all.size()];
+    for(int i = 0 ; i < operators.length ; ++i) {
+      operators[i] = all.get(i);
+    }
+    return new UnionQuery(branches, operators);
+  }
+
+  /**
+   * Add this query branches
+   *
+   * @param all {@code UNION ALL} operator before the first branch
+   * @param branches the branches
+   * @param operators the {@code UNION ALL} operators before each branch
+   */
+  private void addBranches(final boolean all, final List<SQLQuery> branches, final List<Boolean> operators) {
+    if(unions == null) {
+      branches.add(build());
+      operators.add(all);
+      return;
+    }
+    for(int i = 1 ; i < unions.size() ; ++i) {
+      final Union prev = unions.get(i - 1);
+      final Union next = unions.get(i);
+      if(prev.textEnd != next.textStart || prev.linksEnd != next.linksStart || prev.paramsEnd != next.paramsStart) {
+        throw new IllegalStateException("SQL has been added between UNION branches");
+      }
+    }
+    final Union last = unions.get(unions.size() - 1);
+    if(last.textEnd != buffer.textSize() || last.linksEnd != buffer.linkSize() || last.paramsEnd != buffer.paramSize()) {
+      throw new IllegalStateException("SQL has been added after the last UNION branch: it applies to the whole union");
+    }
+    final Union first = unions.get(0);
+    final Fragment head = new Fragment().append(buffer, 0, 0, 0, first.textStart, first.linksStart, first.paramsStart);
+    branches.add(new SQLQuery(head.toString(), head));
+    operators.add(all);
+    for(final Union union : unions) {
+      union.branch.addBranches(union.all, branches, operators);
+    }
+  }
+
   // Methods -
 
 }
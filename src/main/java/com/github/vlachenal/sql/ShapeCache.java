@@ -0,0 +1,266 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+
+/**
+ * Query shape cache.<br>
+ * <br>
+ * Builders record which optional clauses have been included in the query as a
+ * bitmask: its shape. For a given query template, every shape always renders the
+ * same SQL text. This cache keeps the rendered query for each shape so that
+ * {@code build(cache)} returns a shared query string and only collects values.<br>
+ * <br>
+ * One cache has to be used for one query template only: every part of the query
+ * which is not an optional clause (columns, tables, fields, ...) has to be constant.
+ * Queries which contain literal values ({@code IN} lists, {@code OFFSET}/{@code FETCH}
+ * values, prebuilt {@link SQLQuery} subqueries) are never cached.<br>
+ * <br>
+ * This class is thread safe: it is meant to be shared as a constant.
+ * <pre>
+ * private static final ShapeCache SEARCH = new ShapeCache();
+ * ...
+ * SQL.select().field("*").from("Heroes").where(...).build(SEARCH);
+ * </pre>
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public final class ShapeCache {
+
+  // Constants +
+  /** Default maximum number of shapes */
+  public static final int DEFAULT_MAX_SHAPES = 256;
+
+  /** Shape of a query which can not be cached */
+  static final long DYNAMIC = 0L;
+
+  /** Shape of a query without any optional clause (sentinel bit only) */
+  static final long EMPTY = 1L;
+  // Constants -
+
+
+  // Attributes +
+  /** Maximum number of shapes */
+  private final int maxShapes;
+
+  /** Open addressing table */
+  private volatile AtomicReferenceArray<Entry> table;
+
+  /** Number of cached shapes */
+  private final AtomicInteger count = new AtomicInteger();
+  // Attributes -
+
+
+  /**
+   * Cache entry
+   */
+  private static final class Entry {
+
+    /** Query shape */
+    final long shape;
+
+    /** Rendered query */
+    final String query;
+
+    /**
+     * {@link Entry} constructor
+     *
+     * @param shape the query shape
+     * @param query the rendered query
+     */
+    Entry(final long shape, final String query) {
+      this.shape = shape;
+      this.query = query;
+    }
+
+  }
+
+
+  // Constructors +
+  /**
+   * {@link ShapeCache} constructor with {@link #DEFAULT_MAX_SHAPES} maximum shapes
+   */
+  public ShapeCache() {
+    this(DEFAULT_MAX_SHAPES);
+  }
+
+  /**
+   * {@link ShapeCache} constructor.<br>
+   * When the cache is full, new shapes are rendered but not stored.
+   *
+   * @param maxShapes the maximum number of shapes to keep
+   */
+  public ShapeCache(final int maxShapes) {
+    if(maxShapes < 1) {
+      throw new IllegalArgumentException("Maximum number of shapes must be greater than 0: " + maxShapes);
+    }
+    this.maxShapes = maxShapes;
+    table = new AtomicReferenceArray<>(Integer.highestOneBit(maxShapes * 2 - 1) << 1);
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * Retrieve the rendered query for the shape or render and store it
+   *
+   * @param shape the query shape
+   * @param buffer the query fragment to render on cache miss
+   *
+   * @return the rendered query
+   */
+  String query(final long shape, final Fragment buffer) {
+    return query(shape, buffer, null);
+  }
+
+  /**
+   * Retrieve the rendered query for the shape or render and store it
+   *
+   * @param shape the query shape
+   * @param renderer the query renderer to call on cache miss
+   *
+   * @return the rendered query
+   */
+  String query(final long shape, final Supplier<String> renderer) {
+    return query(shape, null, renderer);
+  }
+
+  /**
+   * Retrieve the rendered query for the shape or render and store it
+   *
+   * @param shape the query shape
+   * @param buffer the query fragment to render on cache miss (or {@code null})
+   * @param renderer the query renderer to call on cache miss when there is no fragment
+   *
+   * @return the rendered query
+   */
+  private String query(final long shape, final Fragment buffer, final Supplier<String> renderer) {
+    if(shape == DYNAMIC) {
+      return render(buffer, renderer);
+    }
+    final AtomicReferenceArray<Entry> entries = table;
+    final int mask = entries.length() - 1;
+    int idx = hash(shape) & mask;
+    int probes = 0;
+    while(probes < entries.length()) {
+      final Entry entry = entries.get(idx);
+      if(entry == null) {
+        final String query = render(buffer, renderer);
+        if(count.get() >= maxShapes) {
+          return query;
+        }
+        if(entries.compareAndSet(idx, null, new Entry(shape, query))) {
+          count.incrementAndGet();
+          return query;
+        }
+        // Slot has just been taken by another thread: check it again
+      } else if(entry.shape == shape) {
+        return entry.query;
+      } else {
+        idx = (idx + 1) & mask;
+        ++probes;
+      }
+    }
+    return render(buffer, renderer);
+  }
+
+  /**
+   * Render query
+   *
+   * @param buffer the query fragment (or {@code null})
+   * @param renderer the query renderer to call when there is no fragment
+   *
+   * @return the rendered query
+   */
+  private static String render(final Fragment buffer, final Supplier<String> renderer) {
+    return buffer != null ? buffer.toString() : renderer.get();
+  }
+
+  /**
+   * Number of cached shapes
+   *
+   * @return the number of cached shapes
+   */
+  public int size() {
+    return count.get();
+  }
+
+  /**
+   * Remove every cached shape
+   */
+  public void clear() {
+    table = new AtomicReferenceArray<>(table.length());
+    count.set(0);
+  }
+
+  /**
+   * Spread shape bits
+   *
+   * @param shape the shape
+   *
+   * @return the hash
+   */
+  private static int hash(final long shape) {
+    final long h = shape * 0x9E3779B97F4A7C15L;
+    return (int)(h ^ (h >>> 32));
+  }
+
+  /**
+   * Append optional clause inclusion to shape
+   *
+   * @param shape the current shape
+   * @param included {@code true} if the clause has been included, {@code false} otherwise
+   *
+   * @return the new shape
+   */
+  static long append(final long shape, final boolean included) {
+    if(shape == DYNAMIC || shape < 0L) { // Sentinel bit would be lost
+      return DYNAMIC;
+    }
+    return (shape << 1) | (included ? 1L : 0L);
+  }
+
+  /**
+   * Append other builder shape (subquery or nested clauses) to shape
+   *
+   * @param shape the current shape
+   * @param other the other shape
+   *
+   * @return the new shape
+   */
+  static long append(final long shape, final long other) {
+    if(shape == DYNAMIC || other == DYNAMIC) {
+      return DYNAMIC;
+    }
+    final int bits = 63 - Long.numberOfLeadingZeros(other);
+    if(bits > Long.numberOfLeadingZeros(shape)) { // Sentinel bit would be lost
+      return DYNAMIC;
+    }
+    return (shape << bits) | (other & ~Long.highestOneBit(other));
+  }
+  // Methods -
+
+}
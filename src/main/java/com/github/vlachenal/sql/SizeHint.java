@@ -0,0 +1,135 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+
+/**
+ * Adaptive builder size hint.<br>
+ * <br>
+ * A size hint learns the size reached by the builders created with it: the next
+ * builders are allocated with this size so that their buffers do not grow anymore.
+ * A hint has to be used for one builder of one call site (or query template) and
+ * shared between calls. Clauses and subqueries are not copied in their parent
+ * builder: they need their own hint.
+ * <pre>
+ * private static final SizeHint SEARCH = new SizeHint();
+ * private static final SizeHint SEARCH_WHERE = new SizeHint();
+ * ...
+ * SQL.select(SEARCH).field("*").from("Heroes").where(SQL.clauses(SEARCH_WHERE).and(...)...).build();
+ * </pre>
+ * Learned sizes are a high-water mark, not a typical size: the hint keeps the largest
+ * size reached by its builders and never shrinks. One large query makes every next
+ * builder of the call site allocated at its size, up to the caps (65536
+ * characters and 4096 values). Call sites whose queries are sometimes
+ * much larger than usual should use a hint per query variant or no hint.<br>
+ * <br>
+ * This class is thread safe.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public final class SizeHint {
+
+  // Constants +
+  /** Maximum learned number of characters */
+  static final int MAX_CHARS = 1 << 16;
+
+  /** Maximum learned number of prepared statement values */
+  static final int MAX_PARAMS = 1 << 12;
+  // Constants -
+
+
+  // Attributes +
+  /** Expected number of characters */
+  private volatile int chars;
+
+  /** Expected number of prepared statement values */
+  private volatile int params;
+  // Attributes -
+
+
+  // Constructors +
+  /**
+   * {@link SizeHint} default constructor
+   */
+  public SizeHint() {
+    this(16, 10);
+  }
+
+  /**
+   * {@link SizeHint} constructor with initial expected sizes
+   *
+   * @param expectedChars the initial expected number of characters
+   * @param expectedParams the initial expected number of prepared statement values
+   */
+  public SizeHint(final int expectedChars, final int expectedParams) {
+    chars = Math.min(Math.max(expectedChars, 0), MAX_CHARS);
+    params = Math.min(Math.max(expectedParams, 0), MAX_PARAMS);
+  }
+  // Constructors -
+
+
+  // Accessors +
+  /**
+   * Expected number of characters getter
+   *
+   * @return the expected number of characters
+   */
+  public int getChars() {
+    return chars;
+  }
+
+  /**
+   * Expected number of prepared statement values getter
+   *
+   * @return the expected number of prepared statement values
+   */
+  public int getParams() {
+    return params;
+  }
+  // Accessors -
+
+
+  // Methods +
+  /**
+   * Learn number of characters
+   *
+   * @param size the number of characters reached by a builder
+   */
+  void chars(final int size) {
+    if(size > chars && chars < MAX_CHARS) {
+      chars = Math.min(size, MAX_CHARS);
+    }
+  }
+
+  /**
+   * Learn number of prepared statement values
+   *
+   * @param size the number of values reached by a builder
+   */
+  void params(final int size) {
+    if(size > params && params < MAX_PARAMS) {
+      params = Math.min(size, MAX_PARAMS);
+    }
+  }
+  // Methods -
+
+}
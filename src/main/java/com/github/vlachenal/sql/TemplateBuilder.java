@@ -0,0 +1,182 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * {@link QueryTemplate} builder.<br>
+ * This class should be instantiated through {@link SQL#template(String)}.<br>
+ * <br>
+ * Every optional clause of the query is declared once with its clause maker and
+ * value checker. Each clause has to hold exactly one prepared statement value.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public class TemplateBuilder {
+
+  // Constants +
+  /** Maximum number of optional clauses */
+  static final int MAX_CLAUSES = 62;
+  // Constants -
+
+
+  // Attributes +
+  /** Statement before the clauses */
+  private final String statement;
+
+  /** Text after the clauses */
+  private String suffix = "";
+
+  /** Clauses' boolean aggregators */
+  private final List<String> aggregators = new ArrayList<>();
+
+  /** Clauses' text */
+  private final List<String> clauses = new ArrayList<>();
+
+  /** Clauses' value checkers */
+  private final List<ValueChecker<?>> checkers = new ArrayList<>();
+  // Attributes -
+
+
+  // Constructors +
+  /**
+   * {@link TemplateBuilder} constructor
+   *
+   * @param statement the statement before the clauses (such as {@code SELECT * FROM Heroes})
+   */
+  public TemplateBuilder(final String statement) {
+    this.statement = statement;
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * Add optional {@code AND} clause.<br>
+   * Clause is included when its value is valid according to {@code SQL::isValidValue} function.
+   *
+   * @param column the column
+   * @param clause the clause maker
+   *
+   * @return {@code this}
+   */
+  public TemplateBuilder and(final String column, final ClauseMaker clause) {
+    return addClause(" AND ", column, clause, SQL::isValidValue);
+  }
+
+  /**
+   * Add optional {@code AND} clause.<br>
+   * Clause is included when its value is valid according to the checker.
+   *
+   * @param <T> the value type
+   *
+   * @param column the column
+   * @param clause the clause maker
+   * @param checker the value checker
+   *
+   * @return {@code this}
+   */
+  public <T> TemplateBuilder and(final String column, final ClauseMaker clause, final ValueChecker<T> checker) {
+    return addClause(" AND ", column, clause, checker);
+  }
+
+  /**
+   * Add optional {@code OR} clause.<br>
+   * Clause is included when its value is valid according to {@code SQL::isValidValue} function.
+   *
+   * @param column the column
+   * @param clause the clause maker
+   *
+   * @return {@code this}
+   */
+  public TemplateBuilder or(final String column, final ClauseMaker clause) {
+    return addClause(" OR ", column, clause, SQL::isValidValue);
+  }
+
+  /**
+   * Add optional {@code OR} clause.<br>
+   * Clause is included when its value is valid according to the checker.
+   *
+   * @param <T> the value type
+   *
+   * @param column the column
+   * @param clause the clause maker
+   * @param checker the value checker
+   *
+   * @return {@code this}
+   */
+  public <T> TemplateBuilder or(final String column, final ClauseMaker clause, final ValueChecker<T> checker) {
+    return addClause(" OR ", column, clause, checker);
+  }
+
+  /**
+   * Set the text after the clauses (such as {@code ORDER BY id})
+   *
+   * @param text the text
+   *
+   * @return {@code this}
+   */
+  public TemplateBuilder suffix(final String text) {
+    suffix = text.isEmpty() || text.charAt(0) == ' ' ? text : ' ' + text;
+    return this;
+  }
+
+  /**
+   * Build query template
+   *
+   * @return the query template
+   */
+  public QueryTemplate build() {
+    return new QueryTemplate(statement, suffix, aggregators.toArray(new String[0]), clauses.toArray(new String[0]),
+                             checkers.toArray(new ValueChecker<?>[0]));
+  }
+
+  /**
+   * Add optional clause
+   *
+   * @param boolAgg the boolean aggregator
+   * @param column the column
+   * @param clause the clause maker
+   * @param checker the value checker
+   *
+   * @return {@code this}
+   */
+  private TemplateBuilder addClause(final String boolAgg, final String column, final ClauseMaker clause, final ValueChecker<?> checker) {
+    if(clauses.size() == MAX_CLAUSES) {
+      throw new IllegalStateException("Template can not have more than " + MAX_CLAUSES + " clauses");
+    }
+    final String text = clause.makeClause(column);
+    final int placeholder = text.indexOf('?');
+    if(placeholder < 0 || text.indexOf('?', placeholder + 1) >= 0) {
+      throw new IllegalArgumentException("Template clause has to hold exactly one value: " + text);
+    }
+    aggregators.add(boolAgg);
+    clauses.add(text);
+    checkers.add(checker);
+    return this;
+  }
+  // Methods -
+
+}
@@ -0,0 +1,135 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * {@code UNION} branches built as separate SQL queries.<br>
+ * <br>
+ * Branches can be executed at the same time (on separate connections) and their
+ * results merged on client side as the database would do: operators are folded
+ * from left to right, {@code UNION ALL} concatenates results and {@code UNION}
+ * removes duplicate rows from the results merged so far:
+ * <pre>
+ * final UnionQuery union = SQL.select().field("id").from("Heroes_2023")
+ *     .unionAll(SQL.select().field("id").from("Heroes_2024"))
+ *     .buildUnion();
+ * </pre>
+ * Duplicate rows are detected with their {@code equals} and {@code hashCode} methods.<br>
+ * Queries split on their {@code IN} list values are also provided as {@code UNION ALL}
+ * branches (see {@link SQL#splitIn(java.util.Collection, int, java.util.function.Function)}).
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ *
+ * @see SelectBuilder#buildUnion()
+ * @see SQL#splitIn(java.util.Collection, int, java.util.function.Function)
+ */
+public final class UnionQuery {
+
+  // Attributes +
+  /** Branches */
+  private final List<SQLQuery> branches;
+
+  /** {@code UNION ALL} operator before each branch (first one is not used) */
+  private final boolean[] all;
+  // Attributes -
+
+
+  // Constructors +
+  /**
+   * {@link UnionQuery} constructor
+   *
+   * @param branches the branches
+   * @param all the {@code UNION ALL} operator before each branch
+   */
+  UnionQuery(final List<SQLQuery> branches, final boolean[] all) {
+    this.branches = Collections.unmodifiableList(branches);
+    this.all = all;
+  }
+  // Constructors -
+
+
+  // Accessors +
+  /**
+   * Branches getter
+   *
+   * @return the branches' queries
+   */
+  public List<SQLQuery> getBranches() {
+    return branches;
+  }
+
+  /**
+   * Check branch operator
+   *
+   * @param branch the branch index (greater than {@code 0})
+   *
+   * @return {@code true} if the branch is merged with {@code UNION ALL}, {@code false} for {@code UNION}
+   */
+  public boolean isAll(final int branch) {
+    return all[branch];
+  }
+  // Accessors -
+
+
+  // Methods +
+  /**
+   * Merge branches' results from left to right
+   *
+   * @param <T> the row type
+   *
+   * @param results the results of each branch, in branches order
+   *
+   * @return the merged results
+   */
+  public <T> List<T> merge(final List<List<T>> results) {
+    if(results.size() != branches.size()) {
+      throw new IllegalArgumentException("Expected " + branches.size() + " results but got " + results.size());
+    }
+    List<T> merged = new ArrayList<>(results.get(0));
+    Set<T> distinct = null; // Merged rows while they are duplicate free
+    for(int i = 1 ; i < all.length ; ++i) {
+      if(all[i]) {
+        if(distinct != null) {
+          merged = new ArrayList<>(distinct);
+          distinct = null;
+        }
+        merged.addAll(results.get(i));
+      } else {
+        if(distinct == null) {
+          distinct = new LinkedHashSet<>(merged);
+          merged = null;
+        }
+        distinct.addAll(results.get(i));
+      }
+    }
+    return distinct == null ? merged : new ArrayList<>(distinct);
+  }
+  // Methods -
+
+}
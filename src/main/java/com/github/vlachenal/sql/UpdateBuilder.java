@@ -19,8 +19,6 @@
 */
 package com.github.vlachenal.sql;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 
@@ -35,11 +33,14 @@ import java.util.Optional;
 public class UpdateBuilder {
 
   // Attributes +
-  /** SQL request string buffer */
-  final StringBuilder buffer;
+  /** SQL request fragment */
+  final Fragment buffer;
 
-  /** Clauses values */
-  final List<Object> values;
+  /** Query shape (see {@link ShapeCache}) */
+  long shape = ShapeCache.EMPTY;
+
+  /** The table to update */
+  private String table;
   // Attributes -
 
 
@@ -50,13 +51,65 @@ public class UpdateBuilder {
    * @param table the table to update
    */
   public UpdateBuilder(final String table) {
-    buffer = new StringBuilder("UPDATE ").append(table).append(" SET ");
-    values = new ArrayList<>();
+    buffer = new Fragment("UPDATE ").append(table).append(" SET ");
+    this.table = table;
+  }
+
+  /**
+   * {@link UpdateBuilder} constructor with capacity hints.<br>
+   * Nested clauses are not copied in this builder: their size does not have
+   * to be taken into account.
+   *
+   * @param table the table to update
+   * @param expectedChars the expected number of characters
+   * @param expectedParams the expected number of prepared statement values
+   */
+  public UpdateBuilder(final String table, final int expectedChars, final int expectedParams) {
+    buffer = new Fragment(expectedChars, expectedParams, null).append("UPDATE ").append(table).append(" SET ");
+    this.table = table;
+  }
+
+  /**
+   * {@link UpdateBuilder} constructor with adaptive size hint.<br>
+   * Builder is sized with the hint and the hint learns the size reached by this builder.
+   *
+   * @param table the table to update
+   * @param hint the call site size hint
+   */
+  public UpdateBuilder(final String table, final SizeHint hint) {
+    buffer = new Fragment(hint.getChars(), hint.getParams(), hint).append("UPDATE ").append(table).append(" SET ");
+    this.table = table;
   }
   // Constructors -
 
 
   // Methods +
+  /**
+   * Reset builder to its initial state keeping its allocated capacity.<br>
+   * Builder must not be reset while a builder in which it has been added has
+   * not been built yet: its content is linked, not copied.
+   *
+   * @return {@code this}
+   */
+  public UpdateBuilder reset() {
+    return reset(table);
+  }
+
+  /**
+   * Reset builder to its initial state on another table keeping its allocated capacity
+   *
+   * @param table the table to update
+   *
+   * @return {@code this}
+   */
+  UpdateBuilder reset(final String table) {
+    this.table = table;
+    buffer.clear();
+    buffer.append("UPDATE ").append(table).append(" SET ");
+    shape = ShapeCache.EMPTY;
+    return this;
+  }
+
   /**
    * Add field to update.<br>
    * Value will be added as prepared statement value (with '?' wildcard).
@@ -67,11 +120,39 @@ public class UpdateBuilder {
    * @return {@code this}
    */
   public UpdateBuilder field(final String column, final Object value) {
-    if(!values.isEmpty()) {
+    return addField(column, value, ValueTypes.of(value));
+  }
+
+  /**
+   * Add field to update.<br>
+   * Value will be added as prepared statement value (with '?' wildcard). {@code null}
+   * value will be bound with {@code setNull} and this SQL type.
+   *
+   * @param column the column
+   * @param value the value
+   * @param sqlType the column SQL type (see {@link java.sql.Types})
+   *
+   * @return {@code this}
+   */
+  public UpdateBuilder field(final String column, final Object value, final int sqlType) {
+    return addField(column, value, value == null ? ValueTypes.nullOf(sqlType) : ValueTypes.of(value));
+  }
+
+  /**
+   * Add field to update
+   *
+   * @param column the column
+   * @param value the value
+   * @param type the value type (see {@link ValueTypes})
+   *
+   * @return {@code this}
+   */
+  private UpdateBuilder addField(final String column, final Object value, final int type) {
+    if(buffer.paramSize() != 0) {
       buffer.append(", ");
     }
     buffer.append(column).append(" = ?");
-    values.add(value);
+    buffer.add(value, type);
     return this;
   }
 
@@ -85,6 +166,7 @@ public class UpdateBuilder {
    * @return {@code this}
    */
   public UpdateBuilder field(final String column, final Optional<?> value) {
+    shape = ShapeCache.append(shape, value.isPresent());
   	value.ifPresent(o -> field(column, o));
     return this;
   }
@@ -97,9 +179,10 @@ public class UpdateBuilder {
    * @return the {@link UpdateBuilder}
    */
   public UpdateBuilder where(final ClausesBuilder clauses) {
+    shape = ShapeCache.append(shape, !clauses.firstClause);
     if(!clauses.firstClause) { // which means that at least one clause has been added
       buffer.append(" WHERE ").append(clauses.buffer);
-      values.addAll(clauses.values);
+      shape = ShapeCache.append(shape, clauses.shape);
     }
     return this;
   }
@@ -110,8 +193,20 @@ public class UpdateBuilder {
    * @return the query and its prepared statement values
    */
   public SQLQuery build() {
-    return new SQLQuery(buffer.toString(), values);
+    return new SQLQuery(buffer.toString(), buffer);
   }
+
+  /**
+   * Build SQL query sharing the rendered query string with every query of the same shape
+   *
+   * @param cache the query template shape cache
+   *
+   * @return the query and its prepared statement values
+   */
+  public SQLQuery build(final ShapeCache cache) {
+    return new SQLQuery(cache.query(shape, buffer), buffer);
+  }
+
   // Methods -
 
 }
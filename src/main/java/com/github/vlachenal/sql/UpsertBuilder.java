@@ -0,0 +1,396 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+
+/**
+ * SQL upsert request builder: rows are inserted or updated when they conflict with
+ * existing rows on the conflict columns.<br>
+ * This class should be instantiated through {@link SQL} static method.<br>
+ * <br>
+ * Rows are added as with {@link InsertBuilder}. Statement is rendered with the
+ * {@link UpsertSyntax} of the database engine (the {@link SQL#getDialect()} one or {@link UpsertSyntax#ON_CONFLICT} by default):
+ * <pre>
+ * final SQLQuery query = SQL.upsert("Heroes").syntax(UpsertSyntax.MERGE).onConflict("id")
+ *     .field("id", 1L)
+ *     .field("age", Optional.of(46))
+ *     .build();
+ * </pre>
+ * Every inserted column but the conflict columns is updated unless update columns
+ * are set with {@link #update(String...)} or {@link #doNothing()} is called.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public class UpsertBuilder {
+
+  // Attributes +
+  /** Inserted rows */
+  private final InsertBuilder insert;
+
+  /** Conflict columns */
+  private List<String> keys = Collections.emptyList();
+
+  /** Update columns ({@code null} for every column but the conflict columns) */
+  private List<String> updates;
+
+  /** Statement syntax */
+  private UpsertSyntax syntax;
+  // Attributes -
+
+
+  // Constructors +
+  /**
+   * {@link UpsertBuilder} constructor
+   *
+   * @param table the table to upsert into
+   */
+  public UpsertBuilder(final String table) {
+    insert = new InsertBuilder(table);
+    dialect(SQL.getDialect());
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * Set the statement syntax and the maximum number of prepared statement values with
+   * the SQL dialect (see {@link Dialect#upsertSyntax()} and {@link Dialect#maxParams()})
+   *
+   * @param sqlDialect the dialect ({@code null} for defaults)
+   *
+   * @return {@code this}
+   */
+  public UpsertBuilder dialect(final Dialect sqlDialect) {
+    syntax = sqlDialect == null ? UpsertSyntax.ON_CONFLICT : sqlDialect.upsertSyntax();
+    insert.dialect(sqlDialect);
+    return this;
+  }
+
+  /**
+   * Set statement syntax
+   *
+   * @param upsert the syntax
+   *
+   * @return {@code this}
+   */
+  public UpsertBuilder syntax(final UpsertSyntax upsert) {
+    syntax = upsert;
+    return this;
+  }
+
+  /**
+   * Set conflict columns: the columns of the primary key or unique constraint which
+   * identify existing rows.<br>
+   * {@link UpsertSyntax#ON_DUPLICATE_KEY} syntax does not name them: every unique
+   * constraint is checked.
+   *
+   * @param columns the conflict columns
+   *
+   * @return {@code this}
+   */
+  public UpsertBuilder onConflict(final String... columns) {
+    keys = Arrays.asList(columns);
+    return this;
+  }
+
+  /**
+   * Set the columns to update on conflict.<br>
+   * Columns which are not inserted are not updated.
+   *
+   * @param columns the columns to update
+   *
+   * @return {@code this}
+   */
+  public UpsertBuilder update(final String... columns) {
+    updates = Arrays.asList(columns);
+    return this;
+  }
+
+  /**
+   * Do not update conflicting rows: only missing rows are inserted
+   *
+   * @return {@code this}
+   */
+  public UpsertBuilder doNothing() {
+    updates = Collections.emptyList();
+    return this;
+  }
+
+  /**
+   * Set the maximum number of prepared statement values per statement (see {@link InsertBuilder#maxParams(int)})
+   *
+   * @param max the maximum number of values
+   *
+   * @return {@code this}
+   */
+  public UpsertBuilder maxParams(final int max) {
+    insert.maxParams(max);
+    return this;
+  }
+
+  /**
+   * Add field to upsert.<br>
+   * Value will be added as prepared statement value (with '?' wildcard).
+   *
+   * @param column the column
+   * @param value the value
+   *
+   * @return {@code this}
+   */
+  public UpsertBuilder field(final String column, final Object value) {
+    insert.field(column, value);
+    return this;
+  }
+
+  /**
+   * Add field to upsert.<br>
+   * Value will be added as prepared statement value (with '?' wildcard). {@code null}
+   * value will be bound with {@code setNull} and this SQL type.
+   *
+   * @param column the column
+   * @param value the value
+   * @param sqlType the column SQL type (see {@link java.sql.Types})
+   *
+   * @return {@code this}
+   */
+  public UpsertBuilder field(final String column, final Object value, final int sqlType) {
+    insert.field(column, value, sqlType);
+    return this;
+  }
+
+  /**
+   * Add field to upsert.<br>
+   * Field is neither inserted nor updated when value is empty.
+   *
+   * @param column the column
+   * @param value the value
+   *
+   * @return {@code this}
+   */
+  public UpsertBuilder field(final String column, final Optional<?> value) {
+    insert.field(column, value);
+    return this;
+  }
+
+  /**
+   * Set columns for multi-row upsert
+   *
+   * @param names the columns
+   *
+   * @return {@code this}
+   */
+  public UpsertBuilder columns(final String... names) {
+    insert.columns(names);
+    return this;
+  }
+
+  /**
+   * Add row for multi-row upsert
+   *
+   * @param row the row values in columns' order
+   *
+   * @return {@code this}
+   */
+  public UpsertBuilder row(final Object... row) {
+    insert.row(row);
+    return this;
+  }
+
+  /**
+   * Resolve the columns to update
+   *
+   * @return the inserted columns to update
+   */
+  private List<String> updated() {
+    final List<String> columns = new ArrayList<>(insert.width);
+    for(final String column : insert.columns) {
+      if(updates == null ? !keys.contains(column) : updates.contains(column)) {
+        columns.add(column);
+      }
+    }
+    return columns;
+  }
+
+  /**
+   * Render statement text
+   *
+   * @param nbRows the number of rows
+   *
+   * @return the statement
+   */
+  String render(final int nbRows) {
+    final List<String> updated = updated();
+    final StringBuilder out = new StringBuilder(128 + insert.table.length() + insert.width * 48 + nbRows * insert.width * 3);
+    switch(syntax) {
+      case ON_CONFLICT:
+        insert.renderInsert(out, nbRows);
+        out.append(" ON CONFLICT (").append(String.join(", ", keys)).append(") DO ");
+        if(updated.isEmpty()) {
+          out.append("NOTHING");
+        } else {
+          out.append("UPDATE SET ");
+          renderSet(out, updated, "EXCLUDED.", "");
+        }
+        break;
+      case ON_DUPLICATE_KEY:
+        insert.renderInsert(out, nbRows);
+        out.append(" ON DUPLICATE KEY UPDATE ");
+        if(updated.isEmpty()) { // Update without any change
+          final String column = keys.isEmpty() ? insert.columns.get(0) : keys.get(0);
+          out.append(column).append(" = ").append(column);
+        } else {
+          renderSet(out, updated, "VALUES(", ")");
+        }
+        break;
+      default:
+        renderMerge(out, nbRows, updated);
+    }
+    return out.toString();
+  }
+
+  /**
+   * Render {@code MERGE} statement
+   *
+   * @param out the output buffer
+   * @param nbRows the number of rows
+   * @param updated the columns to update
+   */
+  private void renderMerge(final StringBuilder out, final int nbRows, final List<String> updated) {
+    out.append("MERGE INTO ").append(insert.table).append(" d USING (");
+    if(syntax == UpsertSyntax.MERGE) {
+      out.append("VALUES ");
+      insert.renderRows(out, nbRows);
+      out.append(") s (");
+      insert.renderColumns(out, null);
+      out.append(')');
+    } else {
+      for(int i = 0 ; i < nbRows ; ++i) {
+        out.append(i == 0 ? "SELECT " : " UNION ALL SELECT ");
+        for(int j = 0 ; j < insert.width ; ++j) {
+          if(j != 0) {
+            out.append(", ");
+          }
+          out.append('?');
+          if(i == 0) {
+            out.append(' ').append(insert.columns.get(j));
+          }
+        }
+        out.append(" FROM dual");
+      }
+      out.append(") s");
+    }
+    out.append(" ON (");
+    for(int i = 0 ; i < keys.size() ; ++i) {
+      if(i != 0) {
+        out.append(" AND ");
+      }
+      out.append("d.").append(keys.get(i)).append(" = s.").append(keys.get(i));
+    }
+    out.append(')');
+    if(!updated.isEmpty()) {
+      out.append(" WHEN MATCHED THEN UPDATE SET ");
+      renderSet(out, updated, "s.", "");
+    }
+    out.append(" WHEN NOT MATCHED THEN INSERT (");
+    insert.renderColumns(out, null);
+    out.append(") VALUES (");
+    insert.renderColumns(out, "s.");
+    out.append(')');
+    if(syntax == UpsertSyntax.MERGE) {
+      out.append(';'); // Required by SQL Server
+    }
+  }
+
+  /**
+   * Render updated columns
+   *
+   * @param out the output buffer
+   * @param updated the columns to update
+   * @param prefix the new value prefix
+   * @param suffix the new value suffix
+   */
+  private static void renderSet(final StringBuilder out, final List<String> updated, final String prefix, final String suffix) {
+    for(int i = 0 ; i < updated.size() ; ++i) {
+      if(i != 0) {
+        out.append(", ");
+      }
+      final String column = updated.get(i);
+      out.append(column).append(" = ").append(prefix).append(column).append(suffix);
+    }
+  }
+
+  /**
+   * Check that statement can be built
+   */
+  private void check() {
+    insert.check();
+    if(keys.isEmpty() && syntax != UpsertSyntax.ON_DUPLICATE_KEY) {
+      throw new IllegalStateException("Conflict columns have to be set");
+    }
+  }
+
+  /**
+   * Build SQL query.<br>
+   * Every row is upserted by this query whatever the number of values.
+   *
+   * @return the query and its prepared statement values
+   */
+  public SQLQuery build() {
+    check();
+    return new SQLQuery(render(insert.rowCount()), insert.values);
+  }
+
+  /**
+   * Build SQL query sharing the rendered query string with every query of the same shape.<br>
+   * Multi-row queries are never cached.
+   *
+   * @param cache the query template shape cache
+   *
+   * @return the query and its prepared statement values
+   */
+  public SQLQuery build(final ShapeCache cache) {
+    check();
+    if(insert.shape == ShapeCache.DYNAMIC) {
+      return build();
+    }
+    return new SQLQuery(cache.query(insert.shape, () -> render(1)), insert.values);
+  }
+
+  /**
+   * Build SQL queries splitting rows so that each query has at most {@link #maxParams(int)}
+   * values. Full queries share the same query string.
+   *
+   * @return the queries and their prepared statement values
+   */
+  public List<SQLQuery> buildAll() {
+    check();
+    return insert.buildAll(this::render, 0);
+  }
+  // Methods -
+
+}
@@ -0,0 +1,44 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+
+/**
+ * Upsert statement syntax (see {@link UpsertBuilder})
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+public enum UpsertSyntax {
+
+  /** {@code INSERT ... ON CONFLICT (...) DO UPDATE SET ...}: PostgreSQL */
+  ON_CONFLICT,
+
+  /** {@code INSERT ... ON DUPLICATE KEY UPDATE ...}: MySQL, MariaDB */
+  ON_DUPLICATE_KEY,
+
+  /** {@code MERGE INTO ... USING (VALUES ...) ...;}: SQL Server, H2 */
+  MERGE,
+
+  /** {@code MERGE INTO ... USING (SELECT ... FROM dual) ...}: Oracle */
+  MERGE_FROM_DUAL
+
+}
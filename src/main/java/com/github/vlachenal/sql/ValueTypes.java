@@ -0,0 +1,305 @@
+/*
+  SQL request builder:  Dynamic SQL request builder for java
+  Copyright (C) 2018 Vincent Lachenal
+
+  This file is part of SQL request builder.
+
+  SQL request builder is free software: you can redistribute it and/or modify
+  it under the terms of the GNU Lesser General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  SQL request builder is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU Lesser General Public License for more details.
+
+  You should have received a copy of the GNU Lesser General Public License
+  along with SQL request builder. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.github.vlachenal.sql;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+
+/**
+ * Prepared statement value type tags.<br>
+ * <br>
+ * Value type is resolved once, when the value is added to a builder, so that
+ * values are bound with the matching typed setter. Type tag is held in the low
+ * byte: {@code null} values also hold their SQL type (see {@link Types}) in the
+ * upper bytes.<br>
+ * Primitive values are not boxed: they are stored as {@code long} bits next to
+ * the values.
+ *
+ * @since 0.15
+ *
+ * @author Vincent Lachenal
+ */
+final class ValueTypes {
+
+  // Constants +
+  /** Other object: bound with {@code setObject} */
+  static final int OBJECT = 0;
+
+  /** {@code null} value: bound with {@code setNull} when SQL type is known, {@code setObject} otherwise */
+  static final int NULL = 1;
+
+  /** {@link String} value */
+  static final int STRING = 2;
+
+  /** {@link Long} value */
+  static final int LONG = 3;
+
+  /** {@link Integer} value */
+  static final int INT = 4;
+
+  /** {@link Short} value */
+  static final int SHORT = 5;
+
+  /** {@link Byte} value */
+  static final int BYTE = 6;
+
+  /** {@link Double} value */
+  static final int DOUBLE = 7;
+
+  /** {@link Float} value */
+  static final int FLOAT = 8;
+
+  /** {@link Boolean} value */
+  static final int BOOLEAN = 9;
+
+  /** {@link BigDecimal} value */
+  static final int BIG_DECIMAL = 10;
+
+  /** {@link Timestamp} value */
+  static final int TIMESTAMP = 11;
+
+  /** {@link Date} value */
+  static final int DATE = 12;
+
+  /** {@link Time} value */
+  static final int TIME = 13;
+
+  /** {@code byte[]} value */
+  static final int BYTES = 14;
+
+  /** {@link java.util.Date} value: bound as timestamp */
+  static final int UTIL_DATE = 15;
+
+  /** Primitive {@code long} value */
+  static final int PRIMITIVE_LONG = 16;
+
+  /** Primitive {@code int} value */
+  static final int PRIMITIVE_INT = 17;
+
+  /** Primitive {@code double} value (stored with {@link Double#doubleToRawLongBits(double)}) */
+  static final int PRIMITIVE_DOUBLE = 18;
+
+  /** {@link SQLArray} value: the array is created when the value is bound */
+  static final int ARRAY = 19;
+
+  /** Type tag mask */
+  private static final int TAG_MASK = 0xFF;
+  // Constants -
+
+
+  // Constructors +
+  /**
+   * {@link ValueTypes} private constructor
+   */
+  private ValueTypes() {
+    // Nothing to do
+  }
+  // Constructors -
+
+
+  // Methods +
+  /**
+   * Resolve value type
+   *
+   * @param value the value
+   *
+   * @return the type tag
+   */
+  static int of(final Object value) {
+    if(value == null) {
+      return nullOf(Types.NULL);
+    }
+    if(value instanceof String) {
+      return STRING;
+    }
+    if(value instanceof Long) {
+      return LONG;
+    }
+    if(value instanceof Integer) {
+      return INT;
+    }
+    if(value instanceof Short) {
+      return SHORT;
+    }
+    if(value instanceof Byte) {
+      return BYTE;
+    }
+    if(value instanceof Double) {
+      return DOUBLE;
+    }
+    if(value instanceof Float) {
+      return FLOAT;
+    }
+    if(value instanceof Boolean) {
+      return BOOLEAN;
+    }
+    if(value instanceof BigDecimal) {
+      return BIG_DECIMAL;
+    }
+    if(value instanceof Timestamp) {
+      return TIMESTAMP;
+    }
+    if(value instanceof Date) {
+      return DATE;
+    }
+    if(value instanceof Time) {
+      return TIME;
+    }
+    if(value instanceof byte[]) {
+      return BYTES;
+    }
+    if(value instanceof java.util.Date) {
+      return UTIL_DATE;
+    }
+    if(value instanceof SQLArray) {
+      return ARRAY;
+    }
+    return OBJECT;
+  }
+
+  /**
+   * {@code null} value type
+   *
+   * @param sqlType the SQL type (see {@link Types})
+   *
+   * @return the type tag
+   */
+  static int nullOf(final int sqlType) {
+    return (sqlType << 8) | NULL;
+  }
+
+  /**
+   * Box primitive value
+   *
+   * @param type the value type tag
+   * @param bits the primitive value bits
+   *
+   * @return the boxed value
+   */
+  static Object box(final int type, final long bits) {
+    switch(type & TAG_MASK) {
+      case PRIMITIVE_LONG:
+        return bits;
+      case PRIMITIVE_INT:
+        return (int)bits;
+      default:
+        return Double.longBitsToDouble(bits);
+    }
+  }
+
+  /**
+   * Check if type is a primitive type
+   *
+   * @param type the value type tag
+   *
+   * @return {@code true} if the value is stored as primitive bits, {@code false} otherwise
+   */
+  static boolean isPrimitive(final int type) {
+    final int tag = type & TAG_MASK;
+    return tag >= PRIMITIVE_LONG && tag <= PRIMITIVE_DOUBLE;
+  }
+
+  /**
+   * Bind value to prepared statement with the typed setter
+   *
+   * @param statement the prepared statement
+   * @param index the parameter index (starting at 1)
+   * @param type the value type tag
+   * @param value the value
+   * @param bits the primitive value bits (for primitive types only)
+   *
+   * @throws SQLException the driver error
+   */
+  static void bind(final PreparedStatement statement, final int index, final int type, final Object value, final long bits) throws SQLException {
+    switch(type & TAG_MASK) {
+      case PRIMITIVE_LONG:
+        statement.setLong(index, bits);
+        break;
+      case PRIMITIVE_INT:
+        statement.setInt(index, (int)bits);
+        break;
+      case PRIMITIVE_DOUBLE:
+        statement.setDouble(index, Double.longBitsToDouble(bits));
+        break;
+      case NULL:
+        if((type >> 8) == Types.NULL) {
+          statement.setObject(index, null);
+        } else {
+          statement.setNull(index, type >> 8);
+        }
+        break;
+      case STRING:
+        statement.setString(index, (String)value);
+        break;
+      case LONG:
+        statement.setLong(index, (Long)value);
+        break;
+      case INT:
+        statement.setInt(index, (Integer)value);
+        break;
+      case SHORT:
+        statement.setShort(index, (Short)value);
+        break;
+      case BYTE:
+        statement.setByte(index, (Byte)value);
+        break;
+      case DOUBLE:
+        statement.setDouble(index, (Double)value);
+        break;
+      case FLOAT:
+        statement.setFloat(index, (Float)value);
+        break;
+      case BOOLEAN:
+        statement.setBoolean(index, (Boolean)value);
+        break;
+      case BIG_DECIMAL:
+        statement.setBigDecimal(index, (BigDecimal)value);
+        break;
+      case TIMESTAMP:
+        statement.setTimestamp(index, (Timestamp)value);
+        break;
+      case DATE:
+        statement.setDate(index, (Date)value);
+        break;
+      case TIME:
+        statement.setTime(index, (Time)value);
+        break;
+      case BYTES:
+        statement.setBytes(index, (byte[])value);
+        break;
+      case UTIL_DATE:
+        statement.setTimestamp(index, new Timestamp(((java.util.Date)value).getTime()));
+        break;
+      case ARRAY:
+        statement.setArray(index, ((SQLArray)value).create(statement.getConnection()));
+        break;
+      default:
+        statement.setObject(index, value);
+    }
+  }
+  // Methods -
+
+}
@@ -0,0 +1,95 @@
+package com.github.vlachenal.sql;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+
+/**
+ * {@link BuilderPool} unit tests
+ *
+ * @author Vincent Lachenal
+ */
+@DisplayName("Builders pool unit tests")
+@Execution(ExecutionMode.CONCURRENT)
+public class BuilderPoolTest {
+
+  // Tests +
+  /**
+   * Test builders reuse after recycle
+   */
+  @Test
+  @DisplayName("Recycle builders")
+  public void testRecycle() {
+    final BuilderPool pool = new BuilderPool();
+    final UpdateBuilder update1 = pool.update("Heroes");
+    final ClausesBuilder clauses1 = pool.clauses();
+    final SQLQuery query1 = update1.field("last_name", "Croft").where(clauses1.and("id", Clauses::equalsTo, 1)).build();
+    final ClausesBuilder clauses2 = pool.clauses();
+    pool.recycle();
+    final UpdateBuilder update2 = pool.update("Villains");
+    final ClausesBuilder clauses3 = pool.clauses();
+    final SQLQuery query2 = update2.field("first_name", "Rene").field("last_name", "Belloq")
+        .where(clauses3.and("id", Clauses::equalsTo, 2)).build();
+    pool.recycle();
+    final SQLQuery query3 = pool.delete("Villains").where(pool.clauses().and("id", Clauses::equalsTo, 3)).build();
+    System.out.println("SQL query: " + query2.getQuery());
+    System.out.println("Values: " + query2.getValues());
+    assertAll(() -> assertEquals("UPDATE Heroes SET last_name = ? WHERE id = ?", query1.getQuery()),
+              () -> assertEquals(Stream.of("Croft", 1).collect(Collectors.toList()), query1.getValues()),
+              () -> assertEquals("UPDATE Villains SET first_name = ?, last_name = ? WHERE id = ?", query2.getQuery()),
+              () -> assertEquals(Stream.of("Rene", "Belloq", 2).collect(Collectors.toList()), query2.getValues()),
+              () -> assertEquals("DELETE FROM Villains WHERE id = ?", query3.getQuery()),
+              () -> assertEquals(Stream.of(3).collect(Collectors.toList()), query3.getValues()),
+              () -> assertNotSame(clauses1, clauses2),
+              () -> assertSame(update1, update2),
+              () -> assertSame(clauses1, clauses3));
+  }
+
+  /**
+   * Test pool size without recycle
+   */
+  @Test
+  @DisplayName("Pool size without recycle")
+  public void testMaxPooled() {
+    final BuilderPool pool = new BuilderPool();
+    SQLQuery last = null;
+    for(int i = 0 ; i < 10 * BuilderPool.MAX_POOLED ; ++i) {
+      last = pool.update("Heroes").field("age", i).where(pool.clauses().and("id", Clauses::equalsTo, i)).build();
+      pool.select();
+      pool.delete("Heroes");
+    }
+    final SQLQuery query = last;
+    assertAll(() -> assertEquals(4 * BuilderPool.MAX_POOLED, pool.size()),
+              () -> assertEquals("UPDATE Heroes SET age = ? WHERE id = ?", query.getQuery()),
+              () -> assertEquals(Stream.of(10 * BuilderPool.MAX_POOLED - 1, 10 * BuilderPool.MAX_POOLED - 1).collect(Collectors.toList()), query.getValues()));
+    pool.recycle();
+    final UpdateBuilder first = pool.update("Villains");
+    pool.recycle();
+    assertSame(first, pool.update("Villains"));
+  }
+
+  /**
+   * Test one pool per thread
+   */
+  @Test
+  @DisplayName("Thread pools")
+  public void testThreadPools() {
+    final BuilderPool pool = SQL.pool();
+    final BuilderPool other = CompletableFuture.supplyAsync(SQL::pool).join();
+    assertAll(() -> assertSame(pool, SQL.pool()),
+              () -> assertNotSame(pool, other));
+  }
+  // Tests -
+
+}
@@ -0,0 +1,109 @@
+package com.github.vlachenal.sql;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+
+/**
+ * {@link BulkUpdateBuilder} unit tests
+ *
+ * @author Vincent Lachenal
+ */
+@DisplayName("Bulk update request builder unit tests")
+@Execution(ExecutionMode.CONCURRENT)
+public class BulkUpdateBuilderTest {
+
+  // Tests +
+  /**
+   * {@code VALUES} join bulk update unit test
+   */
+  @Test
+  @DisplayName("VALUES join bulk update")
+  public void testValuesJoin() {
+    final SQLQuery query = SQL.bulkUpdate("Heroes").syntax(BulkUpdateSyntax.VALUES_JOIN).key("id").columns("first_name", "age")
+        .row(1L, "Indy", 46)
+        .row(2L, "Lara Mae", 29)
+        .build();
+    final SQLQuery typed = SQL.bulkUpdate("Heroes").syntax(BulkUpdateSyntax.VALUES_JOIN).key("id").columns("born")
+        .types("bigint", "timestamp")
+        .row(1L, new Timestamp(0L))
+        .row(2L, new Timestamp(1000L))
+        .build();
+    final SQLQuery defaultSyntax = SQL.bulkUpdate("Heroes").dialect(null).key("id").columns("age").row(1L, 46).build();
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("UPDATE Heroes SET first_name = v.first_name, age = v.age FROM (VALUES (?, ?, ?), (?, ?, ?)) "
+        + "AS v (id, first_name, age) WHERE Heroes.id = v.id", query.getQuery()),
+              () -> assertEquals(Stream.of(1L, "Indy", 46, 2L, "Lara Mae", 29).collect(Collectors.toList()), query.getValues()),
+              () -> assertEquals("UPDATE Heroes SET born = v.born FROM (VALUES (CAST(? AS bigint), CAST(? AS timestamp)), (?, ?)) "
+                  + "AS v (id, born) WHERE Heroes.id = v.id", typed.getQuery()),
+              () -> assertEquals("UPDATE Heroes SET age = CASE id WHEN ? THEN ? ELSE age END WHERE id IN (?)", defaultSyntax.getQuery()),
+              () -> assertThrows(IllegalArgumentException.class, () -> SQL.bulkUpdate("Heroes").key("id").columns("age").types("bigint")),
+              () -> assertThrows(IllegalStateException.class, () -> SQL.bulkUpdate("Heroes").types("bigint")));
+  }
+
+  /**
+   * {@code CASE} bulk update unit test
+   */
+  @Test
+  @DisplayName("CASE bulk update")
+  public void testCase() {
+    final SQLQuery query = SQL.bulkUpdate("Heroes").syntax(BulkUpdateSyntax.CASE).key("id").columns("first_name", "age")
+        .row(1L, "Indy", 46)
+        .row(2L, "Lara Mae", 29)
+        .build();
+    final SQLQuery composite = SQL.bulkUpdate("Heroes").syntax(BulkUpdateSyntax.CASE).key("last_name", "first_name").columns("age")
+        .row("Jones", "Indiana", 46)
+        .row("Croft", "Lara", 29)
+        .build();
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("UPDATE Heroes SET first_name = CASE id WHEN ? THEN ? WHEN ? THEN ? ELSE first_name END, "
+        + "age = CASE id WHEN ? THEN ? WHEN ? THEN ? ELSE age END WHERE id IN (?, ?)", query.getQuery()),
+              () -> assertEquals(Stream.of(1L, "Indy", 2L, "Lara Mae", 1L, 46, 2L, 29, 1L, 2L).collect(Collectors.toList()), query.getValues()),
+              () -> assertEquals("UPDATE Heroes SET age = CASE WHEN last_name = ? AND first_name = ? THEN ? WHEN last_name = ? AND first_name = ? THEN ? "
+                  + "ELSE age END WHERE (last_name = ? AND first_name = ?) OR (last_name = ? AND first_name = ?)", composite.getQuery()),
+              () -> assertEquals(Stream.of("Jones", "Indiana", 46, "Croft", "Lara", 29, "Jones", "Indiana", "Croft", "Lara").collect(Collectors.toList()),
+                                 composite.getValues()));
+  }
+
+  /**
+   * Split bulk update unit test
+   */
+  @Test
+  @DisplayName("Split bulk update")
+  public void testBuildAll() {
+    final BulkUpdateBuilder builder = SQL.bulkUpdate("Heroes").syntax(BulkUpdateSyntax.VALUES_JOIN).key("id").columns("age")
+        .row(1L, 46)
+        .row(2L, 29)
+        .row(3L, 33)
+        .row(4L, 41)
+        .row(5L, 76);
+    final List<SQLQuery> values = builder.maxParams(4).buildAll();
+    final List<SQLQuery> cases = builder.syntax(BulkUpdateSyntax.CASE).maxParams(7).buildAll();
+    assertAll(() -> assertEquals(3, values.size()),
+              () -> assertSame(values.get(0).getQuery(), values.get(1).getQuery()),
+              () -> assertEquals(Stream.of(3L, 33, 4L, 41).collect(Collectors.toList()), values.get(1).getValues()),
+              () -> assertEquals("UPDATE Heroes SET age = v.age FROM (VALUES (?, ?)) AS v (id, age) WHERE Heroes.id = v.id", values.get(2).getQuery()),
+              () -> assertEquals(3, cases.size()),
+              () -> assertEquals(Stream.of(5L, 76, 5L).collect(Collectors.toList()), cases.get(2).getValues()),
+              () -> assertThrows(IllegalStateException.class, () -> SQL.bulkUpdate("Heroes").key("id").columns("age").build()),
+              () -> assertThrows(IllegalStateException.class, () -> SQL.bulkUpdate("Heroes").row(1L, 46)),
+              () -> assertThrows(IllegalArgumentException.class, () -> SQL.bulkUpdate("Heroes").key("id").columns("age").row(1L)),
+              () -> assertThrows(IllegalStateException.class, () -> builder.key("last_name")));
+  }
+  // Tests -
+
+}
@@ -2,6 +2,7 @@ package com.github.vlachenal.sql;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -111,6 +112,51 @@ public class DeleteBuilderTest {
     assertAll(() -> assertEquals("DELETE FROM Heroes WHERE first_name = ? AND last_name LIKE ?", query.getQuery()),
               () -> assertEquals(Stream.of("Lara","Cr%ft").collect(Collectors.toList()), query.getValues()));
   }
+
+  /**
+   * Test delete builder reset
+   */
+  @Test
+  @DisplayName("Reset delete")
+  public void testReset() {
+    final DeleteBuilder delete = SQL.delete("Heroes");
+    final SQLQuery query1 = delete.where(SQL.clauses("first_name", Clauses::equalsTo, "Lara")).build();
+    final SQLQuery query2 = delete.reset().where(SQL.clauses("last_name", Clauses::equalsTo, "Jones")).build();
+    System.out.println("SQL query: " + query2.getQuery());
+    System.out.println("Values: " + query2.getValues());
+    assertAll(() -> assertEquals("DELETE FROM Heroes WHERE first_name = ?", query1.getQuery()),
+              () -> assertEquals(Stream.of("Lara").collect(Collectors.toList()), query1.getValues()),
+              () -> assertEquals("DELETE FROM Heroes WHERE last_name = ?", query2.getQuery()),
+              () -> assertEquals(Stream.of("Jones").collect(Collectors.toList()), query2.getValues()));
+  }
+
+  /**
+   * Bounded DELETE unit test
+   */
+  @Test
+  @DisplayName("Bounded delete")
+  public void testChunk() {
+    final SQLQuery subquery = SQL.delete("Heroes").where(SQL.clauses("last_name", Clauses::equalsTo, "Jones").or("age", Clauses::greater, 70))
+        .chunkKey("id").chunk(100).build();
+    final SQLQuery limit = SQL.delete("Heroes").where(SQL.clauses("age", Clauses::greater, 70)).chunkSyntax(DeleteChunkSyntax.LIMIT).chunk(100).build();
+    final SQLQuery rownum = SQL.delete("Heroes").where(SQL.clauses("last_name", Clauses::equalsTo, "Jones").or("age", Clauses::greater, 70))
+        .chunkSyntax(DeleteChunkSyntax.ROWNUM).chunk(100).build(new ShapeCache());
+    final SQLQuery all = SQL.delete("Heroes").chunkSyntax(DeleteChunkSyntax.ROWNUM).chunk(100).build();
+    final SQLQuery top = SQL.delete("Heroes").where(SQL.clauses("age", Clauses::greater, 70)).chunkSyntax(DeleteChunkSyntax.TOP).chunk(100).build();
+    System.out.println("SQL query: " + subquery.getQuery());
+    System.out.println("Values: " + subquery.getValues());
+    assertAll(() -> assertEquals("DELETE FROM Heroes WHERE id IN (SELECT id FROM Heroes WHERE last_name = ? OR age > ? FETCH FIRST 100 ROWS ONLY)",
+                                 subquery.getQuery()),
+              () -> assertEquals(Stream.of("Jones", 70).collect(Collectors.toList()), subquery.getValues()),
+              () -> assertEquals("DELETE FROM Heroes WHERE age > ? LIMIT 100", limit.getQuery()),
+              () -> assertEquals("DELETE FROM Heroes WHERE (last_name = ? OR age > ?) AND ROWNUM <= 100", rownum.getQuery()),
+              () -> assertEquals(Stream.of("Jones", 70).collect(Collectors.toList()), rownum.getValues()),
+              () -> assertEquals("DELETE FROM Heroes WHERE ROWNUM <= 100", all.getQuery()),
+              () -> assertEquals("DELETE TOP (100) FROM Heroes WHERE age > ?", top.getQuery()),
+              () -> assertEquals(Stream.of(70).collect(Collectors.toList()), top.getValues()),
+              () -> assertThrows(IllegalStateException.class, () -> SQL.delete("Heroes").chunk(10).build()),
+              () -> assertThrows(IllegalArgumentException.class, () -> SQL.delete("Heroes").chunk(0)));
+  }
   // Tests -
 
 }
@@ -0,0 +1,196 @@
+package com.github.vlachenal.sql;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+
+/**
+ * {@link Dialects} unit tests
+ *
+ * @author Vincent Lachenal
+ */
+@DisplayName("SQL dialects unit tests")
+@Execution(ExecutionMode.CONCURRENT)
+public class DialectsTest {
+
+  // Tests +
+  /**
+   * Pagination unit test
+   */
+  @Test
+  @DisplayName("Pagination")
+  public void testPaginate() {
+    final String query = SQL.select().dialect(Dialects.SQL_SERVER).field("*").from("Heroes").orderBy("id").done().paginate(20, 40).build().getQuery();
+    System.out.println("SQL query: " + query);
+    assertAll(() -> assertEquals("SELECT * FROM Heroes ORDER BY id OFFSET 40 ROWS FETCH NEXT 20 ROWS ONLY", query),
+              () -> assertEquals(" LIMIT 20 OFFSET 40", Dialects.POSTGRESQL.paginate(20, 40)),
+              () -> assertEquals(" LIMIT 20", Dialects.MYSQL.paginate(20, 0)),
+              () -> assertEquals(" OFFSET 40 ROWS FETCH FIRST 20 ROWS ONLY", Dialects.ORACLE.paginate(20, 40)),
+              () -> assertEquals(" OFFSET 0 ROWS FETCH NEXT 20 ROWS ONLY", Dialects.SQL_SERVER.paginate(20, 0)),
+              () -> assertEquals("SELECT * FROM Heroes OFFSET 40 ROWS FETCH FIRST 20 ROWS ONLY",
+                                 SQL.select().dialect(null).field("*").from("Heroes").done().paginate(20, 40).build().getQuery()),
+              () -> assertEquals("SELECT * FROM Heroes ORDER BY id LIMIT 21",
+                                 SQL.select().dialect(Dialects.H2).field("*").from("Heroes").orderBy("id").done().fetchPage(20).build().getQuery()),
+              () -> assertThrows(IllegalArgumentException.class, () -> SQL.select().field("*").from("Heroes").done().paginate(0, 10)));
+  }
+
+  /**
+   * Identifier quoting unit test
+   */
+  @Test
+  @DisplayName("Identifier quoting")
+  public void testQuote() {
+    assertAll(() -> assertEquals("\"order\"", Dialects.POSTGRESQL.quote("order")),
+              () -> assertEquals("\"a\"\"b\"", Dialects.STANDARD.quote("a\"b")),
+              () -> assertEquals("`order`", Dialects.MYSQL.quote("order")),
+              () -> assertEquals("[order]", Dialects.SQL_SERVER.quote("order")),
+              () -> assertEquals("[a]]b]", Dialects.SQL_SERVER.quote("a]b")));
+  }
+
+  /**
+   * Keyset pagination without row values unit test
+   */
+  @Test
+  @DisplayName("Keyset pagination without row values")
+  public void testSeekAfter() {
+    final String query = SQL.select().dialect(Dialects.ORACLE).field("*").from("Heroes").done()
+        .seekAfter(new String[] { "last_name", "id" }, "Croft", 2L).paginate(20, 0).build().getQuery();
+    System.out.println("SQL query: " + query);
+    assertEquals("SELECT * FROM Heroes WHERE (last_name > ? OR (last_name = ? AND id > ?)) ORDER BY last_name, id FETCH FIRST 20 ROWS ONLY", query);
+  }
+
+  /**
+   * {@code IN} lists unit test
+   */
+  @Test
+  @DisplayName("IN lists")
+  public void testInList() {
+    final List<Long> ids = Stream.of(1L, 2L, 3L).collect(Collectors.toList());
+    final List<Integer> many = IntStream.range(0, 1500).boxed().collect(Collectors.toList());
+    final List<Integer> large = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+    final SQLQuery array = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().dialect(Dialects.POSTGRESQL).and("id", Clauses::in, ids)).build();
+    final SQLQuery not = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().dialect(Dialects.POSTGRESQL).and("id", Clauses::notIn, ids)).build();
+    final SQLQuery chunked = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().dialect(Dialects.ORACLE).and("id", Clauses::in, many)).build();
+    final SQLQuery literal = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().dialect(Dialects.POSTGRESQL).bindIn().chunkIn(2).and("id", Clauses::in, ids)).build();
+    final SQLQuery largeArray = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().dialect(Dialects.POSTGRESQL).and("id", Clauses::in, large)).build();
+    System.out.println("SQL query: " + array.getQuery());
+    System.out.println("Values: " + array.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE id = any(?)", array.getQuery()),
+              () -> assertEquals("bigint", ((SQLArray)array.getValues().get(0)).getTypeName()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE id NOT IN (?, ?, ?, ?)", not.getQuery()),
+              () -> assertTrue(chunked.getQuery().startsWith("SELECT * FROM Heroes WHERE (id IN (?")),
+              () -> assertTrue(chunked.getQuery().contains("?) OR id IN (?")),
+              () -> assertEquals(1512, chunked.getValues().size()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE (id IN (?, ?) OR id IN (?))", literal.getQuery()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE id = any(?)", largeArray.getQuery()),
+              () -> assertNull(Dialects.MYSQL.arrayType(Long.class)),
+              () -> assertNull(Dialects.POSTGRESQL.arrayType(Object.class)));
+  }
+
+  /**
+   * {@code IN} lists at dialect limits unit test
+   */
+  @Test
+  @DisplayName("IN lists at dialect limits")
+  public void testInListLimits() {
+    final List<Integer> inList = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+    final List<Integer> overInList = IntStream.range(0, 1001).boxed().collect(Collectors.toList());
+    final List<Integer> params = IntStream.range(0, 2099).boxed().collect(Collectors.toList());
+    final List<Integer> overParams = IntStream.range(0, 2100).boxed().collect(Collectors.toList());
+    final List<Integer> padded = IntStream.range(0, 1100).boxed().collect(Collectors.toList());
+    final List<Integer> half = IntStream.range(0, 32769).boxed().collect(Collectors.toList());
+    final SQLQuery oracle = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().dialect(Dialects.ORACLE).and("id", Clauses::in, inList)).build();
+    final SQLQuery oracleOver = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().dialect(Dialects.ORACLE).and("id", Clauses::in, overInList)).build();
+    final SQLQuery server = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().dialect(Dialects.SQL_SERVER).and("age", Clauses::greater, 30).and("id", Clauses::in, params)).build();
+    final SQLQuery serverOver = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().dialect(Dialects.SQL_SERVER).and("age", Clauses::greater, 30).and("id", Clauses::in, overParams)).build();
+    final SQLQuery serverPadded = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().dialect(Dialects.SQL_SERVER).and("age", Clauses::greater, 30).and("id", Clauses::in, padded)).build();
+    final SQLQuery serverBound = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().dialect(Dialects.SQL_SERVER).bindIn().and("age", Clauses::greater, 30).and("id", Clauses::in, overParams)).build();
+    final SQLQuery standard = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().dialect(null).bindIn().and("id", Clauses::in, half)).build();
+    assertAll(() -> assertEquals(1000, oracle.getValues().size()),
+              () -> assertTrue(oracle.getQuery().startsWith("SELECT * FROM Heroes WHERE id IN (?, ?")),
+              () -> assertTrue(oracleOver.getQuery().startsWith("SELECT * FROM Heroes WHERE (id IN (?, ?")),
+              () -> assertTrue(oracleOver.getQuery().endsWith("?) OR id IN (?))")),
+              () -> assertEquals(1001, oracleOver.getValues().size()),
+              () -> assertEquals(2100, server.getValues().size()),
+              () -> assertTrue(server.getQuery().startsWith("SELECT * FROM Heroes WHERE age > ? AND id IN (?, ?")),
+              () -> assertTrue(serverOver.getQuery().startsWith("SELECT * FROM Heroes WHERE age > ? AND id IN (0,1,2,")),
+              () -> assertEquals(1, serverOver.getValues().size()),
+              () -> assertEquals(2049, serverPadded.getValues().size()),
+              () -> assertEquals(serverOver.getQuery(), serverBound.getQuery()),
+              () -> assertEquals(1, serverBound.getValues().size()),
+              () -> assertEquals(65535, standard.getValues().size()));
+  }
+
+  /**
+   * Statement builders' defaults unit test
+   */
+  @Test
+  @DisplayName("Statement builders' defaults")
+  public void testBuilders() {
+    final InsertBuilder server = SQL.insert("Heroes").dialect(Dialects.SQL_SERVER).columns("id");
+    final InsertBuilder oracle = SQL.insert("Heroes").dialect(Dialects.ORACLE).columns("id", "age");
+    for(int i = 0 ; i < 1500 ; ++i) {
+      server.row(i);
+    }
+    oracle.row(1L, 46).row(2L, 29);
+    final SQLQuery upsert = SQL.upsert("Heroes").dialect(Dialects.MYSQL).onConflict("id").field("id", 1L).field("age", 46).build();
+    final SQLQuery update = SQL.bulkUpdate("Heroes").dialect(Dialects.H2).key("id").columns("age").row(1L, 46).build();
+    final SQLQuery delete = SQL.delete("Heroes").dialect(Dialects.SQL_SERVER).where(SQL.clauses().and("age", Clauses::greater, 100)).chunk(500).build();
+    System.out.println("SQL query: " + delete.getQuery());
+    assertAll(() -> assertEquals(2, server.buildAll().size()),
+              () -> assertEquals(1000, server.buildAll().get(0).getValues().size()),
+              () -> assertEquals(2, oracle.buildAll().size()),
+              () -> assertEquals("INSERT INTO Heroes (id, age) VALUES (?, ?)", oracle.buildAll().get(1).getQuery()),
+              () -> assertEquals("INSERT INTO Heroes (id, age) VALUES (?, ?) ON DUPLICATE KEY UPDATE age = VALUES(age)", upsert.getQuery()),
+              () -> assertEquals("UPDATE Heroes SET age = CASE id WHEN ? THEN ? ELSE age END WHERE id IN (?)", update.getQuery()),
+              () -> assertEquals("DELETE TOP (500) FROM Heroes WHERE age > ?", delete.getQuery()));
+  }
+
+  /**
+   * Global dialect unit test
+   */
+  @Test
+  @DisplayName("Global dialect")
+  @Execution(ExecutionMode.SAME_THREAD)
+  public void testGlobalDialect() {
+    SQL.setDialect(Dialects.MYSQL);
+    try {
+      final String query = SQL.select().field("*").from("Heroes").done().paginate(10, 20).build().getQuery();
+      final String delete = SQL.delete("Heroes").chunk(100).build().getQuery();
+      final String explicit = SQL.select().dialect(Dialects.SQL_SERVER).field("*").from("Heroes").orderBy("id").done().paginate(10, 20).build().getQuery();
+      assertAll(() -> assertEquals("SELECT * FROM Heroes LIMIT 10 OFFSET 20", query),
+                () -> assertEquals("DELETE FROM Heroes LIMIT 100", delete),
+                () -> assertEquals("SELECT * FROM Heroes ORDER BY id OFFSET 20 ROWS FETCH NEXT 10 ROWS ONLY", explicit));
+    } finally {
+      SQL.setDialect(null);
+    }
+    assertEquals("SELECT * FROM Heroes FETCH FIRST 11 ROWS ONLY", SQL.select().field("*").from("Heroes").done().fetchPage(10).build().getQuery());
+  }
+  // Tests -
+
+}
@@ -0,0 +1,108 @@
+package com.github.vlachenal.sql;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+
+/**
+ * {@link InsertBuilder} unit tests
+ *
+ * @author Vincent Lachenal
+ */
+@DisplayName("Insert request builder unit tests")
+@Execution(ExecutionMode.CONCURRENT)
+public class InsertBuilderTest {
+
+  // Tests +
+  /**
+   * INSERT one row unit test
+   */
+  @Test
+  @DisplayName("Insert one row")
+  public void testInsertRow() {
+    final SQLQuery query = SQL.insert("Heroes")
+        .field("first_name", "Indiana")
+        .field("last_name", Optional.of("Jones"))
+        .field("nickname", Optional.empty())
+        .field("age", null, Types.INTEGER)
+        .build();
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("INSERT INTO Heroes (first_name, last_name, age) VALUES (?, ?, ?)", query.getQuery()),
+              () -> assertEquals(Arrays.asList("Indiana", "Jones", null), query.getValues()));
+  }
+
+  /**
+   * INSERT with shape cache unit test
+   */
+  @Test
+  @DisplayName("Insert with shape cache")
+  public void testInsertShapeCache() {
+    final ShapeCache cache = new ShapeCache();
+    final SQLQuery first = SQL.insert("Heroes").field("first_name", "Indiana").field("age", Optional.of(45)).build(cache);
+    final SQLQuery second = SQL.insert("Heroes").field("first_name", "Lara").field("age", Optional.of(28)).build(cache);
+    final SQLQuery noAge = SQL.insert("Heroes").field("first_name", "Nathan").field("age", Optional.empty()).build(cache);
+    assertAll(() -> assertSame(first.getQuery(), second.getQuery()),
+              () -> assertEquals(Stream.of("Lara", 28).collect(Collectors.toList()), second.getValues()),
+              () -> assertEquals("INSERT INTO Heroes (first_name) VALUES (?)", noAge.getQuery()),
+              () -> assertEquals(2, cache.size()));
+  }
+
+  /**
+   * Multi-row INSERT unit test
+   */
+  @Test
+  @DisplayName("Insert several rows")
+  public void testInsertRows() {
+    final InsertBuilder builder = SQL.insert("Heroes").columns("first_name", "last_name", "age")
+        .row("Indiana", "Jones", 45)
+        .row("Lara", "Croft", 28)
+        .row("Nathan", "Drake", 32)
+        .row("Marion", "Ravenwood", 40)
+        .row("Henry", "Jones", 75);
+    final SQLQuery all = builder.build();
+    final List<SQLQuery> split = builder.maxParams(7).buildAll();
+    split.forEach(query -> System.out.println("SQL query: " + query.getQuery() + " " + query.getValues()));
+    assertAll(() -> assertEquals("INSERT INTO Heroes (first_name, last_name, age) VALUES (?, ?, ?), (?, ?, ?), (?, ?, ?), (?, ?, ?), (?, ?, ?)", all.getQuery()),
+              () -> assertEquals(15, all.getValues().size()),
+              () -> assertEquals(3, split.size()),
+              () -> assertEquals("INSERT INTO Heroes (first_name, last_name, age) VALUES (?, ?, ?), (?, ?, ?)", split.get(0).getQuery()),
+              () -> assertSame(split.get(0).getQuery(), split.get(1).getQuery()),
+              () -> assertEquals(Stream.of("Indiana", "Jones", 45, "Lara", "Croft", 28).collect(Collectors.toList()), split.get(0).getValues()),
+              () -> assertEquals(Stream.of("Nathan", "Drake", 32, "Marion", "Ravenwood", 40).collect(Collectors.toList()), split.get(1).getValues()),
+              () -> assertEquals("INSERT INTO Heroes (first_name, last_name, age) VALUES (?, ?, ?)", split.get(2).getQuery()),
+              () -> assertEquals(Stream.of("Henry", "Jones", 75).collect(Collectors.toList()), split.get(2).getValues()),
+              () -> assertEquals(5, builder.maxParams(2).buildAll().size()));
+  }
+
+  /**
+   * Invalid INSERT unit test
+   */
+  @Test
+  @DisplayName("Invalid inserts")
+  public void testInvalidInsert() {
+    assertAll(() -> assertThrows(IllegalStateException.class, () -> SQL.insert("Heroes").build()),
+              () -> assertThrows(IllegalStateException.class, () -> SQL.insert("Heroes").columns("id").buildAll()),
+              () -> assertThrows(IllegalStateException.class, () -> SQL.insert("Heroes").field("id", 1L).columns("id")),
+              () -> assertThrows(IllegalStateException.class, () -> SQL.insert("Heroes").columns("id").field("id", 1L)),
+              () -> assertThrows(IllegalStateException.class, () -> SQL.insert("Heroes").row(1L)),
+              () -> assertThrows(IllegalArgumentException.class, () -> SQL.insert("Heroes").columns("id", "age").row(1L)),
+              () -> assertThrows(IllegalArgumentException.class, () -> SQL.insert("Heroes").maxParams(0)));
+  }
+  // Tests -
+
+}
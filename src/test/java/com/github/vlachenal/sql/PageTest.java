@@ -0,0 +1,56 @@
+package com.github.vlachenal.sql;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+
+/**
+ * {@link Page} unit tests
+ *
+ * @author Vincent Lachenal
+ */
+@DisplayName("Page unit tests")
+@Execution(ExecutionMode.CONCURRENT)
+public class PageTest {
+
+  // Tests +
+  /**
+   * Test page with next page probe row
+   */
+  @Test
+  @DisplayName("Page with more rows")
+  public void testMore() {
+    final Page<Integer> page = Page.of(Arrays.asList(1, 2, 3), 2);
+    assertAll(() -> assertEquals(Arrays.asList(1, 2), page.getRows()),
+              () -> assertTrue(page.hasMore()),
+              () -> assertEquals(2, page.getLast()));
+  }
+
+  /**
+   * Test last page
+   */
+  @Test
+  @DisplayName("Last page")
+  public void testLast() {
+    final Page<Integer> page = Page.of(Arrays.asList(1, 2), 2);
+    final Page<Integer> empty = Page.of(Collections.emptyList(), 2);
+    assertAll(() -> assertEquals(Arrays.asList(1, 2), page.getRows()),
+              () -> assertFalse(page.hasMore()),
+              () -> assertTrue(empty.getRows().isEmpty()),
+              () -> assertFalse(empty.hasMore()),
+              () -> assertNull(empty.getLast()));
+  }
+  // Tests -
+
+}
@@ -0,0 +1,124 @@
+package com.github.vlachenal.sql;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+
+/**
+ * {@link QueryTemplate} unit tests
+ *
+ * @author Vincent Lachenal
+ */
+@DisplayName("Query template unit tests")
+@Execution(ExecutionMode.CONCURRENT)
+public class QueryTemplateTest {
+
+  // Attributes +
+  /** Heroes search template (README example) */
+  private static final QueryTemplate SEARCH = SQL.template("SELECT * FROM Heroes")
+      .and("id", Clauses::equalsTo)
+      .and("first_name", Clauses::like)
+      .and("last_name", Clauses::like)
+      .and("email", Clauses::equalsTo)
+      .and("gender", Clauses::equalsTo)
+      .and("country", Clauses::equalsTo)
+      .build();
+  // Attributes -
+
+
+  // Tests +
+  /**
+   * Heroes search unit test
+   */
+  @Test
+  @DisplayName("Heroes search")
+  public void testSearch() {
+    final UUID id = UUID.randomUUID();
+    final SQLQuery query = SEARCH.bind(null, null, "%Croft%", "", "F", null);
+    final SQLQuery same = SEARCH.bind(null, "", "%Jones%", null, "M", null);
+    final SQLQuery full = SEARCH.bind(id, "Lara", "%Croft%", "lara@example.com", "F", "UK");
+    final SQLQuery none = SEARCH.bind(null, null, null, null, null, null);
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE last_name LIKE ? AND gender = ?", query.getQuery()),
+              () -> assertEquals(Stream.of("%Croft%", "F").collect(Collectors.toList()), query.getValues()),
+              () -> assertSame(query.getQuery(), same.getQuery()),
+              () -> assertEquals(Stream.of("%Jones%", "M").collect(Collectors.toList()), same.getValues()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE id = ? AND first_name LIKE ? AND last_name LIKE ? AND email = ? AND gender = ? AND country = ?",
+                                 full.getQuery()),
+              () -> assertEquals(Arrays.asList(id, "Lara", "%Croft%", "lara@example.com", "F", "UK"), full.getValues()),
+              () -> assertEquals("SELECT * FROM Heroes", none.getQuery()),
+              () -> assertEquals(0, none.getValues().size()));
+  }
+
+  /**
+   * Template with {@code OR} clauses, checkers, optional values and suffix unit test
+   */
+  @Test
+  @DisplayName("Template options")
+  public void testOptions() {
+    final QueryTemplate template = SQL.template("SELECT id FROM Heroes")
+        .and("age", Clauses::greater, (Integer age) -> age != null && age > 0)
+        .or("nickname", Clauses::like)
+        .and("country", Clauses::equalsTo)
+        .suffix("ORDER BY id")
+        .build();
+    final SQLQuery query = template.bind(-1, Optional.of("Indy"), OptionalInt.of(3));
+    final SQLQuery age = template.bind(30, Optional.empty(), OptionalInt.empty());
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("SELECT id FROM Heroes WHERE nickname LIKE ? AND country = ? ORDER BY id", query.getQuery()),
+              () -> assertEquals(Stream.of("Indy", 3).collect(Collectors.toList()), query.getValues()),
+              () -> assertEquals("SELECT id FROM Heroes WHERE age > ? ORDER BY id", age.getQuery()),
+              () -> assertEquals(Stream.of(30).collect(Collectors.toList()), age.getValues()));
+  }
+
+  /**
+   * Template with many clauses unit test
+   */
+  @Test
+  @DisplayName("Template with many clauses")
+  public void testManyClauses() {
+    final TemplateBuilder builder = SQL.template("SELECT * FROM Heroes");
+    final Object[] values = new Object[20];
+    for(int i = 0 ; i < values.length ; ++i) {
+      builder.and("c" + i, Clauses::equalsTo);
+    }
+    values[3] = 3L;
+    values[17] = "17";
+    final QueryTemplate template = builder.build();
+    final SQLQuery query = template.bind(values);
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE c3 = ? AND c17 = ?", query.getQuery()),
+              () -> assertSame(query.getQuery(), template.bind(values).getQuery()),
+              () -> assertEquals(Stream.of(3L, "17").collect(Collectors.toList()), query.getValues()));
+  }
+
+  /**
+   * Template errors unit test
+   */
+  @Test
+  @DisplayName("Template errors")
+  public void testErrors() {
+    assertAll(() -> assertThrows(IllegalArgumentException.class, () -> SEARCH.bind("F")),
+              () -> assertThrows(IllegalArgumentException.class, () -> SQL.template("SELECT * FROM Heroes").and("age", Clauses::between)),
+              () -> assertThrows(IllegalArgumentException.class, () -> SQL.template("SELECT * FROM Heroes").and("id", Clauses::in)),
+              () -> assertThrows(IllegalArgumentException.class,
+                                 () -> SQL.template("SELECT * FROM Heroes").and("id", Clauses::equalsAny).build().bind(Arrays.asList(1L, 2L))));
+  }
+  // Tests -
+
+}
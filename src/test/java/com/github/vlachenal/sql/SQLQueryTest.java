@@ -0,0 +1,144 @@
+package com.github.vlachenal.sql;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+
+/**
+ * {@link SQLQuery} unit tests
+ *
+ * @author Vincent Lachenal
+ */
+@DisplayName("SQL query unit tests")
+@Execution(ExecutionMode.CONCURRENT)
+public class SQLQueryTest {
+
+  // Utils +
+  /**
+   * Create prepared statement which records setters calls
+   *
+   * @param calls the calls
+   *
+   * @return the prepared statement
+   */
+  static PreparedStatement recorder(final List<String> calls) {
+    return (PreparedStatement)Proxy.newProxyInstance(SQLQueryTest.class.getClassLoader(), new Class<?>[] { PreparedStatement.class },
+                                                     (proxy, method, args) -> {
+                                                       calls.add(method.getName() + Arrays.toString(args));
+                                                       return null;
+                                                     });
+  }
+  // Utils -
+
+
+  // Tests +
+  /**
+   * Test typed values binding
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Bind typed values")
+  public void testBind() throws SQLException {
+    final UUID id = UUID.randomUUID();
+    final SQLQuery query = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses("id", Clauses::equalsTo, id)
+               .and("last_name", Clauses::equalsTo, "Croft")
+               .and("age", Clauses::greater, 21)
+               .and("missions", Clauses::greater, 42L)
+               .and("score", Clauses::lesser, 9.5)
+               .and("salary", Clauses::lesser, new BigDecimal("1000.50"))
+               .and("active", Clauses::equalsTo, true)
+               .and("created", Clauses::greater, new Timestamp(0L))
+               .and("updated", Clauses::greater, new Date(1000L)))
+        .build();
+    final List<String> calls = new ArrayList<>();
+    query.bind(recorder(calls));
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Calls: " + calls);
+    assertEquals(Stream.of("setObject[1, " + id + "]",
+                           "setString[2, Croft]",
+                           "setInt[3, 21]",
+                           "setLong[4, 42]",
+                           "setDouble[5, 9.5]",
+                           "setBigDecimal[6, 1000.50]",
+                           "setBoolean[7, true]",
+                           "setTimestamp[8, " + new Timestamp(0L) + "]",
+                           "setTimestamp[9, " + new Timestamp(1000L) + "]").collect(Collectors.toList()), calls);
+  }
+
+  /**
+   * Test null values binding
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Bind null values")
+  public void testBindNull() throws SQLException {
+    final SQLQuery query = SQL.update("Heroes")
+        .field("email", null, Types.VARCHAR)
+        .field("country", (Object)null)
+        .field("age", null, Types.INTEGER)
+        .build();
+    final SQLQuery copy = new SQLQuery(query.getQuery(), query.getValues());
+    final List<String> calls = new ArrayList<>();
+    query.bind(recorder(calls));
+    final List<String> copyCalls = new ArrayList<>();
+    copy.bind(recorder(copyCalls));
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Calls: " + calls);
+    assertAll(() -> assertEquals(Stream.of("setNull[1, " + Types.VARCHAR + "]",
+                                           "setObject[2, null]",
+                                           "setNull[3, " + Types.INTEGER + "]").collect(Collectors.toList()), calls),
+              () -> assertEquals(Stream.of("setObject[1, null]",
+                                           "setObject[2, null]",
+                                           "setObject[3, null]").collect(Collectors.toList()), copyCalls));
+  }
+  /**
+   * Test primitive values binding
+   *
+   * @throws SQLException unexpected error
+   */
+  @Test
+  @DisplayName("Bind primitive values")
+  public void testBindPrimitives() throws SQLException {
+    final long id = 42L;
+    final int age = 21;
+    final double score = 9.5;
+    final SQLQuery query = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().and("id", Clauses::equalsTo, id)
+               .and("age", Clauses::greater, age)
+               .and("score", Clauses::lesser, score)
+               .and("last_name", Clauses::equalsTo, "Croft"))
+        .build();
+    final List<String> calls = new ArrayList<>();
+    query.bind(recorder(calls));
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Calls: " + calls);
+    assertEquals(Stream.of("setLong[1, 42]",
+                           "setInt[2, 21]",
+                           "setDouble[3, 9.5]",
+                           "setString[4, Croft]").collect(Collectors.toList()), calls);
+  }
+  // Tests -
+
+}
@@ -1,9 +1,18 @@
 package com.github.vlachenal.sql;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -302,6 +311,34 @@ public class SelectBuilderTest {
               () -> assertEquals(0, query.getValues().size()));
   }
 
+  /**
+   * Test inner join on subquery with bound values in both subquery and join clauses
+   */
+  @Test
+  @DisplayName("Inner join subquery with values")
+  public void testQueryInnerJoinWithSubqueryValues() {
+    final SQLQuery query = SQL.select()
+        .field("h.name")
+        .from("Heroes h")
+        .innerJoin(SQL.select().field("*").from("Countries").where(SQL.clauses("continent", Clauses::equalsTo, "Europe")).build(), "c",
+                   SQL.clauses().field("c.code").equals().field("h.country").and("c.name", Clauses::equalsTo, "France"))
+        .build();
+    final SQLQuery builder = SQL.select()
+        .field("h.name")
+        .from("Heroes h")
+        .innerJoin(SQL.select().field("*").from("Countries").where(SQL.clauses("continent", Clauses::equalsTo, "Europe")), "c",
+                   SQL.clauses().field("c.code").equals().field("h.country").and("c.name", Clauses::equalsTo, "France"))
+        .build();
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("SELECT h.name "
+        + "FROM Heroes h "
+        + "INNER JOIN (SELECT * FROM Countries WHERE continent = ?) c ON c.code = h.country AND c.name = ?", query.getQuery()),
+              () -> assertEquals(Stream.of("Europe", "France").collect(Collectors.toList()), query.getValues()),
+              () -> assertEquals(query.getQuery(), builder.getQuery()),
+              () -> assertEquals(query.getValues(), builder.getValues()));
+  }
+
   /**
    * Test select without clauses
    */
@@ -2834,6 +2871,533 @@ public class SelectBuilderTest {
     assertAll(() -> assertEquals("SELECT t.titi,t.tata FROM toto t WHERE t.a >= all(?)", query.getQuery()),
               () -> assertEquals(1, query.getValues().size()));
   }
+
+  /**
+   * Build search query with shape cache
+   *
+   * @param cache the shape cache
+   * @param req the search request
+   *
+   * @return the query
+   */
+  private static SQLQuery search(final ShapeCache cache, final ExampleRequest req) {
+    return SQL.select().field("*")
+        .from("Heroes")
+        .where(SQL.clauses("id", Clauses::equalsTo, req.id)
+               .and("first_name", Clauses::like, req.firstName)
+               .and("last_name", Clauses::like, req.lastName)
+               .and(SQL.clauses("email", Clauses::equalsTo, req.email)
+                    .or("country", Clauses::equalsTo, req.country))
+            ).build(cache);
+  }
+
+  /**
+   * Test shape cache
+   */
+  @Test
+  @DisplayName("Shape cache")
+  public void testShapeCache() {
+    final ShapeCache cache = new ShapeCache();
+    final ExampleRequest req = new ExampleRequest();
+    req.lastName = "%Croft%";
+    final SQLQuery query1 = search(cache, req);
+    req.lastName = "%Jones%";
+    final SQLQuery query2 = search(cache, req);
+    req.firstName = "Lara";
+    final SQLQuery query3 = search(cache, req);
+    req.firstName = null;
+    req.lastName = null;
+    req.country = "UK";
+    final SQLQuery query4 = search(cache, req);
+    final SQLQuery query5 = search(cache, new ExampleRequest());
+    System.out.println("SQL query: " + query4.getQuery());
+    System.out.println("Values: " + query4.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE last_name LIKE ?", query1.getQuery()),
+              () -> assertSame(query1.getQuery(), query2.getQuery()),
+              () -> assertEquals(Stream.of("%Jones%").collect(Collectors.toList()), query2.getValues()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE first_name LIKE ? AND last_name LIKE ?", query3.getQuery()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE (country = ?)", query4.getQuery()),
+              () -> assertEquals(Stream.of("UK").collect(Collectors.toList()), query4.getValues()),
+              () -> assertEquals("SELECT * FROM Heroes", query5.getQuery()),
+              () -> assertEquals(4, cache.size()));
+  }
+
+  /**
+   * Test shape cache with literal values
+   */
+  @Test
+  @DisplayName("Shape cache with literal values")
+  public void testShapeCacheDynamic() {
+    final ShapeCache cache = new ShapeCache();
+    final SQLQuery query1 = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses("id", Clauses::in, Stream.of(1, 2).collect(Collectors.toList())))
+        .build(cache);
+    final SQLQuery query2 = SQL.select().field("*").from("Heroes").fetch(10).build(cache);
+    final SQLQuery query3 = SQL.select().field("*").from("Heroes").fetch(10).build(cache);
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE id IN (1,2)", query1.getQuery()),
+              () -> assertEquals("SELECT * FROM Heroes FETCH FIRST 10 ROWS ONLY", query2.getQuery()),
+              () -> assertNotSame(query2.getQuery(), query3.getQuery()),
+              () -> assertEquals(0, cache.size()));
+  }
+
+  /**
+   * Test deeply nested clauses
+   */
+  @Test
+  @DisplayName("Deeply nested clauses")
+  public void testDeeplyNestedClauses() {
+    ClausesBuilder clauses = SQL.clauses("a", Clauses::equalsTo, 0);
+    final StringBuilder expected = new StringBuilder("a = ?");
+    for(int i = 1 ; i < 10000 ; ++i) {
+      clauses = SQL.clauses("a", Clauses::equalsTo, i).or(clauses);
+      expected.insert(0, "a = ? OR (").append(')');
+    }
+    final SQLQuery query = SQL.select().field("*").from("toto").where(clauses).build();
+    assertAll(() -> assertEquals("SELECT * FROM toto WHERE " + expected, query.getQuery()),
+              () -> assertEquals(10000, query.getValues().size()));
+  }
+
+  /**
+   * Test clauses modified after having been added to query
+   */
+  @Test
+  @DisplayName("Clauses modified after WHERE")
+  public void testClausesModifiedAfterWhere() {
+    final ClausesBuilder clauses = SQL.clauses("a", Clauses::equalsTo, "plop");
+    final SelectBuilder select = SQL.select().field("*").from("toto").where(clauses);
+    final ClausesBuilder copy = SQL.clauses(clauses).and("b", Clauses::equalsTo, "plip");
+    clauses.and("c", Clauses::equalsTo, "plap");
+    final SQLQuery query = select.build();
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM toto WHERE a = ?", query.getQuery()),
+              () -> assertEquals(Stream.of("plop").collect(Collectors.toList()), query.getValues()),
+              () -> assertEquals("SELECT * FROM toto WHERE a = ? AND b = ?", SQL.select().field("*").from("toto").where(copy).build().getQuery()),
+              () -> assertEquals("SELECT * FROM toto WHERE a = ? AND c = ?", SQL.select().field("*").from("toto").where(clauses).build().getQuery()));
+  }
+
+  /**
+   * Test window function with subquery field
+   */
+  @Test
+  @DisplayName("Window with subquery field")
+  public void testWindowSubqueryField() {
+    final SQLQuery query = SQL.select()
+        .field("t.titi")
+        .field("(SELECT max(u.a) FROM tutu u WHERE u.b = t.titi)").as("m")
+        .from("toto t")
+        .where(SQL.clauses("t.a", Clauses::equalsTo, "a"))
+        .windowByRowNumber("foo", "row_num", "t.titi ASC", 15, 20)
+        .build();
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM (SELECT t.titi,(SELECT max(u.a) FROM tutu u WHERE u.b = t.titi) AS m,"
+        + "row_number() OVER(ORDER BY t.titi ASC) AS row_num FROM toto t WHERE t.a = ?) AS foo "
+        + "WHERE row_num >= ? AND row_num < ?", query.getQuery()),
+              () -> assertEquals(Stream.of("a", 15, 20).collect(Collectors.toList()), query.getValues()));
+  }
+
+  /**
+   * Test window functions applied twice
+   */
+  @Test
+  @DisplayName("Window twice")
+  public void testWindowTwice() {
+    final SelectBuilder select = SQL.select()
+        .field("t.titi")
+        .from("toto t").done();
+    final String subquery = select.toString();
+    final SQLQuery query = select
+        .windowByRowNumber("foo", "row_num", "t.titi ASC", 15, 20)
+        .windowByRank("bar", "rnk", "row_num DESC", -1, 3)
+        .build();
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM (SELECT *,rank() OVER(ORDER BY row_num DESC) AS rnk FROM ("
+        + "SELECT t.titi,row_number() OVER(ORDER BY t.titi ASC) AS row_num FROM toto t) AS foo "
+        + "WHERE row_num >= ? AND row_num < ?) AS bar WHERE rnk < ?", query.getQuery()),
+              () -> assertEquals("SELECT t.titi FROM toto t", subquery),
+              () -> assertEquals(Stream.of(15, 20, 3).collect(Collectors.toList()), query.getValues()));
+  }
+
+  /**
+   * Test builders with capacity hints
+   */
+  @Test
+  @DisplayName("Capacity hints")
+  public void testCapacityHints() {
+    final SQLQuery query = SQL.select(64, 4).field("*")
+        .from("Heroes")
+        .where(SQL.clauses(2, 0).and("first_name", Clauses::like, "Lara")
+               .and("last_name", Clauses::like, "%Croft%"))
+        .build();
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE first_name LIKE ? AND last_name LIKE ?", query.getQuery()),
+              () -> assertEquals(Stream.of("Lara", "%Croft%").collect(Collectors.toList()), query.getValues()));
+  }
+
+  /**
+   * Test adaptive size hints
+   */
+  @Test
+  @DisplayName("Adaptive size hints")
+  public void testSizeHint() {
+    final SizeHint selectHint = new SizeHint(0, 0);
+    final SizeHint clausesHint = new SizeHint(0, 0);
+    final SQLQuery query1 = SQL.select(selectHint).field("*")
+        .from("Heroes")
+        .where(SQL.clauses(clausesHint).and("first_name", Clauses::like, "Lara")
+               .and("last_name", Clauses::like, "%Croft%"))
+        .build();
+    final int selectChars = selectHint.getChars();
+    final int clausesChars = clausesHint.getChars();
+    final SQLQuery query2 = SQL.select(selectHint).field("*")
+        .from("Heroes")
+        .where(SQL.clauses(clausesHint).and("first_name", Clauses::like, "Indiana"))
+        .build();
+    System.out.println("SQL query: " + query2.getQuery());
+    System.out.println("Values: " + query2.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE first_name LIKE ? AND last_name LIKE ?", query1.getQuery()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE first_name LIKE ?", query2.getQuery()),
+              () -> assertTrue(selectChars >= "SELECT * FROM Heroes WHERE ".length()),
+              () -> assertTrue(clausesChars >= "first_name LIKE ? AND last_name LIKE ?".length()),
+              () -> assertEquals(selectChars, selectHint.getChars()),
+              () -> assertEquals(clausesChars, clausesHint.getChars()),
+              () -> assertEquals(0, selectHint.getParams()),
+              () -> assertEquals(2, clausesHint.getParams()));
+  }
+
+  /**
+   * Test select and clauses builders reset
+   */
+  @Test
+  @DisplayName("Reset builders")
+  public void testReset() {
+    final SelectBuilder select = SQL.select();
+    final ClausesBuilder clauses = SQL.clauses();
+    final SQLQuery query1 = select.field("*").from("Heroes")
+        .where(clauses.and("first_name", Clauses::like, "Lara").and("last_name", Clauses::like, "%Croft%"))
+        .windowByRowNumber("h", "row_num", "last_name ASC", 10, 20)
+        .build();
+    final SQLQuery query2 = select.reset().field("id").from("Villains")
+        .where(clauses.reset().and("last_name", Clauses::like, "%Belloq%"))
+        .build();
+    System.out.println("SQL query: " + query2.getQuery());
+    System.out.println("Values: " + query2.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM (SELECT *,row_number() OVER(ORDER BY last_name ASC) AS row_num "
+        + "FROM Heroes WHERE first_name LIKE ? AND last_name LIKE ?) AS h WHERE row_num >= ? AND row_num < ?", query1.getQuery()),
+              () -> assertEquals(Stream.of("Lara", "%Croft%", 10, 20).collect(Collectors.toList()), query1.getValues()),
+              () -> assertEquals("SELECT id FROM Villains WHERE last_name LIKE ?", query2.getQuery()),
+              () -> assertEquals(Stream.of("%Belloq%").collect(Collectors.toList()), query2.getValues()));
+  }
+
+  /**
+   * Test subqueries values
+   */
+  @Test
+  @DisplayName("Subqueries values")
+  public void testSubqueriesValues() {
+    final SelectBuilder missions = SQL.select().field("hero_id").from("Missions")
+        .where(SQL.clauses("status", Clauses::equalsTo, "DONE"));
+    final SQLQuery query = SQL.select().field("h.id").from("Heroes h")
+        .join(SQL.select().field("*").from("Countries").where(SQL.clauses("continent", Clauses::equalsTo, "Europe")),
+              "c", SQL.clauses().field("c.code").equals().field("h.country"))
+        .where(SQL.clauses().field("h.id").in(missions)
+               .and("h.gender", Clauses::equalsTo, "F")
+               .and(SQL.clauses().field("h.rank").equalsAny(SQL.select().field("rank").from("Ranks")
+                                                            .where(SQL.clauses("level", Clauses::greater, 3))))
+               .and(SQL.clauses().field("h.team").in(SQL.select().field("id").from("Teams")
+                                                     .where(SQL.clauses().field("leader").in(SQL.select().field("id").from("Heroes")
+                                                                                             .where(SQL.clauses("last_name", Clauses::equalsTo, "Jones")))))))
+        .build();
+    missions.having(SQL.clauses("count(*)", Clauses::greater, 2)); // Has already been added: must not be taken into account
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("SELECT h.id FROM Heroes h INNER JOIN (SELECT * FROM Countries WHERE continent = ?) c ON c.code = h.country "
+        + "WHERE h.id IN (SELECT hero_id FROM Missions WHERE status = ?) AND h.gender = ? "
+        + "AND (h.rank = any(SELECT rank FROM Ranks WHERE level > ?)) "
+        + "AND (h.team IN (SELECT id FROM Teams WHERE leader IN (SELECT id FROM Heroes WHERE last_name = ?)))", query.getQuery()),
+              () -> assertEquals(Stream.of("Europe", "DONE", "F", 3, "Jones").collect(Collectors.toList()), query.getValues()));
+  }
+
+  /**
+   * Test prebuilt subqueries values
+   */
+  @Test
+  @DisplayName("Prebuilt subqueries values")
+  public void testPrebuiltSubqueriesValues() {
+    final SQLQuery missions = SQL.select().field("hero_id").from("Missions")
+        .where(SQL.clauses("status", Clauses::equalsTo, "DONE")).build();
+    final SQLQuery query = SQL.select().field("*").from(missions, "m")
+        .where(SQL.clauses("m.hero_id", Clauses::greater, 10)
+               .and(SQL.clauses().field("m.hero_id").notIn(missions)))
+        .build();
+    final Object[] values = query.values();
+    values[0] = "FAILED";
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM (SELECT hero_id FROM Missions WHERE status = ?) m "
+        + "WHERE m.hero_id > ? AND (m.hero_id NOT IN (SELECT hero_id FROM Missions WHERE status = ?))", query.getQuery()),
+              () -> assertEquals(Stream.of("DONE", 10, "DONE").collect(Collectors.toList()), query.getValues()),
+              () -> assertEquals(Stream.of("DONE").collect(Collectors.toList()), missions.getValues()));
+  }
+  /**
+   * Test primitive values
+   */
+  @Test
+  @DisplayName("Primitive values")
+  public void testPrimitiveValues() {
+    final long id = 42L;
+    final int age = 21;
+    final double score = 9.5;
+    final SQLQuery query = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().and("id", Clauses::greater, id)
+               .and("age", Clauses::greaterEquals, age)
+               .or("score", Clauses::lesser, score)
+               .and("missions", Clauses::equalsTo, OptionalLong.of(3L))
+               .and("rank", Clauses::equalsTo, OptionalInt.empty())
+               .and("salary", Clauses::lesser, OptionalDouble.of(1000.5)))
+        .build();
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE id > ? AND age >= ? OR score < ? AND missions = ? AND salary < ?", query.getQuery()),
+              () -> assertEquals(Stream.of(42L, 21, 9.5, 3L, 1000.5).collect(Collectors.toList()), query.getValues()),
+              () -> assertEquals(Stream.of(42L, 21, 9.5, 3L, 1000.5).collect(Collectors.toList()), Arrays.asList(query.values())));
+  }
+
+  /**
+   * Test primitive values mixed with optional values in shape cache
+   */
+  @Test
+  @DisplayName("Primitive values in shape cache")
+  public void testPrimitiveValuesShapeCache() {
+    final ShapeCache cache = new ShapeCache();
+    final SQLQuery first = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses("last_name", Clauses::equalsTo, "Croft").and("age", Clauses::greater, 30).and("country", Clauses::equalsTo, (String)null))
+        .build(cache);
+    final SQLQuery second = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses("last_name", Clauses::equalsTo, (String)null).and("age", Clauses::greater, 40).and("country", Clauses::equalsTo, "UK"))
+        .build(cache);
+    final SQLQuery third = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses("last_name", Clauses::equalsTo, "Jones").and("age", Clauses::greater, 50).and("country", Clauses::equalsTo, (String)null))
+        .build(cache);
+    final SQLQuery country = SQL.select().field("*").from("Heroes").where(SQL.clauses("country", Clauses::equalsTo, Optional.of("US"))).build(cache);
+    final SQLQuery primitive = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses("country", Clauses::equalsTo, Optional.of("US")).and("id", Clauses::greater, 42L))
+        .build(cache);
+    System.out.println("SQL query: " + second.getQuery());
+    System.out.println("Values: " + second.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE last_name = ? AND age > ?", first.getQuery()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE age > ? AND country = ?", second.getQuery()),
+              () -> assertEquals(Stream.of(40, "UK").collect(Collectors.toList()), second.getValues()),
+              () -> assertSame(first.getQuery(), third.getQuery()),
+              () -> assertEquals(Stream.of("Jones", 50).collect(Collectors.toList()), third.getValues()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE country = ?", country.getQuery()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE country = ? AND id > ?", primitive.getQuery()),
+              () -> assertEquals(Stream.of("US", 42L).collect(Collectors.toList()), primitive.getValues()));
+  }
+  /**
+   * Test keyset pagination
+   */
+  @Test
+  @DisplayName("Keyset pagination")
+  public void testSeekAfter() {
+    final String[] order = { "last_name", "id" };
+    final SQLQuery first = SQL.select().field("*").from("Heroes").where(SQL.clauses("age", Clauses::greater, 30))
+        .seekAfter(order).fetchPage(20).build();
+    final SQLQuery next = SQL.select().field("*").from("Heroes").where(SQL.clauses("age", Clauses::greater, 30))
+        .seekAfter(order, "Jones", 42L).fetchPage(20).build();
+    final SQLQuery desc = SQL.select().field("*").from("Heroes").done()
+        .seekAfter(new String[] { "last_name desc", "id DESC" }, "Jones", 42L).build();
+    final SQLQuery single = SQL.select().field("*").from("Heroes").done().seekAfter(new String[] { "id" }, 42L).build();
+    System.out.println("SQL query: " + next.getQuery());
+    System.out.println("Values: " + next.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE age > ? ORDER BY last_name, id FETCH FIRST 21 ROWS ONLY", first.getQuery()),
+              () -> assertEquals(Stream.of(30).collect(Collectors.toList()), first.getValues()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE age > ? AND (last_name, id) > (?, ?) ORDER BY last_name, id FETCH FIRST 21 ROWS ONLY",
+                                 next.getQuery()),
+              () -> assertEquals(Stream.of(30, "Jones", 42L).collect(Collectors.toList()), next.getValues()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE (last_name, id) < (?, ?) ORDER BY last_name DESC, id DESC", desc.getQuery()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE id > ? ORDER BY id", single.getQuery()),
+              () -> assertThrows(IllegalArgumentException.class, () -> SQL.select().field("*").from("Heroes").done().seekAfter(order, 42L)));
+  }
+
+  /**
+   * Test keyset pagination errors
+   */
+  @Test
+  @DisplayName("Keyset pagination errors")
+  public void testSeekAfterErrors() {
+    final SelectBuilder ordered = SQL.select().field("*").from("Heroes").orderBy("id").done();
+    final SelectBuilder grouped = SQL.select().field("country").from("Heroes").groupBy("country").done();
+    final SelectBuilder joined = SQL.select().field("*").from("Heroes h")
+        .innerJoin("Countries c", SQL.clauses().field("c.code").equals().field("h.country")).done();
+    final SQLQuery join = joined.seekAfter(new String[] { "h.id" }, 42L).build();
+    final SQLQuery spaces = SQL.select().field("*").from("Heroes").done().seekAfter(new String[] { "last_name  DESC", "id" }, "Jones", 42L).build();
+    System.out.println("SQL query: " + join.getQuery());
+    System.out.println("Values: " + join.getValues());
+    assertAll(() -> assertThrows(IllegalStateException.class, () -> ordered.seekAfter(new String[] { "id" }, 2L)),
+              () -> assertThrows(IllegalStateException.class, () -> grouped.seekAfter(new String[] { "country" }, "UK")),
+              () -> assertEquals("SELECT * FROM Heroes h INNER JOIN Countries c ON c.code = h.country WHERE h.id > ? ORDER BY h.id", join.getQuery()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE (last_name < ? OR (last_name = ? AND id > ?)) ORDER BY last_name DESC, id", spaces.getQuery()),
+              () -> assertThrows(IllegalArgumentException.class,
+                                 () -> SQL.select().field("*").from("Heroes").done().seekAfter(new String[] { "id DESC NULLS LAST" }, 2L)),
+              () -> assertThrows(IllegalArgumentException.class,
+                                 () -> SQL.select().field("*").from("Heroes").done().seekAfter(new String[] { "id NULLS FIRST" }, 2L)),
+              () -> assertThrows(IllegalArgumentException.class,
+                                 () -> SQL.select().field("*").from("Heroes").done().seekAfter(new String[] { "id ASC DESC" }, 2L)));
+  }
+
+  /**
+   * Test keyset pagination with expanded comparison
+   */
+  @Test
+  @DisplayName("Keyset pagination expanded")
+  public void testSeekAfterExpanded() {
+    final SQLQuery mixed = SQL.select().field("*").from("Heroes").where(SQL.clauses("age", Clauses::greater, 30))
+        .seekAfter(new String[] { "age DESC", "last_name", "id ASC" }, 45, "Jones", 42L).build();
+    final SQLQuery expanded = SQL.select().field("*").from("Heroes").done()
+        .seekAfterExpanded(new String[] { "last_name", "id" }, "Jones", 42L).build();
+    System.out.println("SQL query: " + mixed.getQuery());
+    System.out.println("Values: " + mixed.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE age > ? AND (age < ? OR (age = ? AND last_name > ?) "
+        + "OR (age = ? AND last_name = ? AND id > ?)) ORDER BY age DESC, last_name, id", mixed.getQuery()),
+              () -> assertEquals(Stream.of(30, 45, 45, "Jones", 45, "Jones", 42L).collect(Collectors.toList()), mixed.getValues()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE (last_name > ? OR (last_name = ? AND id > ?)) ORDER BY last_name, id", expanded.getQuery()),
+              () -> assertEquals(Stream.of("Jones", "Jones", 42L).collect(Collectors.toList()), expanded.getValues()));
+  }
+
+  /**
+   * Test keyset pagination with disjunctive clauses
+   */
+  @Test
+  @DisplayName("Keyset pagination with OR clauses")
+  public void testSeekAfterDisjunction() {
+    final ShapeCache cache = new ShapeCache();
+    final SQLQuery query = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses("last_name", Clauses::equalsTo, "Jones").or("last_name", Clauses::equalsTo, "Croft"))
+        .seekAfter(new String[] { "id" }, 42L)
+        .windowByRowNumber("h", "row_num", "id", 0, 10)
+        .build(cache);
+    final SelectBuilder ordered = SQL.select().field("*").from("Heroes").where(SQL.clauses("id", Clauses::greater, 1L)).orderBy("id").done();
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM (SELECT *,row_number() OVER(ORDER BY id) AS row_num FROM Heroes "
+        + "WHERE (last_name = ? OR last_name = ?) AND id > ? ORDER BY id) AS h WHERE row_num < ?", query.getQuery()),
+              () -> assertEquals(Stream.of("Jones", "Croft", 42L, 10).collect(Collectors.toList()), query.getValues()),
+              () -> assertThrows(IllegalStateException.class, () -> ordered.seekAfter(new String[] { "id" }, 2L)));
+  }
+
+  /**
+   * Test keyset pagination with clauses provider joined with top level {@code OR}
+   */
+  @Test
+  @DisplayName("Keyset pagination with OR clauses provider")
+  public void testSeekAfterProviderDisjunction() {
+    final SQLQuery query = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().and(() -> SQL.clauses().and("a", Clauses::equalsTo, 1).or("b", Clauses::equalsTo, 2)))
+        .seekAfter(new String[] { "id" }, 5L)
+        .build();
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE (a = ? OR b = ?) AND id > ? ORDER BY id", query.getQuery()),
+              () -> assertEquals(Stream.of(1, 2, 5L).collect(Collectors.toList()), query.getValues()));
+  }
+
+  /**
+   * Test bound IN lists
+   */
+  @Test
+  @DisplayName("Bound IN lists")
+  public void testBindIn() {
+    final ShapeCache cache = new ShapeCache();
+    final SQLQuery three = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().bindIn().and("id", Clauses::in, Arrays.asList(1L, 2L, 3L)).and("last_name", Clauses::equalsTo, "Jones"))
+        .build(cache);
+    final SQLQuery four = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().bindIn().and("id", Clauses::in, Arrays.asList(4L, 5L, 6L, 7L)).and("last_name", Clauses::equalsTo, "Croft"))
+        .build(cache);
+    final SQLQuery five = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().bindIn().and("id", Clauses::in, Arrays.asList(1L, 2L, 3L, 4L, 5L)).and("last_name", Clauses::equalsTo, "Drake"))
+        .build(cache);
+    final SQLQuery raw = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().bindIn().field("id").notIn(Arrays.asList(42L)).and("age", Clauses::notIn, Arrays.asList(20, 30)))
+        .build();
+    final SQLQuery literal = SQL.select().field("*").from("Heroes").where(SQL.clauses("id", Clauses::in, Arrays.asList(1L, 2L, 3L))).build();
+    System.out.println("SQL query: " + three.getQuery());
+    System.out.println("Values: " + three.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE id IN (?, ?, ?, ?) AND last_name = ?", three.getQuery()),
+              () -> assertEquals(Stream.of(1L, 2L, 3L, 3L, "Jones").collect(Collectors.toList()), three.getValues()),
+              () -> assertSame(three.getQuery(), four.getQuery()),
+              () -> assertEquals(Stream.of(4L, 5L, 6L, 7L, "Croft").collect(Collectors.toList()), four.getValues()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE id IN (?, ?, ?, ?, ?, ?, ?, ?) AND last_name = ?", five.getQuery()),
+              () -> assertEquals(Stream.of(1L, 2L, 3L, 4L, 5L, 5L, 5L, 5L, "Drake").collect(Collectors.toList()), five.getValues()),
+              () -> assertEquals(2, cache.size()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE id NOT IN (?) AND age NOT IN (?, ?)", raw.getQuery()),
+              () -> assertEquals(Stream.of(42L, 20, 30).collect(Collectors.toList()), raw.getValues()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE id IN (1,2,3)", literal.getQuery()),
+              () -> assertThrows(IllegalArgumentException.class, () -> SQL.clauses().bindIn().field("id").in(Arrays.asList())));
+  }
+
+  /**
+   * Test {@code IN} lists bound as one array
+   */
+  @Test
+  @DisplayName("IN lists bound as one array")
+  public void testBindInArray() {
+    final ShapeCache cache = new ShapeCache();
+    final SQLQuery three = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().bindInArray("bigint").and("id", Clauses::in, Arrays.asList(1L, 2L, 3L)).and("last_name", Clauses::equalsTo, "Jones"))
+        .build(cache);
+    final SQLQuery five = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().bindInArray("bigint").and("id", Clauses::in, Arrays.asList(1L, 2L, 3L, 4L, 5L)).and("last_name", Clauses::equalsTo, "Drake"))
+        .build(cache);
+    final SQLQuery raw = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().bindInArray("integer").field("age").notIn(Arrays.asList(20, 30)).and("age", Clauses::notIn, Arrays.asList(40)))
+        .build();
+    final SQLQuery value = SQL.select().field("*").from("Heroes").where(SQL.clauses("id", Clauses::equalsAny, SQL.array("bigint", Arrays.asList(1L, 2L)))).build();
+    System.out.println("SQL query: " + five.getQuery());
+    System.out.println("Values: " + five.getValues());
+    final SQLArray array = (SQLArray)five.getValues().get(0);
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE id = any(?) AND last_name = ?", three.getQuery()),
+              () -> assertSame(three.getQuery(), five.getQuery()),
+              () -> assertEquals(1, cache.size()),
+              () -> assertEquals("bigint", array.getTypeName()),
+              () -> assertArrayEquals(new Object[] { 1L, 2L, 3L, 4L, 5L }, array.getElements()),
+              () -> assertEquals("Drake", five.getValues().get(1)),
+              () -> assertEquals("SELECT * FROM Heroes WHERE age <> all(?) AND age <> all(?)", raw.getQuery()),
+              () -> assertEquals(2, raw.getValues().size()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE id = any(?)", value.getQuery()),
+              () -> assertTrue(value.getValues().get(0) instanceof SQLArray));
+  }
+
+  /**
+   * Test split {@code IN} lists
+   */
+  @Test
+  @DisplayName("Split IN lists")
+  public void testChunkIn() {
+    final SQLQuery literal = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().chunkIn(2).and("id", Clauses::in, Arrays.asList(1L, 2L, 3L, 4L, 5L)).and("last_name", Clauses::equalsTo, "Jones"))
+        .build();
+    final SQLQuery bound = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().bindIn().chunkIn(3).and("id", Clauses::notIn, Arrays.asList(1L, 2L, 3L, 4L, 5L)))
+        .build();
+    final SQLQuery small = SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().bindIn().chunkIn(3).and("id", Clauses::in, Arrays.asList(1L, 2L, 3L)))
+        .build();
+    System.out.println("SQL query: " + bound.getQuery());
+    System.out.println("Values: " + bound.getValues());
+    assertAll(() -> assertEquals("SELECT * FROM Heroes WHERE (id IN (1,2) OR id IN (3,4) OR id IN (5)) AND last_name = ?", literal.getQuery()),
+              () -> assertEquals(Stream.of("Jones").collect(Collectors.toList()), literal.getValues()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE (id NOT IN (?, ?, ?) AND id NOT IN (?, ?))", bound.getQuery()),
+              () -> assertEquals(Stream.of(1L, 2L, 3L, 4L, 5L).collect(Collectors.toList()), bound.getValues()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE id IN (?, ?, ?)", small.getQuery()),
+              () -> assertEquals(Stream.of(1L, 2L, 3L).collect(Collectors.toList()), small.getValues()),
+              () -> assertThrows(IllegalStateException.class, () -> SQL.clauses().chunkIn(2).field("id").in(Arrays.asList(1L, 2L, 3L))),
+              () -> assertThrows(IllegalArgumentException.class, () -> SQL.clauses().chunkIn(0)));
+  }
   // Tests -
 
 }
@@ -0,0 +1,132 @@
+package com.github.vlachenal.sql;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+
+/**
+ * {@link UnionQuery} unit tests
+ *
+ * @author Vincent Lachenal
+ */
+@DisplayName("Union query unit tests")
+@Execution(ExecutionMode.CONCURRENT)
+public class UnionQueryTest {
+
+  // Tests +
+  /**
+   * Test union branches
+   */
+  @Test
+  @DisplayName("Union branches")
+  public void testBranches() {
+    final SelectBuilder select = SQL.select().field("id").from("Heroes_2023").where(SQL.clauses("last_name", Clauses::equalsTo, "Jones"))
+        .union(SQL.select().field("id").from("Heroes_2024").where(SQL.clauses("age", Clauses::greater, 30))
+               .unionAll(SQL.select().field("id").from("Heroes_2025").where(SQL.clauses("first_name", Clauses::equalsTo, "Lara"))))
+        .unionAll(SQL.select().field("id").from("Villains").done());
+    final SQLQuery query = select.build();
+    final UnionQuery union = select.buildUnion();
+    final List<SQLQuery> branches = union.getBranches();
+    System.out.println("SQL query: " + query.getQuery());
+    branches.forEach(branch -> System.out.println("Branch: " + branch.getQuery() + " " + branch.getValues()));
+    assertAll(() -> assertEquals("SELECT id FROM Heroes_2023 WHERE last_name = ? UNION SELECT id FROM Heroes_2024 WHERE age > ? "
+        + "UNION ALL SELECT id FROM Heroes_2025 WHERE first_name = ? UNION ALL SELECT id FROM Villains", query.getQuery()),
+              () -> assertEquals(4, branches.size()),
+              () -> assertEquals("SELECT id FROM Heroes_2023 WHERE last_name = ?", branches.get(0).getQuery()),
+              () -> assertEquals(Stream.of("Jones").collect(Collectors.toList()), branches.get(0).getValues()),
+              () -> assertEquals("SELECT id FROM Heroes_2024 WHERE age > ?", branches.get(1).getQuery()),
+              () -> assertEquals(Stream.of(30).collect(Collectors.toList()), branches.get(1).getValues()),
+              () -> assertEquals("SELECT id FROM Heroes_2025 WHERE first_name = ?", branches.get(2).getQuery()),
+              () -> assertEquals(Stream.of("Lara").collect(Collectors.toList()), branches.get(2).getValues()),
+              () -> assertEquals("SELECT id FROM Villains", branches.get(3).getQuery()),
+              () -> assertTrue(branches.get(3).getValues().isEmpty()),
+              () -> assertFalse(union.isAll(1)),
+              () -> assertTrue(union.isAll(2)),
+              () -> assertTrue(union.isAll(3)));
+  }
+
+  /**
+   * Test single branch
+   */
+  @Test
+  @DisplayName("Single branch")
+  public void testSingleBranch() {
+    final UnionQuery union = SQL.select().field("*").from("Heroes").where(SQL.clauses("id", Clauses::equalsTo, 1L))
+        .union(SQL.select().field("*").from("Villains").done())
+        .windowByRowNumber("u", "row_num", "id", 0, 10)
+        .buildUnion();
+    assertAll(() -> assertEquals(1, union.getBranches().size()),
+              () -> assertEquals("SELECT * FROM (SELECT *,row_number() OVER(ORDER BY id) AS row_num FROM Heroes WHERE id = ? "
+                  + "UNION SELECT * FROM Villains) AS u WHERE row_num < ?", union.getBranches().get(0).getQuery()),
+              () -> assertEquals(Stream.of(1L, 10).collect(Collectors.toList()), union.getBranches().get(0).getValues()));
+  }
+
+  /**
+   * Test SQL added to the whole union
+   */
+  @Test
+  @DisplayName("Whole union SQL")
+  public void testWholeUnion() {
+    final SelectBuilder select = SQL.select().field("id").from("Heroes").done().union(SQL.select().field("id").from("Villains").done()).fetch(10);
+    assertThrows(IllegalStateException.class, select::buildUnion);
+  }
+
+  /**
+   * Test branches results merge
+   */
+  @Test
+  @DisplayName("Merge results")
+  public void testMerge() {
+    final UnionQuery union = SQL.select().field("id").from("a").done()
+        .unionAll(SQL.select().field("id").from("b").done())
+        .union(SQL.select().field("id").from("c").done())
+        .unionAll(SQL.select().field("id").from("d").done())
+        .buildUnion();
+    final List<Integer> merged = union.merge(Arrays.asList(Arrays.asList(1, 2, 2),
+                                                           Arrays.asList(2, 3),
+                                                           Arrays.asList(3, 4, 4),
+                                                           Arrays.asList(1, 1)));
+    final UnionQuery all = SQL.select().field("id").from("a").done().unionAll(SQL.select().field("id").from("b").done()).buildUnion();
+    assertAll(() -> assertEquals(Arrays.asList(1, 2, 3, 4, 1, 1), merged),
+              () -> assertEquals(Arrays.asList(1, 1, 1), all.merge(Arrays.asList(Arrays.asList(1, 1), Arrays.asList(1)))),
+              () -> assertThrows(IllegalArgumentException.class, () -> all.merge(Arrays.asList(Arrays.asList(1)))));
+  }
+
+  /**
+   * Test queries split on IN list
+   */
+  @Test
+  @DisplayName("Split IN list")
+  public void testSplitIn() {
+    final UnionQuery split = SQL.splitIn(Arrays.asList(1L, 2L, 3L, 2L, 4L, 5L), 2, chunk -> SQL.select().field("*").from("Heroes")
+        .where(SQL.clauses().bindIn().and("id", Clauses::in, chunk)).build());
+    final List<SQLQuery> queries = split.getBranches();
+    queries.forEach(query -> System.out.println("Query: " + query.getQuery() + " " + query.getValues()));
+    assertAll(() -> assertEquals(3, queries.size()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE id IN (?, ?)", queries.get(0).getQuery()),
+              () -> assertEquals(Arrays.asList(1L, 2L), queries.get(0).getValues()),
+              () -> assertEquals(Arrays.asList(3L, 4L), queries.get(1).getValues()),
+              () -> assertEquals("SELECT * FROM Heroes WHERE id IN (?)", queries.get(2).getQuery()),
+              () -> assertEquals(Arrays.asList(5L), queries.get(2).getValues()),
+              () -> assertTrue(split.isAll(1)),
+              () -> assertTrue(split.isAll(2)),
+              () -> assertEquals(Arrays.asList(1, 2, 2), split.merge(Arrays.asList(Arrays.asList(1), Arrays.asList(2, 2), Arrays.asList()))),
+              () -> assertThrows(IllegalArgumentException.class, () -> SQL.splitIn(Arrays.asList(), 2, chunk -> null)),
+              () -> assertThrows(IllegalArgumentException.class, () -> SQL.splitIn(Arrays.asList(1L), 0, chunk -> null)));
+  }
+  // Tests -
+
+}
@@ -2,6 +2,7 @@ package com.github.vlachenal.sql;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -179,6 +180,54 @@ public class UpdateBuilderTest {
     assertAll(() -> assertEquals("UPDATE Heroes SET last_name = ? WHERE first_name = ? AND last_name = ?", query.getQuery()),
               () -> assertEquals(Stream.of("Croft", "Lara","Craft").collect(Collectors.toList()), query.getValues()));
   }
+
+  /**
+   * UPDATE with optional fields and shape cache unit test
+   */
+  @Test
+  @DisplayName("Shape cache")
+  public void testShapeCache() {
+    final ShapeCache cache = new ShapeCache();
+    final SQLQuery query1 = SQL.update("toto")
+        .field("a", Optional.of("titi"))
+        .field("b", Optional.empty())
+        .where(SQL.clauses("c", Clauses::equalsTo, 1))
+        .build(cache);
+    final SQLQuery query2 = SQL.update("toto")
+        .field("a", Optional.of("tata"))
+        .field("b", Optional.empty())
+        .where(SQL.clauses("c", Clauses::equalsTo, 2))
+        .build(cache);
+    final SQLQuery query3 = SQL.update("toto")
+        .field("a", Optional.empty())
+        .field("b", Optional.of("tutu"))
+        .where(SQL.clauses("c", Clauses::equalsTo, 3))
+        .build(cache);
+    System.out.println("SQL query: " + query3.getQuery());
+    System.out.println("Values: " + query3.getValues());
+    assertAll(() -> assertEquals("UPDATE toto SET a = ? WHERE c = ?", query1.getQuery()),
+              () -> assertSame(query1.getQuery(), query2.getQuery()),
+              () -> assertEquals(Stream.of("tata", 2).collect(Collectors.toList()), query2.getValues()),
+              () -> assertEquals("UPDATE toto SET b = ? WHERE c = ?", query3.getQuery()),
+              () -> assertEquals(2, cache.size()));
+  }
+
+  /**
+   * Test update builder with adaptive size hint
+   */
+  @Test
+  @DisplayName("UPDATE with size hint")
+  public void testSizeHint() {
+    final SizeHint hint = new SizeHint(0, 0);
+    final SQLQuery query1 = SQL.update("toto", hint).field("a", "tata").field("b", 2).where(SQL.clauses("c", Clauses::equalsTo, 3)).build();
+    final SQLQuery query2 = SQL.update("toto", hint).field("a", "titi").build();
+    System.out.println("SQL query: " + query2.getQuery());
+    System.out.println("Values: " + query2.getValues());
+    assertAll(() -> assertEquals("UPDATE toto SET a = ?, b = ? WHERE c = ?", query1.getQuery()),
+              () -> assertEquals("UPDATE toto SET a = ?", query2.getQuery()),
+              () -> assertEquals("UPDATE toto SET a = ?, b = ? WHERE ".length(), hint.getChars()),
+              () -> assertEquals(2, hint.getParams())); // Clauses' values are not copied in update builder
+  }
   // Tests -
 
 }
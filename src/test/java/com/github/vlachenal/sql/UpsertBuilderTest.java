@@ -0,0 +1,121 @@
+package com.github.vlachenal.sql;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+
+/**
+ * {@link UpsertBuilder} unit tests
+ *
+ * @author Vincent Lachenal
+ */
+@DisplayName("Upsert request builder unit tests")
+@Execution(ExecutionMode.CONCURRENT)
+public class UpsertBuilderTest {
+
+  // Tests +
+  /**
+   * {@code ON CONFLICT} upsert unit test
+   */
+  @Test
+  @DisplayName("ON CONFLICT upsert")
+  public void testOnConflict() {
+    final SQLQuery query = SQL.upsert("Heroes").onConflict("id")
+        .field("id", 1L)
+        .field("first_name", "Indiana")
+        .field("nickname", Optional.empty())
+        .field("age", Optional.of(46))
+        .build();
+    final SQLQuery nothing = SQL.upsert("Heroes").onConflict("id").doNothing().field("id", 1L).field("age", 46).build();
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("INSERT INTO Heroes (id, first_name, age) VALUES (?, ?, ?) ON CONFLICT (id) DO UPDATE SET "
+        + "first_name = EXCLUDED.first_name, age = EXCLUDED.age", query.getQuery()),
+              () -> assertEquals(Stream.of(1L, "Indiana", 46).collect(Collectors.toList()), query.getValues()),
+              () -> assertEquals("INSERT INTO Heroes (id, age) VALUES (?, ?) ON CONFLICT (id) DO NOTHING", nothing.getQuery()));
+  }
+
+  /**
+   * {@code ON DUPLICATE KEY} upsert unit test
+   */
+  @Test
+  @DisplayName("ON DUPLICATE KEY upsert")
+  public void testOnDuplicateKey() {
+    final SQLQuery query = SQL.upsert("Heroes").syntax(UpsertSyntax.ON_DUPLICATE_KEY).onConflict("id").update("age")
+        .columns("id", "first_name", "age")
+        .row(1L, "Indiana", 46)
+        .row(2L, "Lara", 29)
+        .build();
+    final SQLQuery nothing = SQL.upsert("Heroes").syntax(UpsertSyntax.ON_DUPLICATE_KEY).doNothing().field("id", 1L).build();
+    System.out.println("SQL query: " + query.getQuery());
+    System.out.println("Values: " + query.getValues());
+    assertAll(() -> assertEquals("INSERT INTO Heroes (id, first_name, age) VALUES (?, ?, ?), (?, ?, ?) ON DUPLICATE KEY UPDATE age = VALUES(age)", query.getQuery()),
+              () -> assertEquals(Stream.of(1L, "Indiana", 46, 2L, "Lara", 29).collect(Collectors.toList()), query.getValues()),
+              () -> assertEquals("INSERT INTO Heroes (id) VALUES (?) ON DUPLICATE KEY UPDATE id = id", nothing.getQuery()));
+  }
+
+  /**
+   * {@code MERGE} upsert unit test
+   */
+  @Test
+  @DisplayName("MERGE upsert")
+  public void testMerge() {
+    final SQLQuery query = SQL.upsert("Heroes").syntax(UpsertSyntax.MERGE).onConflict("id")
+        .columns("id", "age")
+        .row(1L, 46)
+        .row(2L, 29)
+        .build();
+    final SQLQuery dual = SQL.upsert("Heroes").syntax(UpsertSyntax.MERGE_FROM_DUAL).onConflict("id")
+        .columns("id", "age")
+        .row(1L, 46)
+        .row(2L, 29)
+        .build();
+    final SQLQuery nothing = SQL.upsert("Heroes").syntax(UpsertSyntax.MERGE).onConflict("id").field("id", 1L).build();
+    System.out.println("SQL query: " + dual.getQuery());
+    System.out.println("Values: " + dual.getValues());
+    assertAll(() -> assertEquals("MERGE INTO Heroes d USING (VALUES (?, ?), (?, ?)) s (id, age) ON (d.id = s.id) WHEN MATCHED THEN UPDATE SET "
+        + "age = s.age WHEN NOT MATCHED THEN INSERT (id, age) VALUES (s.id, s.age);", query.getQuery()),
+              () -> assertEquals("MERGE INTO Heroes d USING (SELECT ? id, ? age FROM dual UNION ALL SELECT ?, ? FROM dual) s ON (d.id = s.id) "
+                  + "WHEN MATCHED THEN UPDATE SET age = s.age WHEN NOT MATCHED THEN INSERT (id, age) VALUES (s.id, s.age)", dual.getQuery()),
+              () -> assertEquals(Stream.of(1L, 46, 2L, 29).collect(Collectors.toList()), dual.getValues()),
+              () -> assertEquals("MERGE INTO Heroes d USING (VALUES (?)) s (id) ON (d.id = s.id) WHEN NOT MATCHED THEN INSERT (id) VALUES (s.id);",
+                                 nothing.getQuery()));
+  }
+
+  /**
+   * Split upsert unit test
+   */
+  @Test
+  @DisplayName("Split upsert")
+  public void testBuildAll() {
+    final List<SQLQuery> queries = SQL.upsert("Heroes").onConflict("id").maxParams(4)
+        .columns("id", "age")
+        .row(1L, 46)
+        .row(2L, 29)
+        .row(3L, 33)
+        .buildAll();
+    final ShapeCache cache = new ShapeCache();
+    final SQLQuery first = SQL.upsert("Heroes").onConflict("id").field("id", 1L).field("age", Optional.of(46)).build(cache);
+    final SQLQuery second = SQL.upsert("Heroes").onConflict("id").field("id", 2L).field("age", Optional.of(29)).build(cache);
+    assertAll(() -> assertEquals(2, queries.size()),
+              () -> assertEquals("INSERT INTO Heroes (id, age) VALUES (?, ?), (?, ?) ON CONFLICT (id) DO UPDATE SET age = EXCLUDED.age", queries.get(0).getQuery()),
+              () -> assertEquals(Stream.of(3L, 33).collect(Collectors.toList()), queries.get(1).getValues()),
+              () -> assertSame(first.getQuery(), second.getQuery()),
+              () -> assertThrows(IllegalStateException.class, () -> SQL.upsert("Heroes").field("id", 1L).build()),
+              () -> assertThrows(IllegalStateException.class, () -> SQL.upsert("Heroes").onConflict("id").build()));
+  }
+  // Tests -
+
+}